@@ -0,0 +1,106 @@
+package com.example.final_projects.benchmark;
+
+import com.example.final_projects.entity.Industry;
+import com.example.final_projects.entity.Purpose;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateButton;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.entity.TemplateType;
+import com.example.final_projects.entity.TemplateVariable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 벤치마크 공용 입력. 실제 AI 응답/템플릿과 비슷한 크기(버튼 2, 변수 6, 업종/목적 각 2)로 맞춘다.
+ */
+final class BenchmarkFixtures {
+
+    static final String AI_TEMPLATE_RESPONSE_JSON = """
+            {
+              "data": {
+                "id": 1, "userId": 103, "categoryId": "004001", "title": "카페 이벤트",
+                "content": "안녕하세요. #{카페이름}입니다.\\n\\n[광고] 카페 오픈 이벤트 안내\\n\\n■ 이벤트 기간: #{이벤트기간}\\n■ 이벤트 내용: #{이벤트내용}\\n\\n자세한 내용은 아래 링크에서 확인해 주세요.\\n#{이벤트URL}\\n\\n문의: #{전화번호}\\n무료 수신거부: #{수신거부번호}",
+                "imageUrl": null, "type": "MESSAGE", "isPublic": true, "status": "CREATED",
+                "createdAt": "2025-09-01T10:15:30", "updatedAt": "2025-09-01T10:15:30",
+                "buttons": [
+                  {"name": "확인하기", "linkMo": "https://mycafe.com/event", "linkPc": "https://mycafe.com/event",
+                   "linkAnd": null, "linkIos": null, "linkType": "WL", "ordering": 1},
+                  {"name": "매장 위치", "linkMo": "https://mycafe.com/map", "linkPc": "https://mycafe.com/map",
+                   "linkAnd": null, "linkIos": null, "linkType": "WL", "ordering": 2}
+                ],
+                "variables": [
+                  {"id": 1, "variableKey": "이벤트기간", "placeholder": "#{이벤트기간}", "inputType": "TEXT"},
+                  {"id": 2, "variableKey": "이벤트URL", "placeholder": "#{이벤트URL}", "inputType": "TEXT"},
+                  {"id": 3, "variableKey": "전화번호", "placeholder": "#{전화번호}", "inputType": "TEXT"},
+                  {"id": 4, "variableKey": "수신거부번호", "placeholder": "#{수신거부번호}", "inputType": "TEXT"},
+                  {"id": 5, "variableKey": "카페이름", "placeholder": "#{카페이름}", "inputType": "TEXT"},
+                  {"id": 6, "variableKey": "이벤트내용", "placeholder": "#{이벤트내용}", "inputType": "TEXT"}
+                ],
+                "industries": [{"id": 4, "name": "공연/행사"}, {"id": 7, "name": "음식점/카페"}],
+                "purposes": [{"id": 8, "name": "예약"}, {"id": 2, "name": "이벤트"}],
+                "_mapped_variables": {"카페이름": "모카하우스", "이벤트기간": "9/1~9/7"}
+              }, "message": null, "error": null
+            }
+            """;
+
+    private BenchmarkFixtures() {
+    }
+
+    // 애플리케이션과 같은 모듈 구성(JavaTimeModule 등)을 쓰도록 Spring 빌더로 만든다
+    static ObjectMapper objectMapper() {
+        return objectMapper(false);
+    }
+
+    static ObjectMapper objectMapper(boolean blackbird) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    static Template template() {
+        return template(1L);
+    }
+
+    static Template template(long id) {
+        Template template = Template.builder()
+                .id(id)
+                .userId(103L)
+                .categoryId("004001")
+                .title("카페 이벤트")
+                .content("안녕하세요. #{카페이름}입니다.\n\n[광고] 카페 오픈 이벤트 안내\n\n■ 이벤트 기간: #{이벤트기간}\n"
+                        + "■ 이벤트 내용: #{이벤트내용}\n\n자세한 내용은 아래 링크에서 확인해 주세요.\n#{이벤트URL}\n\n"
+                        + "문의: #{전화번호}\n무료 수신거부: #{수신거부번호}")
+                .type(TemplateType.MESSAGE)
+                .status(TemplateStatus.APPROVED)
+                .isPublic(true)
+                .version(3L)
+                .createdAt(LocalDateTime.of(2025, 9, 1, 10, 15, 30))
+                .updatedAt(LocalDateTime.of(2025, 9, 2, 9, 0, 0))
+                .build();
+        template.addButtons(List.of(
+                TemplateButton.builder().id(1L).name("확인하기").ordering(1)
+                        .linkMo("https://mycafe.com/event").linkPc("https://mycafe.com/event").linkType("WL").build(),
+                TemplateButton.builder().id(2L).name("매장 위치").ordering(2)
+                        .linkMo("https://mycafe.com/map").linkPc("https://mycafe.com/map").linkType("WL").build()
+        ));
+        template.addVariables(List.of(
+                variable(1L, "이벤트기간"), variable(2L, "이벤트URL"), variable(3L, "전화번호"),
+                variable(4L, "수신거부번호"), variable(5L, "카페이름"), variable(6L, "이벤트내용")
+        ));
+        template.getIndustries().add(Industry.builder().id(4L).name("공연/행사").build());
+        template.getIndustries().add(Industry.builder().id(7L).name("음식점/카페").build());
+        template.getPurposes().add(Purpose.builder().id(8L).name("예약").build());
+        template.getPurposes().add(Purpose.builder().id(2L).name("이벤트").build());
+        return template;
+    }
+
+    private static TemplateVariable variable(Long id, String key) {
+        return TemplateVariable.builder().id(id).variableKey(key).placeholder("#{" + key + "}").inputType("TEXT").build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.final_projects.benchmark;
+
+import com.example.final_projects.exception.code.AiErrorCode;
+import com.example.final_projects.util.EnumMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 에러 응답마다 호출되는 코드 → enum 조회. 앞쪽 상수, 뒤쪽 상수, 없는 코드를 각각 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumMapperBenchmark {
+
+    @Param({"PROFANITY_DETECTED", "UNEXPECTED_AI_RESPONSE", "UNKNOWN_CODE"})
+    public String code;
+
+    @Benchmark
+    public Optional<AiErrorCode> fromCode() {
+        return EnumMapper.fromCode(AiErrorCode.class, code);
+    }
+
+    @Benchmark
+    public AiErrorCode getFallback() {
+        return EnumMapper.getFallback(AiErrorCode.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.final_projects.benchmark;
+
+import com.example.final_projects.dto.ApiResult;
+import com.example.final_projects.dto.template.AiApiResponse;
+import com.example.final_projects.dto.template.AiTemplateResponse;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 응답 역직렬화(AiApiClient와 같은 JavaType 사용)와 API 응답(ApiResult) 직렬화
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JavaType aiResponseType;
+    private byte[] aiResponseBytes;
+    private AiApiResponse<AiTemplateResponse> aiResponse;
+    private ApiResult<TemplateResponse> apiResult;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        aiResponseType = objectMapper.getTypeFactory().constructParametricType(AiApiResponse.class, AiTemplateResponse.class);
+        aiResponseBytes = BenchmarkFixtures.AI_TEMPLATE_RESPONSE_JSON.getBytes(StandardCharsets.UTF_8);
+        aiResponse = objectMapper.readValue(aiResponseBytes, aiResponseType);
+        apiResult = ApiResult.ok(TemplateResponse.from(BenchmarkFixtures.template()));
+    }
+
+    @Benchmark
+    public AiApiResponse<AiTemplateResponse> deserializeAiTemplateResponse() throws Exception {
+        return objectMapper.readValue(aiResponseBytes, aiResponseType);
+    }
+
+    @Benchmark
+    public byte[] serializeAiTemplateResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(aiResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeApiResult() throws Exception {
+        return objectMapper.writeValueAsBytes(apiResult);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.final_projects.benchmark;
+
+import com.example.final_projects.security.JwtTokenProvider;
+import com.example.final_projects.security.TokenHashUtil;
+import com.example.final_projects.support.OtpCrypto;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인/토큰 갱신/OTP 검증 요청마다 도는 서명·해시 경로
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityBenchmark {
+
+    private static final String SECRET = "bqRgdYiJ8PphtR0lZhoo8Rzch+TJechjMOyF9+j8pSQ=";
+    private static final String PEPPER = "benchmark-pepper";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private OtpCrypto otpCrypto;
+    private String accessToken;
+    private String refreshToken;
+    private String storedOtpHash;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 1_800_000L, 1_209_600_000L);
+        otpCrypto = new OtpCrypto();
+        accessToken = jwtTokenProvider.createAccessToken(103L, "user@example.com", List.of("ROLE_USER"));
+        refreshToken = "f3b1c2d4-5e6f-7a8b-9c0d-1e2f3a4b5c6d";
+        storedOtpHash = otpCrypto.sha256WithPepper("482913", PEPPER);
+    }
+
+    @Benchmark
+    public String jwtCreateAccessToken() {
+        return jwtTokenProvider.createAccessToken(103L, "user@example.com", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public Jws<Claims> jwtParse() {
+        return jwtTokenProvider.parse(accessToken);
+    }
+
+    @Benchmark
+    public String tokenHashSha256HexWithPepper() {
+        return TokenHashUtil.sha256HexWithPepper(PEPPER, refreshToken);
+    }
+
+    @Benchmark
+    public boolean otpVerify() {
+        return otpCrypto.verify("482913", storedOtpHash, PEPPER);
+    }
+}
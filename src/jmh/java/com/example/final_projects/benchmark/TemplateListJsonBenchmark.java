@@ -0,0 +1,69 @@
+package com.example.final_projects.benchmark;
+
+import com.example.final_projects.dto.ApiResult;
+import com.example.final_projects.dto.PageResponse;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.support.JsonCodecs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 100건짜리 목록 응답(ApiResult&lt;PageResponse&lt;TemplateResponse&gt;&gt;) 직렬화.
+ * - objectMapper: MVC 컨버터처럼 매번 런타임 타입으로 Writer를 만드는 경로
+ * - jsonCodecs: 타입이 고정된 Writer를 재사용하는 경로
+ * blackbird 파라미터로 모듈 유무를 비교한다. 할당량은 GC 프로파일러로 본다:
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="TemplateListJsonBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateListJsonBenchmark {
+
+    private static final int ITEMS = 100;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private JsonCodecs jsonCodecs;
+    private ApiResult<PageResponse<TemplateResponse>> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper(blackbird);
+        jsonCodecs = new JsonCodecs(objectMapper);
+        List<TemplateResponse> items = LongStream.rangeClosed(1, ITEMS)
+                .mapToObj(id -> TemplateResponse.from(BenchmarkFixtures.template(id)))
+                .toList();
+        page = ApiResult.ok(new PageResponse<>(items, 1, ITEMS, 1_000));
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonCodecs() throws Exception {
+        return jsonCodecs.writeTemplatePage(page);
+    }
+}
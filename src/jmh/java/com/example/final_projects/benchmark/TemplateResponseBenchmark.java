@@ -0,0 +1,40 @@
+package com.example.final_projects.benchmark;
+
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.entity.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상세/목록 조회마다 도는 엔티티 → 응답 DTO 변환 (컬렉션은 이미 로딩된 상태 기준)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateResponseBenchmark {
+
+    private Template template;
+
+    @Setup
+    public void setUp() {
+        template = BenchmarkFixtures.template();
+    }
+
+    @Benchmark
+    public TemplateResponse from() {
+        return TemplateResponse.from(template);
+    }
+}
@@ -1,10 +1,10 @@
 package com.example.final_projects.aop;
 
 import com.example.final_projects.dto.BaseErrorResponse;
-import com.example.final_projects.entity.UserTemplateRequest;
 import com.example.final_projects.exception.RawExternalApiException;
 import com.example.final_projects.exception.code.BaseErrorCode;
 import com.example.final_projects.service.FailureLogService;
+import com.example.final_projects.service.GenerationJobScheduler;
 import com.example.final_projects.service.UserTemplateRequestService;
 import com.example.final_projects.util.EnumMapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +30,18 @@ public class ExternalApiErrorHandlingAspect {
     private final UserTemplateRequestService userTemplateRequestService;
     private record RequestInfo(String clientIp, String userAgent) {}
 
+    // 장애 중에는 실패 응답마다 호출되므로 예외 클래스별 (BaseErrorCode, String) 생성자를 한 번만 찾는다
+    private static final ClassValue<Constructor<?>> EXCEPTION_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor(BaseErrorCode.class, String.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(type.getName() + "에 (BaseErrorCode, String) 생성자가 없습니다.", e);
+            }
+        }
+    };
+
     @Around(
             value = "@annotation(com.example.final_projects.aop.HandleExternalApiErrors) && args(userId, ..)",
             argNames = "joinPoint,userId"
@@ -48,33 +60,34 @@ public class ExternalApiErrorHandlingAspect {
             BaseErrorResponse rawError = e.getRawErrorResponse(annotation.errorDtoClass());
             BaseErrorCode internalCode = resolveErrorCode(annotation.errorCodeClass(), rawError.getCode());
 
-            handleFailureLog(userId, rawError, internalCode, e.getHttpStatus().value(), requestInfo);
+            handleFailureLog(userId, e.getUserTemplateRequestId(), e.isRequestResumable(), rawError, internalCode, e.getHttpStatus().value(), e.getAttemptNumber(), requestInfo);
 
-            Constructor<? extends RuntimeException> constructor =
-                    annotation.exceptionClass().getConstructor(BaseErrorCode.class, String.class);
-            throw constructor.newInstance(internalCode, rawError.getMessage());
+            Constructor<?> constructor = EXCEPTION_CONSTRUCTORS.get(annotation.exceptionClass());
+            throw annotation.exceptionClass().cast(constructor.newInstance(internalCode, rawError.getMessage()));
         }
     }
 
-    private void handleFailureLog(Long userId, BaseErrorResponse rawError, BaseErrorCode internalCode, int httpStatus, RequestInfo requestInfo) {
+    private void handleFailureLog(Long userId, Long userRequestId, boolean requestResumable, BaseErrorResponse rawError, BaseErrorCode internalCode, int httpStatus, int attemptNumber, RequestInfo requestInfo) {
+        if (userRequestId == null) {
+            log.error("UserTemplateRequest id is missing on the failure for user {}", userId);
+            return;
+        }
         try {
-            UserTemplateRequest userRequest = userTemplateRequestService.findLatestPendingRequestByUserId(userId);
-            if (userRequest != null) {
-                userTemplateRequestService.markAsFailed(userRequest.getId());
-
-                failureLogService.saveFailureLog(
-                        userRequest.getId(),
-                        internalCode.getErrorReason().getCode(),
-                        String.format("[Original Code: %s] %s", rawError.getCode(), rawError.getMessage()),
-                        1,
-                        requestInfo.userAgent,
-                        requestInfo.clientIp,
-                        httpStatus,
-                        0L
-                );
-            } else {
-                log.error("UserTemplateRequest not found for user {}", userId);
+            if (!requestResumable && !userTemplateRequestService.markAsFailed(userRequestId)) {
+                log.warn("UserTemplateRequest {} is no longer PENDING. Keeping its status.", userRequestId);
             }
+
+            failureLogService.saveFailureLog(
+                    userRequestId,
+                    internalCode.getErrorReason().getCode(),
+                    String.format("[Original Code: %s] %s", rawError.getCode(), rawError.getMessage()),
+                    attemptNumber,
+                    requestInfo.userAgent,
+                    requestInfo.clientIp,
+                    httpStatus,
+                    0L,
+                    GenerationJobScheduler.currentQueueWaitMs()
+            );
         } catch (Exception ex) {
             log.error("Failed to save failure log", ex);
         }
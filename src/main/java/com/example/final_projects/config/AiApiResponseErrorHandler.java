@@ -3,45 +3,120 @@ package com.example.final_projects.config;
 import com.example.final_projects.dto.template.AiApiResponse;
 import com.example.final_projects.dto.template.AiErrorResponse;
 import com.example.final_projects.exception.RawExternalApiException;
+import com.example.final_projects.support.GcraRateLimiter;
+import com.example.final_projects.support.JsonCodecs;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * AI 서버 에러 응답 처리.
+ * 장애 중에는 큰 HTML 에러 페이지가 연달아 올 수 있으므로
+ * - 본문은 max-bytes까지만 읽고 그 바이트에서 바로 파싱한다 (String 변환은 파싱 실패 시에만). 넘는 본문은 연결을 버려 나머지를 받지 않는다
+ * - 에러 로그는 상태 코드별로 분당 logs-per-minute건, 본문은 log-chars까지만 남기고 생략한 건수를 다음 로그에 붙인다
+ * - 파싱 실패 시 예외 메시지(클라이언트 응답과 실패 로그 error_detail에 들어간다)에도 본문은 log-chars까지만 넣는다
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AiApiResponseErrorHandler extends DefaultResponseErrorHandler {
 
-    private final ObjectMapper objectMapper;
+    private final JsonCodecs jsonCodecs;
+    private final int maxBodyBytes;
+    private final int logChars;
+    private final GcraRateLimiter<HttpStatus> logLimiter;
+    private final AtomicLong suppressedLogs = new AtomicLong();
+
+    public AiApiResponseErrorHandler(
+            JsonCodecs jsonCodecs,
+            @Value("${rest.ai.error-body.max-bytes:65536}") int maxBodyBytes,
+            @Value("${rest.ai.error-body.log-chars:1000}") int logChars,
+            @Value("${rest.ai.error-body.logs-per-minute:30}") int logsPerMinute
+    ) {
+        this.jsonCodecs = jsonCodecs;
+        this.maxBodyBytes = maxBodyBytes;
+        this.logChars = logChars;
+        this.logLimiter = new GcraRateLimiter<>(logsPerMinute, logsPerMinute);
+    }
 
     @Override
     public void handleError(ClientHttpResponse response) throws IOException {
 
         HttpStatus status = (HttpStatus) response.getStatusCode();
-        String responseBody = new String(response.getBody().readAllBytes());
-
-        log.error("AI server returned an error. Status: {}, Raw Body: {}", status, responseBody);
+        byte[] body;
+        boolean truncated;
+        try (InputStream in = response.getBody()) {
+            body = in.readNBytes(maxBodyBytes);
+            // 한 바이트만 더 읽어 잘렸는지 확인한다
+            truncated = body.length == maxBodyBytes && in.read() != -1;
+            if (truncated && in instanceof EofSensorInputStream sensor) {
+                // HC5는 close 시 남은 본문을 끝까지 읽고 연결을 재사용한다. 남은 본문을 받지 않도록 연결을 버린다
+                sensor.abort();
+            }
+        }
 
-        try {
-            AiApiResponse<?> errorResponseWrapper = objectMapper.readValue(responseBody, new TypeReference<>() {});
-            AiErrorResponse rawErrorResponse = errorResponseWrapper.error();
+        JsonProcessingException parseError = null;
+        if (!truncated) {
+            try {
+                AiApiResponse<?> errorResponseWrapper = jsonCodecs.readAiErrorResponse(body);
+                AiErrorResponse rawErrorResponse = errorResponseWrapper == null ? null : errorResponseWrapper.error();
 
-            if (rawErrorResponse != null) {
-                throw new RawExternalApiException(status, rawErrorResponse, "AI server returned an error: " + rawErrorResponse.code());
+                if (rawErrorResponse != null) {
+                    logError(status, response, body, truncated, null);
+                    throw new RawExternalApiException(status, rawErrorResponse, "AI server returned an error: " + rawErrorResponse.code());
+                }
+            } catch (JsonProcessingException e) {
+                parseError = e;
             }
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse AI error JSON response body.", e);
         }
+        logError(status, response, body, truncated, parseError);
 
-        AiErrorResponse fallbackError = new AiErrorResponse("PARSING_FAILED", "Failed to parse error response: " + responseBody, null);
+        AiErrorResponse fallbackError = new AiErrorResponse(
+                "PARSING_FAILED", "Failed to parse error response: " + preview(response, body, truncated), null);
         throw new RawExternalApiException(status, fallbackError, fallbackError.message());
     }
+
+    private void logError(HttpStatus status, ClientHttpResponse response, byte[] body, boolean truncated, Exception parseError) {
+        if (logLimiter.tryAcquire(status) != 0) {
+            suppressedLogs.incrementAndGet();
+            return;
+        }
+        log.error("AI server returned an error. Status: {}, Body ({} bytes{}): {}",
+                status, body.length, truncated ? "+" : "", preview(response, body, truncated));
+        if (parseError != null) {
+            log.error("Failed to parse AI error JSON response body.", parseError);
+        }
+        long suppressed = suppressedLogs.getAndSet(0);
+        if (suppressed > 0) {
+            log.error("{} AI error logs were suppressed by the log rate limit", suppressed);
+        }
+    }
+
+    // 앞부분만 디코딩한다. 멀티바이트 문자가 경계에서 잘리면 대체 문자로 보인다
+    private String preview(ClientHttpResponse response, byte[] body, boolean truncated) {
+        int previewBytes = (int) Math.min(body.length, (long) logChars * 4);
+        String preview = decode(response, body, previewBytes);
+        boolean previewTruncated = truncated || previewBytes < body.length || preview.length() > logChars;
+        if (preview.length() > logChars) {
+            preview = preview.substring(0, logChars);
+        }
+        return previewTruncated ? preview + "..." : preview;
+    }
+
+    private static String decode(ClientHttpResponse response, byte[] body, int length) {
+        MediaType contentType = response.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return new String(body, 0, length, charset);
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.final_projects.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class AsyncConfig {
+
+    // SSE로 중계하는 템플릿 생성 작업 전용 풀 (요청 스레드는 즉시 반환되고 AI 스트림 읽기는 여기서 수행)
+    @Bean("templateStreamExecutor")
+    public ThreadPoolTaskExecutor templateStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("template-stream-");
+        // 생성 결과 저장이 요청 사용자로 기록되도록 (replica 라우팅의 read-your-writes) 제출 스레드의 SecurityContext를 넘긴다
+        executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // AI 헤지 요청용 풀. 큐 없이(SynchronousQueue) 운용해 포화 시 즉시 거절 → 헤지 없이 호출 스레드에서 처리한다
+    @Bean("aiHedgeExecutor")
+    public ThreadPoolTaskExecutor aiHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("ai-hedge-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.metrics.DbConnectionsEndpoint;
+import com.example.final_projects.metrics.DbPoolHealthIndicator;
+import com.example.final_projects.support.ConnectionHolderTracker;
+import com.example.final_projects.support.TrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * 커넥션 풀 진단.
+ * - Hikari 풀마다 TrackingDataSource를 씌워 커넥션 보유 위치를 기록한다 (/actuator/dbconnections)
+ * - dbPool 헬스: 풀 포화 시 SATURATED
+ * Hikari 메트릭(hikaricp.connections.*)과 리포지토리 메서드 타이머(spring.data.repository.invocations)는
+ * 액추에이터 자동 구성이 등록한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.diagnostics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceDiagnosticsConfig {
+
+    @Bean
+    public static ConnectionHolderTracker connectionHolderTracker(
+            @Value("${app.datasource.diagnostics.capture-code-path:false}") boolean captureCodePath
+    ) {
+        return new ConnectionHolderTracker(captureCodePath);
+    }
+
+    // 풀 자체는 빈으로 그대로 두고 빈 참조만 래퍼로 바꾼다. static이어야 다른 빈보다 먼저 등록된다
+    @Bean
+    public static BeanPostProcessor connectionTrackingPostProcessor(ObjectProvider<ConnectionHolderTracker> tracker) {
+        return new ConnectionTrackingPostProcessor(tracker);
+    }
+
+    @Bean
+    public DbPoolHealthIndicator dbPoolHealthIndicator(
+            ObjectProvider<DataSource> dataSources,
+            @Value("${app.datasource.diagnostics.saturation-pending-threshold:1}") int pendingThreshold
+    ) {
+        return new DbPoolHealthIndicator(dataSources, pendingThreshold);
+    }
+
+    @Bean
+    public DbConnectionsEndpoint dbConnectionsEndpoint(
+            ObjectProvider<DataSource> dataSources,
+            ConnectionHolderTracker tracker,
+            @Value("${app.datasource.diagnostics.max-holders:100}") int maxHolders
+    ) {
+        return new DbConnectionsEndpoint(dataSources, tracker, maxHolders);
+    }
+
+    // 풀 바로 앞에 씌우도록 다른 DataSource 래퍼(QueryInstrumentationConfig)보다 먼저 적용한다
+    private static final class ConnectionTrackingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ConnectionHolderTracker> tracker;
+
+        private ConnectionTrackingPostProcessor(ObjectProvider<ConnectionHolderTracker> tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                String pool = hikari.getPoolName() != null ? hikari.getPoolName() : beanName;
+                return new TrackingDataSource(hikari, pool, tracker.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.final_projects.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 템플릿 내보내기 전용 커넥션 풀 (app.datasource.export.*).
+ * 내보내기는 다운로드가 끝날 때까지 커서 커넥션을 잡고 있으므로 공용 풀과 나눠,
+ * 공용 풀은 leak-detection-threshold를 짧게 유지하고 긴 다운로드가 요청 처리용 커넥션을 차지하지 않게 한다.
+ * 기본 DataSource 후보가 아니므로(defaultCandidate = false) JPA/JdbcTemplate 자동 구성에는 끼어들지 않는다.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    public static final String EXPORT_DATA_SOURCE = "exportDataSource";
+
+    @Bean(name = EXPORT_DATA_SOURCE, defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.export.hikari")
+    public HikariDataSource exportDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.export.url:${spring.datasource.url}}") String url,
+            @Value("${app.datasource.export.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.export.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("export");
+        return dataSource;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.support.JsonCodecs;
+import com.example.final_projects.support.JsonCodecsHttpMessageConverter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    // Module 빈은 자동 구성된 ObjectMapper에 등록된다. getter/setter/생성자 호출을 리플렉션 대신 생성된 람다로 처리한다
+    @Bean
+    @ConditionalOnProperty(prefix = "app.jackson", name = "blackbird", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // HttpMessageConverter 빈은 기본 컨버터보다 앞에 등록된다. 고정 Writer가 있는 응답 타입만 맡고 나머지는 기본 Jackson 컨버터로 넘긴다
+    @Bean
+    public HttpMessageConverter<Object> jsonCodecsHttpMessageConverter(JsonCodecs jsonCodecs) {
+        return new JsonCodecsHttpMessageConverter(jsonCodecs);
+    }
+}
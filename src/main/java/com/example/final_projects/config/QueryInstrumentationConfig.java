@@ -0,0 +1,90 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.metrics.SqlRecordingDataSource;
+import com.example.final_projects.metrics.SqlRequestScopeFilter;
+import com.example.final_projects.metrics.SqlStatementRecorder;
+import com.example.final_projects.metrics.SqlStatsEndpoint;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL 계측 (opt-in, app.jpa.instrumentation.enabled=true).
+ * - Hibernate Statistics를 켠다 (액추에이터가 hibernate.* 메트릭으로도 내보낸다)
+ * - 기본 DataSource를 감싸 문장별 실행 시간, 느린 문장, 요청별 N+1 의심을 기록한다 (/actuator/sqlstats)
+ * 모든 Statement가 프록시를 거치므로 문제를 추적할 때만 켠다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.jpa.instrumentation", name = "enabled", havingValue = "true")
+public class QueryInstrumentationConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static SqlStatementRecorder sqlStatementRecorder(
+            @Value("${app.jpa.instrumentation.slow-query-ms:500}") long slowQueryMs,
+            @Value("${app.jpa.instrumentation.n-plus-one-threshold:10}") int nPlusOneThreshold,
+            @Value("${app.jpa.instrumentation.max-statements:500}") int maxStatements
+    ) {
+        return new SqlStatementRecorder(slowQueryMs, nPlusOneThreshold, maxStatements);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlRecordingPostProcessor(ObjectProvider<SqlStatementRecorder> recorder) {
+        return new SqlRecordingPostProcessor(recorder);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestScopeFilter> sqlRequestScopeFilter(SqlStatementRecorder recorder) {
+        FilterRegistrationBean<SqlRequestScopeFilter> registration = new FilterRegistrationBean<>(new SqlRequestScopeFilter(recorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(
+            SqlStatementRecorder recorder,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            @Value("${app.jpa.instrumentation.endpoint-limit:50}") int limit
+    ) {
+        return new SqlStatsEndpoint(recorder, entityManagerFactory, limit);
+    }
+
+    // JPA/JdbcTemplate이 쓰는 기본 DataSource만 감싼다 (라우팅 구성이면 라우팅 프록시 바깥). 풀 추적 래퍼 다음에 적용된다
+    private static final class SqlRecordingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<SqlStatementRecorder> recorder;
+
+        private SqlRecordingPostProcessor(ObjectProvider<SqlStatementRecorder> recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                return new SqlRecordingDataSource(dataSource, recorder.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.support.ReplicaLagGuard;
+import com.example.final_projects.support.ReplicaRoutingDataSource;
+import com.example.final_projects.support.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica로, 나머지는 primary로 보낸다.
+ * 커넥션 풀은 대상별로 따로 둔다 (primary: spring.datasource.hikari.*, replica: app.datasource.replica.hikari.*).
+ * LazyConnectionDataSourceProxy가 첫 SQL 실행 시점까지 커넥션 획득을 미루므로
+ * 트랜잭션 매니저가 readOnly를 설정한 뒤에 대상이 정해진다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadWriteRoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Value("${app.datasource.replica.sticky-ms:2000}") long stickyMs,
+            @Value("${app.datasource.replica.fallback-ms:5000}") long fallbackMs
+    ) {
+        return new ReplicaLagGuard(stickyMs, fallbackMs);
+    }
+
+    // JPA/Flyway/JdbcTemplate이 쓰는 기본 DataSource
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagGuard replicaLagGuard,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return routingDataSource(primary, replica, replicaLagGuard, meterRegistry.getIfAvailable());
+    }
+
+    public static DataSource routingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard guard, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primary, guard));
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(replica, primary, guard, meterRegistry));
+        return proxy;
+    }
+}
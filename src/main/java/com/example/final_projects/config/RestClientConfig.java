@@ -1,5 +1,8 @@
 package com.example.final_projects.config;
 
+import com.example.final_projects.metrics.AiHttpClientMetrics;
+import com.example.final_projects.support.AiRequestCancellation;
+import org.apache.hc.client5.http.impl.ChainElement;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.util.Timeout;
@@ -8,6 +11,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
@@ -18,11 +22,38 @@ public class RestClientConfig {
     @Value("${rest.ai.base-url}")
     private String baseUrl;
 
+    @Value("${rest.ai.hedge.alternate-base-url:}")
+    private String hedgeBaseUrl;
+
+    // 자동 구성된 RestClient.Builder를 사용해야 관측(Observation)이 연결되어 trace 헤더가 AI 서버로 전파된다
     @Bean("aiRestClient")
-    public RestClient aiRestClient(AiApiResponseErrorHandler aiApiResponseErrorHandler) {
+    public RestClient aiRestClient(RestClient.Builder restClientBuilder,
+                                   AiApiResponseErrorHandler aiApiResponseErrorHandler,
+                                   AiHttpClientMetrics aiHttpClientMetrics) {
+        return buildAiRestClient(restClientBuilder, baseUrl, aiApiResponseErrorHandler, aiHttpClientMetrics);
+    }
+
+    // 헤지 요청 전용. 대체 주소가 없으면 같은 AI 서버로 보내되 연결 풀은 분리한다
+    @Bean("aiHedgeRestClient")
+    public RestClient aiHedgeRestClient(RestClient.Builder restClientBuilder,
+                                        AiApiResponseErrorHandler aiApiResponseErrorHandler,
+                                        AiHttpClientMetrics aiHttpClientMetrics) {
+        String url = StringUtils.hasText(hedgeBaseUrl) ? hedgeBaseUrl : baseUrl;
+        return buildAiRestClient(restClientBuilder, url, aiApiResponseErrorHandler, aiHttpClientMetrics);
+    }
+
+    private RestClient buildAiRestClient(RestClient.Builder restClientBuilder,
+                                         String url,
+                                         AiApiResponseErrorHandler aiApiResponseErrorHandler,
+                                         AiHttpClientMetrics aiHttpClientMetrics) {
         CloseableHttpClient httpClient = HttpClients.custom()
+                // 재시도는 AiRetryExecutor가 예산 안에서만 한다. HttpClient 기본 전략(503/429 응답 재전송)과 겹치지 않게 끈다
+                .disableAutomaticRetries()
                 .evictExpiredConnections()
                 .evictIdleConnections(Timeout.ofSeconds(30))
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "ai-connect-start", aiHttpClientMetrics.connectStartHandler())
+                .addExecInterceptorAfter(ChainElement.CONNECT.name(), "ai-connect-end", aiHttpClientMetrics.connectEndHandler())
+                .addExecInterceptorAfter(ChainElement.CONNECT.name(), "ai-cancellation", AiRequestCancellation.execChainHandler())
                 .build();
 
         HttpComponentsClientHttpRequestFactory factory =
@@ -31,9 +62,10 @@ public class RestClientConfig {
         factory.setConnectTimeout(Duration.ofSeconds(5));
         factory.setReadTimeout(Duration.ofSeconds(20));
 
-        return RestClient.builder()
-                .baseUrl(baseUrl)
+        return restClientBuilder
+                .baseUrl(url)
                 .requestFactory(factory)
+                .requestInterceptor(aiHttpClientMetrics.readTimingInterceptor())
                 .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
                 .defaultStatusHandler(aiApiResponseErrorHandler)
                 .build();
@@ -2,6 +2,7 @@ package com.example.final_projects.config;
 
 import com.example.final_projects.security.JwtAuthenticationFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -98,7 +99,12 @@ public class SecurityConfig {
                 .addFilterBefore(swaggerCsrfBridgeFilter, CsrfFilter.class)
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // SSE/스트리밍 응답 완료 시의 ASYNC 디스패치는 최초 요청에서 이미 인가되었다
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // SQL/커넥션 진단은 쿼리 문장과 호출 위치를 노출하고 통계 초기화(DELETE)도 받으므로 관리자만.
+                        // 인증이 Authorization 헤더라 CSRF 예외(/actuator/)로 다른 사이트가 대신 호출할 수는 없다
+                        .requestMatchers("/actuator/sqlstats/**", "/actuator/dbconnections/**").hasRole("ADMIN")
                         .requestMatchers(
                                 "/actuator/**",
                                 "/api/auth/csrf",
@@ -111,6 +117,8 @@ public class SecurityConfig {
                                 "/swagger-ui.html", "/swagger-ui/**",
                                 "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**"
                         ).permitAll()
+                        // 공개 갤러리: 비로그인 + CDN 캐시 대상
+                        .requestMatchers(HttpMethod.GET, "/api/public/**").permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
@@ -2,6 +2,7 @@ package com.example.final_projects.config.swagger;
 
 import com.example.final_projects.dto.ApiResult;
 import com.example.final_projects.exception.code.BaseErrorCode;
+import com.example.final_projects.support.SerializedJson;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springdoc.core.customizers.OperationCustomizer;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,6 +26,11 @@ import java.util.stream.Collectors;
 @Configuration
 public class SwaggerConfig {
 
+    static {
+        // SerializedJson<T>를 반환하는 API는 T의 스키마로 문서화한다
+        SpringDocUtils.getConfig().addResponseWrapperToIgnore(SerializedJson.class);
+    }
+
     @Bean
     public OpenAPI openAPI() {
         Info info = new Info()
@@ -0,0 +1,80 @@
+package com.example.final_projects.controller;
+
+import com.example.final_projects.config.swagger.ApiErrorCodeExample;
+import com.example.final_projects.dto.ApiResult;
+import com.example.final_projects.dto.PageResponse;
+import com.example.final_projects.dto.template.PublicTemplateResponse;
+import com.example.final_projects.dto.template.PublicTemplateSearchRequest;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import com.example.final_projects.service.PublicTemplateGallery;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 비로그인 공개 갤러리. 응답이 사용자와 무관하므로 CDN/공유 캐시에 그대로 둘 수 있다.
+ * ETag/Last-Modified를 붙여 돌려주면 If-None-Match/If-Modified-Since가 맞는 요청은 본문 없이 304로 끝난다.
+ */
+@RestController
+@RequestMapping("api/public/templates")
+public class PublicTemplateController {
+
+    private final PublicTemplateGallery publicTemplateGallery;
+    private final CacheControl cacheControl;
+
+    public PublicTemplateController(
+            PublicTemplateGallery publicTemplateGallery,
+            @Value("${template.gallery.cache-max-age-seconds:60}") long maxAgeSeconds,
+            @Value("${template.gallery.cache-stale-while-revalidate-seconds:300}") long staleWhileRevalidateSeconds
+    ) {
+        this.publicTemplateGallery = publicTemplateGallery;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(staleWhileRevalidateSeconds));
+    }
+
+    @Operation(
+            summary = "공개 템플릿 갤러리 조회",
+            description = "승인된 공개 템플릿을 최신순으로 조회. categoryId, industryId, purposeId로 필터링"
+    )
+    @GetMapping
+    public ResponseEntity<ApiResult<PageResponse<PublicTemplateResponse>>> getPublicTemplates(
+            @Valid @ModelAttribute PublicTemplateSearchRequest request
+    ) {
+        PublicTemplateGallery.Snapshot snapshot = publicTemplateGallery.snapshot();
+        PageResponse<PublicTemplateResponse> response = snapshot.find(
+                request.getCategoryId(), request.getIndustryId(), request.getPurposeId(), request.getPage(), request.getSize());
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .lastModified(snapshot.lastModified())
+                .cacheControl(cacheControl)
+                .body(ApiResult.ok(response));
+    }
+
+    @Operation(summary = "공개 템플릿 상세 조회")
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResult<PublicTemplateResponse>> getPublicTemplate(@PathVariable Long id) {
+        PublicTemplateGallery.Snapshot snapshot = publicTemplateGallery.snapshot();
+        PublicTemplateResponse response = snapshot.findById(id)
+                .orElseThrow(() -> new TemplateException(TemplateErrorCode.TEMPLATE_NOT_FOUND));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(snapshot.etagOf(response))
+                .cacheControl(cacheControl);
+        if (response.updatedAt() != null) {
+            builder.lastModified(response.updatedAt().atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(ApiResult.ok(response));
+    }
+}
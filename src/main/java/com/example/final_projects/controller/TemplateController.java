@@ -2,54 +2,249 @@ package com.example.final_projects.controller;
 
 import com.example.final_projects.config.swagger.ApiErrorCodeExample;
 import com.example.final_projects.dto.ApiResult;
+import com.example.final_projects.dto.PageRequest;
 import com.example.final_projects.dto.PageResponse;
 import com.example.final_projects.dto.template.TemplateApproveResponse;
+import com.example.final_projects.dto.template.TemplateBulkApproveRequest;
+import com.example.final_projects.dto.template.TemplateBulkApproveResponse;
+import com.example.final_projects.dto.template.TemplateContinueRequest;
 import com.example.final_projects.dto.template.TemplateCreateRequest;
+import com.example.final_projects.dto.template.TemplateDraftResponse;
+import com.example.final_projects.dto.template.TemplateExportFormat;
+import com.example.final_projects.dto.template.TemplateExportRequest;
+import com.example.final_projects.dto.template.TemplateImportRequest;
+import com.example.final_projects.dto.template.TemplateHistoryResponse;
+import com.example.final_projects.dto.template.TemplateKeywordSearchRequest;
+import com.example.final_projects.dto.template.SimilarTemplateRequest;
+import com.example.final_projects.dto.template.SimilarTemplateResponse;
 import com.example.final_projects.dto.template.TemplateResponse;
 import com.example.final_projects.dto.template.TemplateSearchRequest;
+import com.example.final_projects.dto.template.TemplateStatusSnapshot;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.exception.AiException;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.TemplateRateLimitException;
+import com.example.final_projects.exception.code.BaseErrorCode;
 import com.example.final_projects.exception.code.TemplateErrorCode;
 import com.example.final_projects.security.CustomUserPrincipal;
+import com.example.final_projects.service.GenerationJobScheduler;
+import com.example.final_projects.service.TemplateAdmissionService;
 import com.example.final_projects.service.TemplateCreationResult;
+import com.example.final_projects.service.TemplateExportService;
+import com.example.final_projects.service.TemplateImportService;
+import com.example.final_projects.service.TemplateResponseCache;
 import com.example.final_projects.service.TemplateService;
+import com.example.final_projects.service.TemplateSimilarityIndex;
+import com.example.final_projects.support.SerializedJson;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Slf4j
 @RestController
 @RequestMapping("api/templates")
 public class TemplateController {
 
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+    // 브라우저(개인 캐시)에만 저장하고, 쓸 때마다 ETag로 재검증한다
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TemplateService templateService;
+    private final TemplateAdmissionService templateAdmissionService;
+    private final GenerationJobScheduler generationJobScheduler;
+    private final TaskExecutor templateStreamExecutor;
+    private final TemplateSimilarityIndex templateSimilarityIndex;
+    private final TemplateResponseCache templateResponseCache;
+    private final TemplateExportService templateExportService;
+    private final TemplateImportService templateImportService;
 
-    public TemplateController(TemplateService templateService) {
+    public TemplateController(
+            TemplateService templateService,
+            TemplateAdmissionService templateAdmissionService,
+            GenerationJobScheduler generationJobScheduler,
+            @Qualifier("templateStreamExecutor") TaskExecutor templateStreamExecutor,
+            TemplateSimilarityIndex templateSimilarityIndex,
+            TemplateResponseCache templateResponseCache,
+            TemplateExportService templateExportService,
+            TemplateImportService templateImportService
+    ) {
         this.templateService = templateService;
+        this.templateAdmissionService = templateAdmissionService;
+        this.generationJobScheduler = generationJobScheduler;
+        this.templateStreamExecutor = templateStreamExecutor;
+        this.templateSimilarityIndex = templateSimilarityIndex;
+        this.templateResponseCache = templateResponseCache;
+        this.templateExportService = templateExportService;
+        this.templateImportService = templateImportService;
     }
 
+    /**
+     * 응답 본문은 JsonCodecsHttpMessageConverter가 타입이 고정된 Writer(JsonCodecs)로 직렬화한다.
+     */
     @Operation(
             summary = "템플릿 목록 조회",
             description = "사용자가 APPROVE_REQUESTED, APPROVED, REJECTED 상태의 템플릿을 조회"
     )
     @ApiErrorCodeExample(TemplateErrorCode.class)
     @GetMapping
-    public ApiResult<PageResponse<TemplateResponse>> getTemplates(
+    public ResponseEntity<ApiResult<PageResponse<TemplateResponse>>> getTemplates(
             @AuthenticationPrincipal CustomUserPrincipal principal,
-            @Valid @ModelAttribute TemplateSearchRequest request
+            @Valid @ModelAttribute TemplateSearchRequest request,
+            WebRequest webRequest
     ) {
+        TemplateStatus status = request.validateStatus();
+        String etag = templateService.getTemplatesETag(principal.getId(), status, request.getPage(), request.getSize());
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
         PageResponse<TemplateResponse> response =
-                templateService.getTemplates(principal.getId(), request.validateStatus(), request.getPage(), request.getSize());
+                templateService.getTemplates(principal.getId(), status, request.getPage(), request.getSize());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(PRIVATE_REVALIDATE)
+                .body(ApiResult.ok(response));
+    }
+
+    @Operation(
+            summary = "템플릿 내보내기",
+            description = "삭제되지 않은 본인 템플릿 전체를 버튼/변수/업종/목적과 함께 NDJSON(format=ndjson) 또는 CSV(format=csv) 파일로 내려받는다. " +
+                    "status로 상태를 좁힐 수 있고, gzip=true면 .gz로 압축한다."
+    )
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTemplates(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @ModelAttribute TemplateExportRequest request
+    ) {
+        TemplateStatus status = request.validateStatus();
+        TemplateExportFormat format = request.validateFormat();
+        StreamingResponseBody body = templateExportService.export(principal.getId(), status, format, request.isGzip());
+
+        String filename = "templates." + format.getExtension() + (request.isGzip() ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(request.isGzip() ? MediaType.parseMediaType("application/gzip") : format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "템플릿 가져오기",
+            description = "NDJSON 또는 CSV 파일(multipart file, .gz 압축 가능)의 템플릿을 CREATED 상태로 일괄 등록한다. " +
+                    "형식은 format 파라미터 또는 파일 확장자로 정한다. 응답은 NDJSON으로, 거부된 레코드마다 error, " +
+                    "청크를 저장할 때마다 progress, 마지막에 summary 이벤트를 보낸다."
+    )
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> importTemplates(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @ModelAttribute TemplateImportRequest request
+    ) {
+        StreamingResponseBody body = templateImportService.importTemplates(
+                principal.getId(), request.validateFile(), request.validateFormat(), request.isGzip());
+        return ResponseEntity.ok()
+                .contentType(TemplateExportFormat.NDJSON.getMediaType())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "템플릿 키워드 검색",
+            description = "제목/본문에 검색어의 모든 단어가 포함된 템플릿을 관련도 순으로 조회. status, categoryId, industryId, purposeId로 추가 필터링"
+    )
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @GetMapping("/search")
+    public ApiResult<PageResponse<TemplateResponse>> searchTemplates(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @Valid @ModelAttribute TemplateKeywordSearchRequest request
+    ) {
+        PageResponse<TemplateResponse> response =
+                templateService.searchTemplates(request.toCondition(principal.getId()), request.getPage(), request.getSize());
+        return ApiResult.ok(response);
+    }
+
+    @Operation(
+            summary = "유사 공개 템플릿 추천",
+            description = "생성 요청 전에, 요청 문장과 비슷한 승인된 공개 템플릿을 유사도 순으로 최대 k개 조회"
+    )
+    @GetMapping("/similar")
+    public ApiResult<List<SimilarTemplateResponse>> getSimilarTemplates(
+            @Valid @ModelAttribute SimilarTemplateRequest request
+    ) {
+        List<SimilarTemplateResponse> response = templateSimilarityIndex.findSimilar(
+                request.getRequestContent(), request.getIndustryId(), request.getPurposeId(), request.getK());
         return ApiResult.ok(response);
     }
 
+    /**
+     * 캐시에 직렬화된 바이트를 SerializedJson으로 감싸 그대로 내보낸다. (JsonCodecsHttpMessageConverter)
+     */
+    @ApiErrorCodeExample(TemplateErrorCode.class)
     @GetMapping("/{id}")
-    public ApiResult<TemplateResponse> getTemplateById(
+    public ResponseEntity<SerializedJson<ApiResult<TemplateResponse>>> getTemplateById(
             @PathVariable Long id,
-            @AuthenticationPrincipal CustomUserPrincipal principal
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            WebRequest webRequest
+    ) {
+        // If-None-Match가 맞으면 버튼/변수/업종/목적 컬렉션을 읽지 않고 304로 끝낸다
+        TemplateStatusSnapshot snapshot = templateService.getOwnedTemplateSnapshot(id, principal.getId());
+        String etag = snapshot.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        byte[] body = templateResponseCache.get(id, snapshot.validator(),
+                () -> templateService.getTemplateById(id, principal.getId()));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(PRIVATE_REVALIDATE)
+                .body(new SerializedJson<>(body));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(PRIVATE_REVALIDATE)
+                .build();
+    }
+
+    @Operation(
+            summary = "템플릿 상태 이력 조회",
+            description = "템플릿의 상태 변경 이력을 최신순으로 페이지 조회한다."
+    )
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @GetMapping("/{id}/histories")
+    public ApiResult<PageResponse<TemplateHistoryResponse>> getTemplateHistories(
+            @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @Valid @ModelAttribute PageRequest pageRequest
     ) {
-        TemplateResponse response = templateService.getTemplateById(id, principal.getId());
+        PageResponse<TemplateHistoryResponse> response = templateService.getTemplateHistories(
+                id, principal.getId(), pageRequest.getPage(), pageRequest.getSize());
         return ApiResult.ok(response);
     }
 
@@ -58,9 +253,9 @@ public class TemplateController {
             @AuthenticationPrincipal CustomUserPrincipal principal,
             @RequestBody TemplateCreateRequest templateCreateRequest
     ) {
-        TemplateCreationResult result = templateService.createTemplate(
-                principal.getId(),
-                templateCreateRequest
+        TemplateCreationResult result = admitAndSchedule(
+                principal,
+                () -> templateService.createTemplate(principal.getId(), templateCreateRequest)
         );
 
         return switch (result) {
@@ -70,10 +265,163 @@ public class TemplateController {
 
             case TemplateCreationResult.Incomplete incomplete ->
                     ResponseEntity.status(HttpStatus.ACCEPTED)
-                            .body(ApiResult.ok(incomplete.partialTemplate()));
+                            .body(ApiResult.ok(toDraftResponse(incomplete)));
         };
     }
 
+    @Operation(
+            summary = "템플릿 이어서 생성",
+            description = "202로 끝난 생성 요청에 누락된 변수 값만 보내 이어서 생성한다. 완료되면 200, 여전히 부족하면 다시 202를 반환한다."
+    )
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @PostMapping("/requests/{requestId}/continue")
+    public ResponseEntity<?> continueTemplate(
+            @PathVariable Long requestId,
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @Valid @RequestBody TemplateContinueRequest templateContinueRequest
+    ) {
+        TemplateCreationResult result = admitAndSchedule(
+                principal,
+                () -> templateService.continueTemplate(principal.getId(), requestId, templateContinueRequest)
+        );
+
+        return switch (result) {
+            case TemplateCreationResult.Complete complete ->
+                    ResponseEntity.status(HttpStatus.OK)
+                            .body(ApiResult.ok(complete.template()));
+
+            case TemplateCreationResult.Incomplete incomplete ->
+                    ResponseEntity.status(HttpStatus.ACCEPTED)
+                            .body(ApiResult.ok(toDraftResponse(incomplete)));
+        };
+    }
+
+    // 사용자별 한도를 통과한 요청만 등급별 큐에서 차례를 기다리고, 차례를 받은 뒤 전역 한도를 확인하고 생성한다
+    private TemplateCreationResult admitAndSchedule(CustomUserPrincipal principal, Supplier<TemplateCreationResult> generation) {
+        return templateAdmissionService.execute(principal.getId(),
+                permit -> generationJobScheduler.execute(principal.getRoleNames(), () -> {
+                    permit.dispatch();
+                    return generation.get();
+                }));
+    }
+
+    private TemplateDraftResponse toDraftResponse(TemplateCreationResult.Incomplete incomplete) {
+        return new TemplateDraftResponse(
+                incomplete.requestId(),
+                incomplete.partialTemplate().missingVariableKeys(),
+                incomplete.expiresAt(),
+                incomplete.partialTemplate()
+        );
+    }
+
+    @Operation(
+            summary = "템플릿 생성 (스트리밍)",
+            description = "AI가 생성 중인 본문을 SSE partial 이벤트로 즉시 전달하고, 완료되면 result 이벤트(200/202와 동일한 본문)를 보낸다. 실패 시 error 이벤트를 보낸다."
+    )
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTemplate(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @RequestBody TemplateCreateRequest templateCreateRequest
+    ) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        AtomicBoolean clientGone = new AtomicBoolean();
+        emitter.onTimeout(() -> clientGone.set(true));
+        emitter.onError(e -> clientGone.set(true));
+
+        Long userId = principal.getId();
+        Set<String> roleNames = principal.getRoleNames();
+        TemplateAdmissionService.Permit permit;
+        try {
+            permit = templateAdmissionService.admit(userId);
+        } catch (TemplateRateLimitException e) {
+            // Accept가 text/event-stream이라 JSON 에러 응답 대신 429 상태 + error 이벤트 하나로 응답한다
+            sendEvent(emitter, clientGone, "error", toErrorResult(e));
+            emitter.complete();
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(emitter);
+        }
+
+        // 실패 로그(AOP)가 클라이언트 IP/UA를 읽을 수 있도록 요청 컨텍스트를 작업 스레드로 넘긴다
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        Runnable streamTask = () -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                TemplateCreationResult result = generationJobScheduler.execute(roleNames, () -> {
+                    permit.dispatch();
+                    return templateService.streamTemplate(
+                            userId,
+                            templateCreateRequest,
+                            content -> sendEvent(emitter, clientGone, "partial", content)
+                    );
+                });
+                permit.success();
+
+                Object payload = switch (result) {
+                    case TemplateCreationResult.Complete complete -> complete.template();
+                    case TemplateCreationResult.Incomplete incomplete -> toDraftResponse(incomplete);
+                };
+                sendEvent(emitter, clientGone, "result", ApiResult.ok(payload));
+            } catch (Exception e) {
+                permit.failure(e);
+                log.warn("Template stream failed for user {}: {}", userId, e.getMessage());
+                sendEvent(emitter, clientGone, "error", toErrorResult(e));
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                emitter.complete();
+            }
+        };
+
+        try {
+            templateStreamExecutor.execute(streamTask);
+        } catch (TaskRejectedException e) {
+            permit.failure(e);
+            throw e;
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // 클라이언트가 끊겨도 생성 결과는 끝까지 저장되도록, 전송 실패는 삼키고 이후 전송만 중단한다
+    private void sendEvent(SseEmitter emitter, AtomicBoolean clientGone, String name, Object data) {
+        if (clientGone.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            clientGone.set(true);
+            log.debug("SSE client disconnected while sending '{}' event: {}", name, e.getMessage());
+        }
+    }
+
+    private ApiResult<Object> toErrorResult(Exception e) {
+        BaseErrorCode errorCode = null;
+        if (e instanceof AiException aiException) {
+            errorCode = aiException.getErrorCode();
+        } else if (e instanceof TemplateException templateException) {
+            errorCode = templateException.getErrorCode();
+        }
+        if (errorCode == null) {
+            return ApiResult.error("UNEXPECTED_ERROR", e.getMessage());
+        }
+        return ApiResult.error(errorCode.getErrorReason().getCode(), errorCode.getErrorReason().getMessage());
+    }
+
+    @Operation(
+            summary = "템플릿 일괄 승인 요청",
+            description = "여러 템플릿을 한 번에 승인 요청한다. 템플릿별 성공 여부와 실패 사유(errorCode)를 요청 순서대로 반환한다."
+    )
+    @ApiErrorCodeExample(TemplateErrorCode.class)
+    @PostMapping("/approve-request")
+    public ApiResult<TemplateBulkApproveResponse> bulkApproveTemplates(
+            @AuthenticationPrincipal CustomUserPrincipal principal,
+            @Valid @RequestBody TemplateBulkApproveRequest request
+    ) {
+        TemplateBulkApproveResponse response = templateService.bulkApproveTemplates(request.getTemplateIds(), principal.getId());
+        return ApiResult.ok(response);
+    }
+
     @Operation(
             summary = "템플릿 승인 요청",
             description = "특정 템플릿에 대해 승인 요청을 보낸다."
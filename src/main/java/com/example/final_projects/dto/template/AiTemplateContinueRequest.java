@@ -0,0 +1,11 @@
+package com.example.final_projects.dto.template;
+
+import java.util.Map;
+
+public record AiTemplateContinueRequest(
+        Long userId,
+        Long requestId,
+        AiTemplateResponse partialTemplate,
+        Map<String, String> inputs
+) {
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public record AiTemplateResponse(
         Long id,
@@ -65,6 +66,21 @@ public record AiTemplateResponse(
         }
     }
 
+    // AI가 값을 채우지 못한(_mapped_variables에 없거나 비어 있는) 변수 키 목록
+    public List<String> missingVariableKeys() {
+        if (variables == null) {
+            return List.of();
+        }
+        return variables.stream()
+                .map(VariableDto::variableKey)
+                .filter(Objects::nonNull)
+                .filter(key -> mappedVariables == null
+                        || mappedVariables.get(key) == null
+                        || mappedVariables.get(key).isBlank())
+                .distinct()
+                .toList();
+    }
+
     public TemplateType safeType() {
         if (type == null || type.isBlank()) {
             return TemplateType.MESSAGE;
@@ -0,0 +1,19 @@
+package com.example.final_projects.dto.template;
+
+/**
+ * AI 서버 스트리밍 응답(NDJSON 한 줄 또는 SSE data 한 건)의 단위 이벤트.
+ * - delta: 생성 중인 본문 조각(content)
+ * - result: 최종 결과(status, data). status는 기존 API의 200/202 의미를 그대로 따른다
+ * - error: 생성 실패(status, error)
+ */
+public record AiTemplateStreamEvent(
+        String type,
+        String content,
+        Integer status,
+        AiTemplateResponse data,
+        AiErrorResponse error
+) {
+    public static final String DELTA = "delta";
+    public static final String RESULT = "result";
+    public static final String ERROR = "error";
+}
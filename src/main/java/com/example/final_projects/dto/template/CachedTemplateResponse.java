@@ -0,0 +1,8 @@
+package com.example.final_projects.dto.template;
+
+/**
+ * 직렬화가 끝난 상세 조회 응답 본문(ApiResult&lt;TemplateResponse&gt; JSON).
+ * validator는 만들 당시 템플릿의 TemplateStatusSnapshot.validator() 값(version + status + updated_at)이다.
+ */
+public record CachedTemplateResponse(String validator, byte[] body) {
+}
@@ -0,0 +1,40 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.Template;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 공개 갤러리용 템플릿. 소유자/상태 같은 내부 정보는 빼고, 업종/목적 이름까지 펼쳐 둔 읽기 모델이다.
+ */
+public record PublicTemplateResponse(
+        Long id,
+        String categoryId,
+        String title,
+        String content,
+        String imageUrl,
+        String type,
+        LocalDateTime updatedAt,
+        List<TemplateResponse.ButtonResponse> buttons,
+        List<TemplateResponse.VariableResponse> variables,
+        List<TemplateResponse.IndustryResponse> industries,
+        List<TemplateResponse.PurposeResponse> purposes
+) {
+    public static PublicTemplateResponse from(Template template) {
+        TemplateResponse response = TemplateResponse.from(template);
+        return new PublicTemplateResponse(
+                response.getId(),
+                response.getCategoryId(),
+                response.getTitle(),
+                response.getContent(),
+                response.getImageUrl(),
+                response.getType(),
+                response.getUpdatedAt(),
+                response.getButtons(),
+                response.getVariables(),
+                response.getIndustries(),
+                response.getPurposes()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.dto.PageRequest;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PublicTemplateSearchRequest extends PageRequest {
+    private String categoryId;
+    private Long industryId;
+    private Long purposeId;
+}
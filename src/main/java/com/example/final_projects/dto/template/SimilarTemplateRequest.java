@@ -0,0 +1,25 @@
+package com.example.final_projects.dto.template;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SimilarTemplateRequest {
+
+    @NotBlank(message = "requestContent는 필수입니다.")
+    @Size(max = 1000, message = "requestContent는 1000자 이하여야 합니다.")
+    private String requestContent;
+
+    private Long industryId;
+
+    private Long purposeId;
+
+    @Min(value = 1, message = "k는 1 이상이어야 합니다.")
+    @Max(value = 20, message = "k는 20 이하여야 합니다.")
+    private int k = 5;
+}
@@ -0,0 +1,7 @@
+package com.example.final_projects.dto.template;
+
+/**
+ * @param score 0~1. 요청 문장이 템플릿 본문에 포함되는 정도(MinHash 추정)에 업종/목적 일치를 더한 값
+ */
+public record SimilarTemplateResponse(PublicTemplateResponse template, double score) {
+}
@@ -0,0 +1,18 @@
+package com.example.final_projects.dto.template;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateBulkApproveRequest {
+    @NotEmpty(message = "templateIds는 필수입니다.")
+    @Size(max = 100, message = "한 번에 최대 100개까지 승인 요청할 수 있습니다.")
+    private List<Long> templateIds;
+}
@@ -0,0 +1,22 @@
+package com.example.final_projects.dto.template;
+
+import java.util.List;
+
+public record TemplateBulkApproveResponse(
+        int requestedCount,
+        int approveRequestedCount,
+        List<Result> results
+) {
+    /**
+     * 템플릿별 처리 결과. 성공이면 status=APPROVE_REQUESTED, 실패면 errorCode(TemplateErrorCode)를 채운다.
+     */
+    public record Result(Long templateId, boolean success, String status, String errorCode) {
+        public static Result success(Long templateId, String status) {
+            return new Result(templateId, true, status, null);
+        }
+
+        public static Result failure(Long templateId, String errorCode) {
+            return new Result(templateId, false, null, errorCode);
+        }
+    }
+}
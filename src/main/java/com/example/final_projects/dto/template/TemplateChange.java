@@ -0,0 +1,15 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공개 갤러리 증분 갱신용. 변경된 템플릿이 갤러리에 남아야 하는지만 판단할 수 있는 최소 컬럼
+ */
+public record TemplateChange(Long id, Boolean isPublic, TemplateStatus status, LocalDateTime updatedAt) {
+
+    public boolean isGalleryVisible() {
+        return Boolean.TRUE.equals(isPublic) && status == TemplateStatus.APPROVED;
+    }
+}
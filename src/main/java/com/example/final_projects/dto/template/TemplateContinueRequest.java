@@ -0,0 +1,16 @@
+package com.example.final_projects.dto.template;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateContinueRequest {
+    @NotEmpty(message = "variables는 필수입니다.")
+    private Map<String, String> variables;
+}
@@ -0,0 +1,16 @@
+package com.example.final_projects.dto.template;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TemplateDraftResponse {
+    private Long requestId;
+    private List<String> missingVariables;
+    private LocalDateTime expiresAt;
+    private AiTemplateResponse template;
+}
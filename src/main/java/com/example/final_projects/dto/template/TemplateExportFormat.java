@@ -0,0 +1,18 @@
+package com.example.final_projects.dto.template;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum TemplateExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TemplateExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+}
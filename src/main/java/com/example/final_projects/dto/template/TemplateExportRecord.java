@@ -0,0 +1,45 @@
+package com.example.final_projects.dto.template;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 내보내기 파일의 레코드 한 건. 필드는 TemplateResponse와 같고, 버튼은 가져오기(TemplateImportRecord.ButtonDto)가 받는
+ * 컬럼을 모두 담아 내보낸 파일을 그대로 다시 올려도 링크가 빠지지 않게 한다.
+ */
+@Getter
+@Builder
+public class TemplateExportRecord {
+    private Long id;
+    private Long userId;
+    private String categoryId;
+    private String title;
+    private String content;
+    private String imageUrl;
+    private String type;
+    private Boolean isPublic;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime lastStatusAt;
+    private List<ButtonExport> buttons;
+    private List<TemplateResponse.VariableResponse> variables;
+    private List<TemplateResponse.IndustryResponse> industries;
+    private List<TemplateResponse.PurposeResponse> purposes;
+
+    @Getter
+    @Builder
+    public static class ButtonExport {
+        private Long id;
+        private String name;
+        private Integer ordering;
+        private String linkMo;
+        private String linkPc;
+        private String linkAnd;
+        private String linkIos;
+        private String linkType;
+    }
+}
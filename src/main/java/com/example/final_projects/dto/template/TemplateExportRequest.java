@@ -0,0 +1,51 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Locale;
+
+@Getter
+@Setter
+public class TemplateExportRequest {
+
+    // 비어 있으면 삭제된 템플릿을 뺀 전체 상태
+    private String status;
+
+    private String format = "ndjson";
+
+    private boolean gzip;
+
+    public TemplateStatus validateStatus() {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+
+        TemplateStatus templateStatus;
+        try {
+            templateStatus = TemplateStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new TemplateException(TemplateErrorCode.INVALID_STATUS);
+        }
+
+        if (templateStatus == TemplateStatus.DELETED) {
+            throw new TemplateException(TemplateErrorCode.FORBIDDEN_STATUS);
+        }
+
+        return templateStatus;
+    }
+
+    public TemplateExportFormat validateFormat() {
+        if (format == null) {
+            throw new TemplateException(TemplateErrorCode.INVALID_EXPORT_FORMAT);
+        }
+        try {
+            return TemplateExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new TemplateException(TemplateErrorCode.INVALID_EXPORT_FORMAT);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateHistory;
+
+import java.time.LocalDateTime;
+
+public record TemplateHistoryResponse(Long id, String status, LocalDateTime createdAt) {
+    public static TemplateHistoryResponse from(TemplateHistory history) {
+        return new TemplateHistoryResponse(
+                history.getId(),
+                history.getStatus() != null ? history.getStatus().name() : null,
+                history.getCreatedAt()
+        );
+    }
+}
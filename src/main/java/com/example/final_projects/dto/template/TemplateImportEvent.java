@@ -0,0 +1,32 @@
+package com.example.final_projects.dto.template;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 가져오기 진행 상황. 응답 본문에 NDJSON 한 줄씩 내보낸다.
+ * - error: 레코드 하나가 거부됨 (line = 파일에서 레코드가 시작되는 줄, field = 문제 필드)
+ * - progress: 청크 하나를 커밋할 때마다 누적 건수
+ * - summary: 마지막 줄. 파일을 끝까지 읽지 못했으면 message에 이유를 담는다
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TemplateImportEvent(
+        String type,
+        Long line,
+        String field,
+        String message,
+        Long processed,
+        Long imported,
+        Long failed
+) {
+    public static TemplateImportEvent error(long line, String field, String message) {
+        return new TemplateImportEvent("error", line, field, message, null, null, null);
+    }
+
+    public static TemplateImportEvent progress(long processed, long imported, long failed) {
+        return new TemplateImportEvent("progress", null, null, null, processed, imported, failed);
+    }
+
+    public static TemplateImportEvent summary(long processed, long imported, long failed, String message) {
+        return new TemplateImportEvent("summary", null, null, message, processed, imported, failed);
+    }
+}
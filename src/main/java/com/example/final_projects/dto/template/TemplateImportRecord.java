@@ -0,0 +1,47 @@
+package com.example.final_projects.dto.template;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * 가져오기 파일의 레코드 한 건. 내보내기(NDJSON) 결과를 그대로 다시 올릴 수 있도록 모르는 필드(id, status 등)는 무시한다.
+ * 업종/목적은 id 또는 이름으로 지정한다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TemplateImportRecord(
+        String categoryId,
+        String title,
+        String content,
+        String imageUrl,
+        String type,
+        Boolean isPublic,
+        List<ButtonDto> buttons,
+        List<VariableDto> variables,
+        List<ReferenceDto> industries,
+        List<ReferenceDto> purposes
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ButtonDto(
+            String name,
+            Integer ordering,
+            String linkMo,
+            String linkPc,
+            String linkAnd,
+            String linkIos,
+            String linkType
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record VariableDto(
+            String variableKey,
+            String placeholder,
+            String inputType
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ReferenceDto(
+            Long id,
+            String name
+    ) {}
+}
@@ -0,0 +1,59 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Locale;
+
+@Getter
+@Setter
+public class TemplateImportRequest {
+
+    private MultipartFile file;
+
+    // 비어 있으면 파일 확장자(.ndjson/.jsonl/.csv, 뒤에 .gz 가능)로 판단한다
+    private String format;
+
+    public MultipartFile validateFile() {
+        if (file == null || file.isEmpty()) {
+            throw new TemplateException(TemplateErrorCode.INVALID_IMPORT_FILE);
+        }
+        return file;
+    }
+
+    public boolean isGzip() {
+        return baseName().length() < filename().length();
+    }
+
+    public TemplateExportFormat validateFormat() {
+        if (format != null && !format.isBlank()) {
+            try {
+                return TemplateExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new TemplateException(TemplateErrorCode.INVALID_IMPORT_FILE);
+            }
+        }
+
+        String name = baseName();
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return TemplateExportFormat.NDJSON;
+        }
+        if (name.endsWith(".csv")) {
+            return TemplateExportFormat.CSV;
+        }
+        throw new TemplateException(TemplateErrorCode.INVALID_IMPORT_FILE);
+    }
+
+    private String filename() {
+        String name = file == null ? null : file.getOriginalFilename();
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private String baseName() {
+        String name = filename();
+        return name.endsWith(".gz") ? name.substring(0, name.length() - ".gz".length()) : name;
+    }
+}
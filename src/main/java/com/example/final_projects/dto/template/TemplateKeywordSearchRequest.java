@@ -0,0 +1,42 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.dto.PageRequest;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TemplateKeywordSearchRequest extends PageRequest {
+
+    @NotBlank(message = "q는 필수입니다.")
+    @Size(min = 2, max = 100, message = "q는 2자 이상 100자 이하여야 합니다.")
+    private String q;
+
+    private String status;
+
+    private String categoryId;
+
+    private Long industryId;
+
+    private Long purposeId;
+
+    public TemplateSearchCondition toCondition(Long userId) {
+        return new TemplateSearchCondition(userId, q.trim(), validateStatus(), categoryId, industryId, purposeId);
+    }
+
+    private TemplateStatus validateStatus() {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return TemplateStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new TemplateException(TemplateErrorCode.INVALID_STATUS);
+        }
+    }
+}
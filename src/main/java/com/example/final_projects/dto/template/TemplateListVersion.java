@@ -0,0 +1,18 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 + 상태별 템플릿 목록의 버전. 목록을 다시 만들지 않고 집계 한 번으로 ETag를 계산하기 위한 값이다.
+ * 목록 안의 템플릿이 앱에서 수정되면 version 합이, 추가/삭제(상태 전이 포함)되면 건수나 최대 id가 바뀐다.
+ * 앱 밖에서 수정된 행은 version이 그대로이므로 최대 updated_at으로 잡는다.
+ */
+public record TemplateListVersion(long count, long versionSum, long maxId, LocalDateTime maxUpdatedAt) {
+
+    public String etag(Long userId, TemplateStatus status, int page, int size) {
+        return "\"l" + Long.toHexString(userId) + "-" + status.ordinal() + "-" + page + "x" + size
+                + "-" + count + "-" + versionSum + "-" + maxId + "-" + TemplateStatusSnapshot.epochMillis(maxUpdatedAt) + "\"";
+    }
+}
@@ -20,12 +20,20 @@ public class TemplateResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime lastStatusAt;
     private List<ButtonResponse> buttons;
     private List<VariableResponse> variables;
     private List<IndustryResponse> industries;
     private List<PurposeResponse> purposes;
 
     public static TemplateResponse from(com.example.final_projects.entity.Template template) {
+        return from(template, null);
+    }
+
+    /**
+     * @param lastStatusAt 가장 최근 상태 이력 시각 (목록 조회에서만 채운다)
+     */
+    public static TemplateResponse from(com.example.final_projects.entity.Template template, LocalDateTime lastStatusAt) {
         return TemplateResponse.builder()
                 .id(template.getId())
                 .userId(template.getUserId())
@@ -38,6 +46,7 @@ public class TemplateResponse {
                 .status(template.getStatus().name())
                 .createdAt(template.getCreatedAt())
                 .updatedAt(template.getUpdatedAt())
+                .lastStatusAt(lastStatusAt)
                 .buttons(template.getButtons().stream()
                         .map(b -> ButtonResponse.builder()
                                 .id(b.getId())
@@ -0,0 +1,16 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateStatus;
+
+/**
+ * 키워드 검색 조건. keyword를 제외한 필터는 null이면 적용하지 않는다.
+ */
+public record TemplateSearchCondition(
+        Long userId,
+        String keyword,
+        TemplateStatus status,
+        String categoryId,
+        Long industryId,
+        Long purposeId
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.final_projects.dto.template;
+
+import java.util.List;
+
+/**
+ * 검색 엔진이 돌려주는 한 페이지 분량의 템플릿 id(관련도 순)와 전체 일치 건수
+ */
+public record TemplateSearchHits(List<Long> templateIds, long total) {
+
+    public static TemplateSearchHits empty() {
+        return new TemplateSearchHits(List.of(), 0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateEventOutbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * outbox relay가 외부로 내보내는 템플릿 상태 변경 이벤트.
+ * 최소 1회 전달이므로 같은 이벤트가 다시 올 수 있다. 소비 측은 eventId로 중복을 걸러야 한다.
+ */
+public record TemplateStatusEvent(
+        Long eventId,
+        String eventType,
+        Long templateId,
+        Long userId,
+        String status,
+        LocalDateTime occurredAt
+) {
+    public static TemplateStatusEvent from(TemplateEventOutbox outbox) {
+        return new TemplateStatusEvent(
+                outbox.getId(),
+                outbox.getEventType(),
+                outbox.getTemplateId(),
+                outbox.getUserId(),
+                outbox.getStatus().name(),
+                outbox.getCreatedAt()
+        );
+    }
+}
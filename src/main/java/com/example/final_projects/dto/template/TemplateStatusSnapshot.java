@@ -0,0 +1,26 @@
+package com.example.final_projects.dto.template;
+
+import com.example.final_projects.entity.TemplateStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public record TemplateStatusSnapshot(Long id, Long userId, TemplateStatus status, Long version, LocalDateTime updatedAt) {
+
+    public String etag() {
+        return "\"t" + id + "-" + validator() + "\"";
+    }
+
+    /**
+     * 상세 응답이 바뀌었는지 가리는 값.
+     * @Version은 JPA로 바꿀 때만 오르고, 승인/반려처럼 앱 밖에서 바뀐 행은 updated_at(ON UPDATE CURRENT_TIMESTAMP)과 status만 바뀐다.
+     * updated_at은 초 단위라 같은 초 안의 외부 변경은 놓칠 수 있지만, 외부 변경은 상태 전이이므로 status로 잡힌다.
+     */
+    public String validator() {
+        return version + "-" + status.ordinal() + "-" + epochMillis(updatedAt);
+    }
+
+    static String epochMillis(LocalDateTime time) {
+        return time == null ? "0" : Long.toHexString(time.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+}
@@ -55,6 +55,11 @@ public class Template {
     @Column(name = "reject_reason_summary", length = 500)
     private String rejectReasonSummary;
 
+    // 동시에 들어온 승인 요청이 같은 템플릿을 두 번 전이시키지 않도록 하는 낙관적 락 버전
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false, insertable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
@@ -33,6 +33,14 @@ public class UserTemplateRequest {
     @ColumnDefault("'PENDING'")
     private UserTemplateRequestStatus status;
 
+    // AI가 202로 돌려준 부분 생성 결과(AiTemplateResponse JSON). 이어서 생성할 때 그대로 AI에 다시 전달한다
+    @Lob
+    @Column(name = "partial_response", columnDefinition = "LONGTEXT")
+    private String partialResponse;
+
+    @Column(name = "draft_expires_at")
+    private LocalDateTime draftExpiresAt;
+
     @Column(name = "created_at", nullable = false, updatable = false, insertable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
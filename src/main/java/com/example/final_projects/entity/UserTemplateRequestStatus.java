@@ -2,6 +2,8 @@ package com.example.final_projects.entity;
 
 public enum UserTemplateRequestStatus {
     PENDING,
+    IN_PROGRESS,
     COMPLETED,
-    FAILED
+    FAILED,
+    EXPIRED
 }
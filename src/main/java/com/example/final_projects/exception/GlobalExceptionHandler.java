@@ -4,8 +4,11 @@ import com.example.final_projects.dto.ApiResult;
 import com.example.final_projects.dto.ErrorResponse;
 import com.example.final_projects.exception.code.AiErrorCode;
 import com.example.final_projects.exception.code.BaseErrorCode;
+import com.example.final_projects.exception.code.TemplateErrorCode;
 import com.example.final_projects.exception.user.UserErrorCode;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -67,6 +70,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(TemplateRateLimitException.class)
+    public ResponseEntity<ApiResult<Object>> handleTemplateRateLimit(TemplateRateLimitException ex) {
+        ResponseEntity<ApiResult<Object>> response = handleTemplateException(ex);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResult<Object>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return handleTemplateException(new TemplateException(TemplateErrorCode.TEMPLATE_CONCURRENTLY_MODIFIED));
+    }
+
     @ExceptionHandler(UserException.class)
     public ResponseEntity<ApiResult<Object>> handleUser(UserException ex, HttpServletRequest req){
         UserErrorCode ec = ex.getErrorCode();
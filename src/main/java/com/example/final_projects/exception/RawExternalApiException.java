@@ -13,6 +13,12 @@ public class RawExternalApiException extends RuntimeException {
 
     private final HttpStatus httpStatus;
     private final Object rawErrorResponse;
+    // 재시도 후 최종 실패한 경우 실제 시도 횟수 (재시도 없이 실패하면 1)
+    private int attemptNumber = 1;
+    // 실패한 생성 요청(UserTemplateRequest) id. 실패 처리 시 이 요청만 FAILED로 바꾼다
+    private Long userTemplateRequestId;
+    // true면 실패 처리 시 요청을 FAILED로 바꾸지 않는다 (이어서 생성이 일시적 오류로 실패해 초안을 남겨 둔 경우)
+    private boolean requestResumable;
 
     public RawExternalApiException(HttpStatus httpStatus, Object rawErrorResponse, String summaryMessage) {
         super(summaryMessage);
@@ -20,6 +26,18 @@ public class RawExternalApiException extends RuntimeException {
         this.rawErrorResponse = rawErrorResponse;
     }
 
+    public void setAttemptNumber(int attemptNumber) {
+        this.attemptNumber = attemptNumber;
+    }
+
+    public void setUserTemplateRequestId(Long userTemplateRequestId) {
+        this.userTemplateRequestId = userTemplateRequestId;
+    }
+
+    public void setRequestResumable(boolean requestResumable) {
+        this.requestResumable = requestResumable;
+    }
+
     /**
      * 타입-안전한 제네릭 getter 메서드.
      * 서비스 계층에서 이 메서드를 통해 예외의 내용물을 형변환
@@ -0,0 +1,14 @@
+package com.example.final_projects.exception;
+
+import com.example.final_projects.exception.code.BaseErrorCode;
+import lombok.Getter;
+
+@Getter
+public class TemplateRateLimitException extends TemplateException {
+    private final long retryAfterSeconds;
+
+    public TemplateRateLimitException(BaseErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
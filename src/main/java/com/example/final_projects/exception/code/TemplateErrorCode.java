@@ -11,7 +11,18 @@ public enum TemplateErrorCode implements BaseErrorCode {
     TEMPLATE_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "템플릿을 찾을 수 없습니다"),
     ALREADY_APPROVE_REQUESTED(HttpStatus.BAD_REQUEST.value(), "이미 승인 요청된 템플릿입니다"),
     FORBIDDEN_TEMPLATE(HttpStatus.FORBIDDEN.value(), "권한이 없는 템플릿입니다"),
-    APPROVE_REQUEST_FORBIDDEN(HttpStatus.BAD_REQUEST.value(), "승인 요청 가능한 상태가 아닙니다");
+    APPROVE_REQUEST_FORBIDDEN(HttpStatus.BAD_REQUEST.value(), "승인 요청 가능한 상태가 아닙니다"),
+    TEMPLATE_REQUEST_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "템플릿 생성 요청을 찾을 수 없습니다"),
+    DRAFT_NOT_FOUND(HttpStatus.BAD_REQUEST.value(), "이어서 생성할 수 있는 임시 결과가 없습니다"),
+    DRAFT_EXPIRED(HttpStatus.GONE.value(), "임시 결과가 만료되었습니다. 다시 생성해주세요"),
+    DRAFT_IN_PROGRESS(HttpStatus.CONFLICT.value(), "이미 이어서 생성 중인 요청입니다"),
+    MISSING_INPUTS_REQUIRED(HttpStatus.BAD_REQUEST.value(), "누락된 입력값을 하나 이상 입력해주세요"),
+    TOO_MANY_GENERATION_REQUESTS(HttpStatus.TOO_MANY_REQUESTS.value(), "템플릿 생성 요청이 너무 많습니다. 잠시 후 다시 시도해주세요"),
+    TEMPLATE_CONCURRENTLY_MODIFIED(HttpStatus.CONFLICT.value(), "다른 요청에 의해 템플릿 상태가 먼저 변경되었습니다"),
+    INVALID_EXPORT_FORMAT(HttpStatus.BAD_REQUEST.value(), "지원하지 않는 내보내기 형식입니다"),
+    TOO_MANY_EXPORT_REQUESTS(HttpStatus.TOO_MANY_REQUESTS.value(), "진행 중인 내보내기가 너무 많습니다. 잠시 후 다시 시도해주세요"),
+    INVALID_IMPORT_FILE(HttpStatus.BAD_REQUEST.value(), "가져올 파일이 없거나 지원하지 않는 형식입니다"),
+    TOO_MANY_IMPORT_REQUESTS(HttpStatus.TOO_MANY_REQUESTS.value(), "진행 중인 가져오기가 너무 많습니다. 잠시 후 다시 시도해주세요");
 
     private final ErrorReason errorReason;
 
@@ -0,0 +1,133 @@
+package com.example.final_projects.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AI 서버 호출의 네트워크 구간(connect / wait / read)을 분리해서 측정.
+ * - connect: HttpClient 실행 체인의 CONNECT 단계 전후 (풀에서 재사용된 연결이면 0에 가깝다)
+ * - wait: 연결 이후 요청 전송부터 응답 헤더 수신까지 (AI 서버 처리 시간)
+ * - read: 응답 헤더 수신 이후 바디를 끝까지 읽고 닫을 때까지
+ */
+@Component
+@RequiredArgsConstructor
+public class AiHttpClientMetrics {
+
+    private static final String TIMER_NAME = "ai.client.phase";
+    private static final String CONNECT_START_ATTRIBUTE = AiHttpClientMetrics.class.getName() + ".connectStart";
+
+    private final MeterRegistry meterRegistry;
+
+    public ExecChainHandler connectStartHandler() {
+        return (request, scope, chain) -> {
+            scope.clientContext.setAttribute(CONNECT_START_ATTRIBUTE, System.nanoTime());
+            return chain.proceed(request, scope);
+        };
+    }
+
+    public ExecChainHandler connectEndHandler() {
+        return (request, scope, chain) -> {
+            long connected = System.nanoTime();
+            if (scope.clientContext.getAttribute(CONNECT_START_ATTRIBUTE) instanceof Long start) {
+                record("connect", "success", connected - start);
+            }
+            try {
+                var response = chain.proceed(request, scope);
+                record("wait", "success", System.nanoTime() - connected);
+                return response;
+            } catch (IOException | RuntimeException e) {
+                record("wait", "error", System.nanoTime() - connected);
+                throw e;
+            }
+        };
+    }
+
+    public ClientHttpRequestInterceptor readTimingInterceptor() {
+        return (request, body, execution) -> {
+            ClientHttpResponse response = execution.execute(request, body);
+            return new ReadTimedResponse(response, System.nanoTime());
+        };
+    }
+
+    private void record(String phase, String outcome, long elapsedNanos) {
+        Timer.builder(TIMER_NAME)
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private class ReadTimedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final long headersReceivedAt;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private InputStream body;
+
+        ReadTimedResponse(ClientHttpResponse delegate, long headersReceivedAt) {
+            this.delegate = delegate;
+            this.headersReceivedAt = headersReceivedAt;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public void close() throws IOException {
+                        recordRead();
+                        super.close();
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            recordRead();
+            delegate.close();
+        }
+
+        private void recordRead() {
+            if (recorded.compareAndSet(false, true)) {
+                String outcome;
+                try {
+                    outcome = delegate.getStatusCode().isError() ? "error" : "success";
+                } catch (IOException e) {
+                    outcome = "error";
+                }
+                record("read", outcome, System.nanoTime() - headersReceivedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.final_projects.metrics;
+
+import com.example.final_projects.support.ConnectionHolderTracker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GET /actuator/dbconnections: 풀 상태와 지금 커넥션을 들고 있는 코드 위치.
+ * 오래 들고 있는 순으로 max-holders개까지 보여 주고, 코드 위치별 보유 수를 함께 준다.
+ * 요청 URI와 코드 위치가 노출되므로 management.endpoints.web.exposure.include에 필요할 때만 넣는다.
+ */
+@Endpoint(id = "dbconnections")
+public class DbConnectionsEndpoint {
+
+    private final ObjectProvider<DataSource> dataSources;
+    private final ConnectionHolderTracker tracker;
+    private final int maxHolders;
+
+    public DbConnectionsEndpoint(ObjectProvider<DataSource> dataSources, ConnectionHolderTracker tracker, int maxHolders) {
+        this.dataSources = dataSources;
+        this.tracker = tracker;
+        this.maxHolders = maxHolders;
+    }
+
+    @ReadOperation
+    public Map<String, Object> connections() {
+        List<ConnectionHolderTracker.Holder> holders = tracker.holders();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pools", HikariPools.states(dataSources));
+        result.put("held", holders.size());
+        result.put("byCodePath", holders.stream()
+                .collect(Collectors.groupingBy(holder -> String.valueOf(holder.codePath()), Collectors.counting())));
+        result.put("holders", holders.stream()
+                .limit(maxHolders)
+                .map(toView())
+                .toList());
+        return result;
+    }
+
+    private static Function<ConnectionHolderTracker.Holder, Map<String, Object>> toView() {
+        return holder -> {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("pool", holder.pool());
+            view.put("heldMs", holder.heldMs());
+            view.put("thread", holder.thread());
+            view.put("request", holder.request());
+            view.put("codePath", holder.codePath());
+            return view;
+        };
+    }
+}
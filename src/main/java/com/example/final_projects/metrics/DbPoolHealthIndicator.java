@@ -0,0 +1,45 @@
+package com.example.final_projects.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 커넥션 풀 포화 상태. 모든 커넥션이 사용 중이고 대기 스레드가 pending-threshold 이상이면 SATURATED.
+ * DB 자체는 살아 있으므로 DOWN으로 내리지 않는다 (management.endpoint.health.status.order에서 UP보다 앞에 둔다).
+ */
+public class DbPoolHealthIndicator extends AbstractHealthIndicator {
+
+    public static final Status SATURATED = new Status("SATURATED", "All pool connections are in use and threads are waiting");
+
+    private final ObjectProvider<DataSource> dataSources;
+    private final int pendingThreshold;
+
+    public DbPoolHealthIndicator(ObjectProvider<DataSource> dataSources, int pendingThreshold) {
+        super("Connection pool health check failed");
+        this.dataSources = dataSources;
+        this.pendingThreshold = pendingThreshold;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        List<HikariPools.PoolState> pools = HikariPools.states(dataSources);
+        boolean saturated = false;
+        for (HikariPools.PoolState pool : pools) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("active", pool.active());
+            details.put("idle", pool.idle());
+            details.put("max", pool.max());
+            details.put("pending", pool.pending());
+            builder.withDetail(pool.pool(), details);
+            saturated |= pool.saturated(pendingThreshold);
+        }
+        builder.status(saturated ? SATURATED : Status.UP);
+    }
+}
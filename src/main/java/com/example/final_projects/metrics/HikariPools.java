@@ -0,0 +1,48 @@
+package com.example.final_projects.metrics;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource 빈들 뒤에 있는 Hikari 풀 목록. 라우팅/추적 래퍼를 벗겨 풀 이름 기준으로 중복을 없앤다.
+ */
+public final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    public static List<PoolState> states(Iterable<DataSource> dataSources) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (DataSource dataSource : dataSources) {
+            HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+            if (hikari != null) {
+                pools.putIfAbsent(hikari.getPoolName(), hikari);
+            }
+        }
+        List<PoolState> states = new ArrayList<>(pools.size());
+        for (HikariDataSource hikari : pools.values()) {
+            // 첫 커넥션 요청 전에는 풀이 아직 만들어지지 않았다
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            states.add(pool == null
+                    ? new PoolState(hikari.getPoolName(), 0, 0, 0, 0, hikari.getMaximumPoolSize())
+                    : new PoolState(hikari.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(),
+                    pool.getTotalConnections(), pool.getThreadsAwaitingConnection(), hikari.getMaximumPoolSize()));
+        }
+        return states;
+    }
+
+    public record PoolState(String pool, int active, int idle, int total, int pending, int max) {
+
+        public boolean saturated(int pendingThreshold) {
+            return active >= max && pending >= pendingThreshold;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.final_projects.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 빌려 준 커넥션에서 만든 Statement의 실행 시간을 SqlStatementRecorder에 기록한다.
+ */
+public class SqlRecordingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementRecorder recorder;
+
+    public SqlRecordingDataSource(DataSource target, SqlStatementRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recorder.wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recorder.wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.final_projects.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청 처리 스레드에서 실행된 SQL을 요청 단위로 묶는다.
+ * 경로별 통계는 URI 대신 매핑 패턴(/api/templates/{id})으로 모아 경로 수가 늘어나지 않게 한다.
+ */
+public class SqlRequestScopeFilter extends OncePerRequestFilter {
+
+    private final SqlStatementRecorder recorder;
+
+    public SqlRequestScopeFilter(SqlStatementRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        recorder.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            recorder.endRequest(request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)"));
+        }
+    }
+}
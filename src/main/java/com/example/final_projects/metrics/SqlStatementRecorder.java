@@ -0,0 +1,305 @@
+package com.example.final_projects.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC 문장 단위 실행 통계. JPA와 JdbcTemplate이 실행하는 SQL을 모두 잡도록 커넥션을 감싼다.
+ * - 문장별 실행 횟수와 평균/최대 시간 (서로 다른 SQL은 max-statements개까지, 이후는 OTHER로 합산)
+ * - slow-query-ms 이상 걸린 문장은 요청 경로와 함께 WARN. 바인드 값은 타입과 길이만 남긴다
+ * - 요청 하나에서 같은 문장이 n-plus-one-threshold번 이상 실행되면 N+1 의심으로 기록한다
+ * 요청 범위는 SqlRequestScopeFilter가 연다. 요청 밖(스케줄러, 비동기 스트림)에서 실행된 문장은 문장별 통계에만 들어간다.
+ */
+@Slf4j
+public class SqlStatementRecorder {
+
+    static final String OTHER = "(other)";
+    private static final int RECENT_LIMIT = 50;
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final ThreadLocal<RequestScope> CURRENT = new ThreadLocal<>();
+
+    private final long slowQueryNanos;
+    private final int nPlusOneThreshold;
+    private final int maxStatements;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, PathStats> paths = new ConcurrentHashMap<>();
+    private final Deque<SlowStatement> recentSlow = new ArrayDeque<>();
+    private final Deque<NPlusOneSuspect> recentNPlusOne = new ArrayDeque<>();
+
+    public SqlStatementRecorder(long slowQueryMs, int nPlusOneThreshold, int maxStatements) {
+        this.slowQueryNanos = slowQueryMs * 1_000_000;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxStatements = maxStatements;
+    }
+
+    // ---- 요청 범위 ----
+
+    public void beginRequest(String request) {
+        CURRENT.set(new RequestScope(request));
+    }
+
+    /**
+     * @param path 통계를 묶을 경로 (매핑 패턴이 있으면 패턴, 없으면 URI)
+     */
+    public void endRequest(String path) {
+        RequestScope scope = CURRENT.get();
+        CURRENT.remove();
+        if (scope == null) {
+            return;
+        }
+        String key = paths.size() < maxStatements || paths.containsKey(path) ? path : OTHER;
+        paths.computeIfAbsent(key, k -> new PathStats()).record(scope.statements, scope.sqlNanos);
+
+        scope.counts.forEach((sql, count) -> {
+            if (count >= nPlusOneThreshold) {
+                log.warn("Possible N+1 on {}: {} executions of [{}]", scope.request, count, sql);
+                synchronized (recentNPlusOne) {
+                    addBounded(recentNPlusOne, new NPlusOneSuspect(scope.request, sql, count, LocalDateTime.now()));
+                }
+            }
+        });
+    }
+
+    // ---- JDBC 래핑 ----
+
+    public Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrap(Class<T> type, T statement, String preparedSql) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (EXECUTE_METHODS.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long startedAt = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    record(sql, System.nanoTime() - startedAt, parameters);
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    void record(String sql, long elapsedNanos, Map<Integer, Object> parameters) {
+        if (sql == null) {
+            return;
+        }
+        String key = statements.size() < maxStatements || statements.containsKey(sql) ? sql : OTHER;
+        statements.computeIfAbsent(key, k -> new StatementStats()).record(elapsedNanos);
+
+        RequestScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.sqlNanos += elapsedNanos;
+            scope.counts.merge(sql, 1, Integer::sum);
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            String request = scope != null ? scope.request : Thread.currentThread().getName();
+            String redacted = redact(parameters);
+            long elapsedMs = elapsedNanos / 1_000_000;
+            log.warn("Slow SQL {} ms on {}: [{}] params={}", elapsedMs, request, sql, redacted);
+            synchronized (recentSlow) {
+                addBounded(recentSlow, new SlowStatement(request, sql, redacted, elapsedMs, LocalDateTime.now()));
+            }
+        }
+    }
+
+    // 바인드 값 자체는 남기지 않는다 (개인정보/토큰). 어떤 타입이 몇 자였는지만 본다
+    static String redact(Map<Integer, Object> parameters) {
+        return new TreeMap<>(parameters).entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + describe(entry.getValue()))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof byte[] bytes) {
+            return "bytes(" + bytes.length + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    // ---- 조회 ----
+
+    public List<StatementView> topStatements(int limit) {
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().view(entry.getKey()))
+                .sorted(Comparator.comparingDouble(StatementView::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public List<PathView> topPaths(int limit) {
+        return paths.entrySet().stream()
+                .map(entry -> entry.getValue().view(entry.getKey()))
+                .sorted(Comparator.comparingLong(PathView::maxStatements).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public List<SlowStatement> recentSlow() {
+        synchronized (recentSlow) {
+            return new ArrayList<>(recentSlow);
+        }
+    }
+
+    public List<NPlusOneSuspect> recentNPlusOne() {
+        synchronized (recentNPlusOne) {
+            return new ArrayList<>(recentNPlusOne);
+        }
+    }
+
+    public void reset() {
+        statements.clear();
+        paths.clear();
+        synchronized (recentSlow) {
+            recentSlow.clear();
+        }
+        synchronized (recentNPlusOne) {
+            recentNPlusOne.clear();
+        }
+    }
+
+    private static <T> void addBounded(Deque<T> deque, T item) {
+        if (deque.size() >= RECENT_LIMIT) {
+            deque.removeLast();
+        }
+        deque.addFirst(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class RequestScope {
+        private final String request;
+        private final Map<String, Integer> counts = new HashMap<>();
+        private int statements;
+        private long sqlNanos;
+
+        private RequestScope(String request) {
+            this.request = request;
+        }
+    }
+
+    private static final class StatementStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private StatementView view(String sql) {
+            long executions = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new StatementView(sql, executions, totalMs, executions == 0 ? 0 : totalMs / executions,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+
+    private static final class PathStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder sqlNanos = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private void record(int requestStatements, long requestSqlNanos) {
+            requests.increment();
+            statements.add(requestStatements);
+            sqlNanos.add(requestSqlNanos);
+            maxStatements.accumulate(requestStatements);
+        }
+
+        private PathView view(String path) {
+            long count = requests.sum();
+            return new PathView(path, count,
+                    count == 0 ? 0 : (double) statements.sum() / count,
+                    maxStatements.get(),
+                    count == 0 ? 0 : sqlNanos.sum() / 1_000_000.0 / count);
+        }
+    }
+
+    public record StatementView(String sql, long count, double totalMs, double meanMs, double maxMs) {
+    }
+
+    public record PathView(String path, long requests, double meanStatements, long maxStatements, double meanSqlMs) {
+    }
+
+    public record SlowStatement(String request, String sql, String parameters, long elapsedMs, LocalDateTime at) {
+    }
+
+    public record NPlusOneSuspect(String request, String sql, int count, LocalDateTime at) {
+    }
+}
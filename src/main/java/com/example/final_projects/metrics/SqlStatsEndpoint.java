@@ -0,0 +1,95 @@
+package com.example.final_projects.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/sqlstats: 문장별/경로별 SQL 통계, 최근 느린 문장과 N+1 의심 목록, Hibernate Statistics 요약.
+ * DELETE /actuator/sqlstats: 누적 통계 초기화 (배포 직후나 부하 테스트 전에 사용).
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatementRecorder recorder;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final int limit;
+
+    public SqlStatsEndpoint(SqlStatementRecorder recorder, ObjectProvider<EntityManagerFactory> entityManagerFactory, int limit) {
+        this.recorder = recorder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.limit = limit;
+    }
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", recorder.topStatements(limit));
+        result.put("paths", recorder.topPaths(limit));
+        result.put("slow", recorder.recentSlow());
+        result.put("nPlusOne", recorder.recentNPlusOne());
+        Statistics statistics = statistics();
+        if (statistics != null) {
+            result.put("hibernate", hibernateSummary(statistics));
+        }
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+        Statistics statistics = statistics();
+        if (statistics != null) {
+            statistics.clear();
+        }
+    }
+
+    private Map<String, Object> hibernateSummary(Statistics statistics) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("sessionOpenCount", statistics.getSessionOpenCount());
+        summary.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        summary.put("entityLoadCount", statistics.getEntityLoadCount());
+        summary.put("entityFetchCount", statistics.getEntityFetchCount());
+        summary.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        summary.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        summary.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        summary.put("queryExecutionMaxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        // JPQL/HQL 단위 통계 (같은 쿼리가 만드는 SQL은 statements에서 본다)
+        List<Map<String, Object>> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+                    Map<String, Object> view = new LinkedHashMap<>();
+                    view.put("query", query);
+                    view.put("count", queryStatistics.getExecutionCount());
+                    view.put("meanMs", queryStatistics.getExecutionAvgTimeAsDouble());
+                    view.put("maxMs", queryStatistics.getExecutionMaxTime());
+                    view.put("rows", queryStatistics.getExecutionRowCount());
+                    return view;
+                })
+                .sorted(Comparator.comparingLong((Map<String, Object> view) -> (long) view.get("count")).reversed())
+                .limit(limit)
+                .toList();
+        summary.put("queries", queries);
+        return summary;
+    }
+
+    private Statistics statistics() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) {
+            return null;
+        }
+        Statistics statistics = factory.unwrap(SessionFactory.class).getStatistics();
+        return statistics.isStatisticsEnabled() ? statistics : null;
+    }
+}
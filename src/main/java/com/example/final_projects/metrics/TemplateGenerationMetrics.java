@@ -0,0 +1,112 @@
+package com.example.final_projects.metrics;
+
+import com.example.final_projects.dto.template.AiErrorResponse;
+import com.example.final_projects.exception.AiException;
+import com.example.final_projects.exception.RawExternalApiException;
+import com.example.final_projects.exception.code.AiErrorCode;
+import com.example.final_projects.service.TemplateCreationResult;
+import com.example.final_projects.util.EnumMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * POST api/templates 처리 구간별 지연 시간 측정.
+ * 전체 구간은 template.generation, 세부 단계는 template.generation.phase(phase 태그)로 기록하며
+ * 모두 outcome / error_code 태그를 가진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TemplateGenerationMetrics {
+
+    public static final String PHASE_CREATE_INITIAL_REQUEST = "create_initial_request";
+    public static final String PHASE_AI_CALL = "ai_call";
+    public static final String PHASE_AI_DESERIALIZE = "ai_deserialize";
+    public static final String PHASE_TEMPLATE_FACTORY = "template_factory";
+    public static final String PHASE_HISTORY_SAVE = "history_save";
+    public static final String PHASE_MARK_COMPLETED = "mark_completed";
+    public static final String PHASE_AI_FIRST_TOKEN = "ai_first_token";
+
+    private static final String GENERATION_TIMER = "template.generation";
+    private static final String PHASE_TIMER = "template.generation.phase";
+    private static final String NO_ERROR = "NONE";
+
+    private final MeterRegistry meterRegistry;
+
+    public TemplateCreationResult recordGeneration(Supplier<TemplateCreationResult> generation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            TemplateCreationResult result = generation.get();
+            String outcome = result instanceof TemplateCreationResult.Complete ? "complete" : "incomplete";
+            sample.stop(timer(GENERATION_TIMER, null, outcome, NO_ERROR));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(timer(GENERATION_TIMER, null, "error", resolveErrorCode(e)));
+            throw e;
+        }
+    }
+
+    public <T> T recordPhase(String phase, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = action.get();
+            sample.stop(timer(PHASE_TIMER, phase, "success", NO_ERROR));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(timer(PHASE_TIMER, phase, "error", resolveErrorCode(e)));
+            throw e;
+        }
+    }
+
+    public void recordPhase(String phase, Runnable action) {
+        recordPhase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 스트리밍 생성에서 첫 조각이 도착하기까지의 시간(time-to-first-token)을 기록하도록 consumer를 감싼다.
+     */
+    public Consumer<String> timeToFirstToken(Consumer<String> partialContentConsumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicBoolean received = new AtomicBoolean();
+        return content -> {
+            if (received.compareAndSet(false, true)) {
+                sample.stop(timer(PHASE_TIMER, PHASE_AI_FIRST_TOKEN, "success", NO_ERROR));
+            }
+            partialContentConsumer.accept(content);
+        };
+    }
+
+    private Timer timer(String name, String phase, String outcome, String errorCode) {
+        Timer.Builder builder = Timer.builder(name)
+                .tag("outcome", outcome)
+                .tag("error_code", errorCode)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram();
+        if (phase != null) {
+            builder.tag("phase", phase);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    // 태그 카디널리티를 제한하기 위해 AiErrorCode 범위 밖의 값은 모두 fallback/UNKNOWN으로 묶는다
+    private String resolveErrorCode(RuntimeException e) {
+        if (e instanceof AiException aiException) {
+            return aiException.getErrorCode().getErrorReason().getCode();
+        }
+        if (e instanceof RawExternalApiException rawException
+                && rawException.getRawErrorResponse() instanceof AiErrorResponse rawError) {
+            return EnumMapper.fromCode(AiErrorCode.class, rawError.code())
+                    .orElseGet(() -> EnumMapper.getFallback(AiErrorCode.class))
+                    .name();
+        }
+        return "UNKNOWN";
+    }
+}
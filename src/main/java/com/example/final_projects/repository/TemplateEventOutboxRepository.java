@@ -0,0 +1,36 @@
+package com.example.final_projects.repository;
+
+import com.example.final_projects.entity.TemplateEventOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TemplateEventOutboxRepository extends JpaRepository<TemplateEventOutbox, Long> {
+
+    // (published_at, id) 인덱스를 타는 keyset 조회. OFFSET 없이 마지막으로 읽은 id 다음부터 가져온다
+    @Query("""
+            select o from TemplateEventOutbox o
+            where o.publishedAt is null and o.id > :afterId
+            order by o.id asc
+            """)
+    List<TemplateEventOutbox> findUnpublishedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("update TemplateEventOutbox o set o.publishedAt = :publishedAt where o.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Query("select min(o.createdAt) from TemplateEventOutbox o where o.publishedAt is null")
+    LocalDateTime findOldestUnpublishedCreatedAt();
+
+    @Modifying
+    @Query("delete from TemplateEventOutbox o where o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,220 @@
+package com.example.final_projects.repository;
+
+import com.example.final_projects.config.ExportDataSourceConfig;
+import com.example.final_projects.dto.template.TemplateExportRecord;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.entity.TemplateStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자의 템플릿 전체를 버튼/변수/업종/목적과 함께 forward-only 커서로 읽어 한 건씩 넘긴다.
+ * 템플릿 행과 자식 행을 UNION ALL 한 쿼리로 template_id, kind 순으로 정렬해 받으므로
+ * 버튼 × 변수 곱집합이나 템플릿별 추가 조회 없이, 한 번에 템플릿 하나만 메모리에 올린다.
+ * MySQL은 fetchSize=Integer.MIN_VALUE일 때만 행을 스트리밍한다 (드라이버가 net_write_timeout도 늘려 준다).
+ * 커넥션을 다운로드 내내 잡으므로 공용 풀이 아닌 export 풀(ExportDataSourceConfig)을 쓴다.
+ */
+@Repository
+public class TemplateExportJdbcRepository {
+
+    private static final int KIND_TEMPLATE = 0;
+    private static final int KIND_BUTTON = 1;
+    private static final int KIND_VARIABLE = 2;
+    private static final int KIND_INDUSTRY = 3;
+    private static final int KIND_PURPOSE = 4;
+
+    // {owner}는 각 SELECT의 템플릿 소유자/상태 조건으로 바뀐다
+    private static final String EXPORT_SQL = """
+            SELECT t.id AS template_id, 0 AS kind, t.id AS child_id, NULL AS ordering,
+                   t.category_id, t.title, t.content, t.image_url, t.type, t.is_public, t.status,
+                   t.created_at, t.updated_at,
+                   (SELECT MAX(h.created_at) FROM template_history h WHERE h.template_id = t.id) AS last_status_at,
+                   NULL AS name, NULL AS link_mo, NULL AS link_pc, NULL AS link_and, NULL AS link_ios, NULL AS link_type,
+                   NULL AS placeholder, NULL AS input_type
+            FROM template t
+            WHERE {owner}
+            UNION ALL
+            SELECT b.template_id, 1, b.id, b.ordering,
+                   NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL,
+                   b.name, b.link_mo, b.link_pc, b.link_and, b.link_ios, b.link_type, NULL, NULL
+            FROM template_button b JOIN template t ON t.id = b.template_id
+            WHERE {owner}
+            UNION ALL
+            SELECT v.template_id, 2, v.id, NULL,
+                   NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL,
+                   v.variable_key, NULL, NULL, NULL, NULL, NULL, v.placeholder, v.input_type
+            FROM template_variable v JOIN template t ON t.id = v.template_id
+            WHERE {owner}
+            UNION ALL
+            SELECT ti.template_id, 3, i.id, NULL,
+                   NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL,
+                   i.name, NULL, NULL, NULL, NULL, NULL, NULL, NULL
+            FROM template_industry ti JOIN template t ON t.id = ti.template_id JOIN industry i ON i.id = ti.industry_id
+            WHERE {owner}
+            UNION ALL
+            SELECT tp.template_id, 4, p.id, NULL,
+                   NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL,
+                   p.name, NULL, NULL, NULL, NULL, NULL, NULL, NULL
+            FROM template_purpose tp JOIN template t ON t.id = tp.template_id JOIN purpose p ON p.id = tp.purpose_id
+            WHERE {owner}
+            ORDER BY template_id, kind, ordering, child_id
+            """;
+    private static final int SELECT_COUNT = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public TemplateExportJdbcRepository(
+            @Qualifier(ExportDataSourceConfig.EXPORT_DATA_SOURCE) DataSource exportDataSource,
+            @Value("${template.export.fetch-size:500}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.fetchSize = fetchSize;
+    }
+
+    @FunctionalInterface
+    public interface TemplateSink {
+        void accept(TemplateExportRecord template) throws IOException;
+    }
+
+    /**
+     * @param status null이면 DELETED를 뺀 모든 상태
+     * @return 내보낸 템플릿 수
+     */
+    public long streamByUser(Long userId, TemplateStatus status, TemplateSink sink) throws IOException {
+        String owner = status == null
+                ? "t.user_id = ? AND t.status <> 'DELETED'"
+                : "t.user_id = ? AND t.status = ?";
+        String sql = EXPORT_SQL.replace("{owner}", owner);
+        TemplateAssembler assembler = new TemplateAssembler(userId, sink);
+
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // MySQL(Connector/J)은 양수 fetchSize를 무시하고 결과 전체를 메모리에 올린다. H2 등은 음수를 허용하지 않는다
+                boolean mysql = "MySQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName());
+                ps.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+                int index = 1;
+                for (int i = 0; i < SELECT_COUNT; i++) {
+                    ps.setLong(index++, userId);
+                    if (status != null) {
+                        ps.setString(index++, status.name());
+                    }
+                }
+                return ps;
+            }, assembler::accept);
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 끊김 등 쓰기 실패는 호출 측에서 그대로 처리하도록 원래 예외로 되돌린다
+            throw e.getCause();
+        }
+        assembler.flush();
+        return assembler.count;
+    }
+
+    // 같은 template_id의 행들을 모아 다음 템플릿 행이 나오면 이전 템플릿을 내보낸다
+    private static final class TemplateAssembler {
+
+        private final Long userId;
+        private final TemplateSink sink;
+        private TemplateExportRecord.TemplateExportRecordBuilder current;
+        private List<TemplateExportRecord.ButtonExport> buttons;
+        private List<TemplateResponse.VariableResponse> variables;
+        private List<TemplateResponse.IndustryResponse> industries;
+        private List<TemplateResponse.PurposeResponse> purposes;
+        private long count;
+
+        private TemplateAssembler(Long userId, TemplateSink sink) {
+            this.userId = userId;
+            this.sink = sink;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            int kind = rs.getInt("kind");
+            if (kind == KIND_TEMPLATE) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                current = TemplateExportRecord.builder()
+                        .id(rs.getLong("template_id"))
+                        .userId(userId)
+                        .categoryId(rs.getString("category_id"))
+                        .title(rs.getString("title"))
+                        .content(rs.getString("content"))
+                        .imageUrl(rs.getString("image_url"))
+                        .type(rs.getString("type"))
+                        .isPublic(rs.getObject("is_public") == null ? null : rs.getBoolean("is_public"))
+                        .status(rs.getString("status"))
+                        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                        .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                        .lastStatusAt(toLocalDateTime(rs.getTimestamp("last_status_at")));
+                buttons = new ArrayList<>();
+                variables = new ArrayList<>();
+                industries = new ArrayList<>();
+                purposes = new ArrayList<>();
+                return;
+            }
+
+            switch (kind) {
+                case KIND_BUTTON -> buttons.add(TemplateExportRecord.ButtonExport.builder()
+                        .id(rs.getLong("child_id"))
+                        .name(rs.getString("name"))
+                        .ordering(rs.getObject("ordering") == null ? null : rs.getInt("ordering"))
+                        .linkMo(rs.getString("link_mo"))
+                        .linkPc(rs.getString("link_pc"))
+                        .linkAnd(rs.getString("link_and"))
+                        .linkIos(rs.getString("link_ios"))
+                        .linkType(rs.getString("link_type"))
+                        .build());
+                case KIND_VARIABLE -> variables.add(TemplateResponse.VariableResponse.builder()
+                        .id(rs.getLong("child_id"))
+                        .variableKey(rs.getString("name"))
+                        .placeholder(rs.getString("placeholder"))
+                        .inputType(rs.getString("input_type"))
+                        .build());
+                case KIND_INDUSTRY -> industries.add(TemplateResponse.IndustryResponse.builder()
+                        .id(rs.getLong("child_id"))
+                        .name(rs.getString("name"))
+                        .build());
+                case KIND_PURPOSE -> purposes.add(TemplateResponse.PurposeResponse.builder()
+                        .id(rs.getLong("child_id"))
+                        .name(rs.getString("name"))
+                        .build());
+                default -> throw new IllegalStateException("Unknown export row kind: " + kind);
+            }
+        }
+
+        void flush() throws IOException {
+            if (current == null) {
+                return;
+            }
+            TemplateExportRecord template = current
+                    .buttons(buttons)
+                    .variables(variables)
+                    .industries(industries)
+                    .purposes(purposes)
+                    .build();
+            current = null;
+            count++;
+            sink.accept(template);
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp == null ? null : timestamp.toLocalDateTime();
+        }
+    }
+}
@@ -1,12 +1,33 @@
 package com.example.final_projects.repository;
 
 import com.example.final_projects.entity.TemplateHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TemplateHistoryRepository extends JpaRepository<TemplateHistory, Long> {
     List<TemplateHistory> findByTemplateId(Long templateId);
+
+    // (template_id, created_at, id) 인덱스 순서 그대로 최신순 페이지 조회
+    Page<TemplateHistory> findByTemplateIdOrderByCreatedAtDescIdDesc(Long templateId, Pageable pageable);
+
+    // 목록 화면의 상태 배지용. 템플릿마다 가장 최근 이력 한 건을 윈도 함수로 한 번에 가져온다 [template_id, status, created_at]
+    @Query(value = """
+            SELECT ranked.template_id, ranked.status, ranked.created_at
+            FROM (
+                SELECT h.template_id, h.status, h.created_at,
+                       ROW_NUMBER() OVER (PARTITION BY h.template_id ORDER BY h.created_at DESC, h.id DESC) AS rn
+                FROM template_history h
+                WHERE h.template_id IN (:templateIds)
+            ) ranked
+            WHERE ranked.rn = 1
+            """, nativeQuery = true)
+    List<Object[]> findLatestStatusRows(@Param("templateIds") Collection<Long> templateIds);
 }
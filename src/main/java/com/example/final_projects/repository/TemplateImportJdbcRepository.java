@@ -0,0 +1,166 @@
+package com.example.final_projects.repository;
+
+import com.example.final_projects.entity.Industry;
+import com.example.final_projects.entity.Purpose;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateButton;
+import com.example.final_projects.entity.TemplateVariable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 가져온 템플릿과 버튼/변수/업종/목적 행을 테이블별 JDBC batch로 넣는다.
+ * IDENTITY 키라 Hibernate는 insert를 묶지 못하므로 JPA save 대신 사용한다.
+ * MySQL은 rewriteBatchedStatements=true일 때 batch를 multi-row INSERT로 보내고, 생성된 키도 순서대로 돌려준다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TemplateImportJdbcRepository {
+
+    private static final String INSERT_TEMPLATE = """
+            INSERT INTO template (user_id, category_id, title, content, status, type, is_public, image_url, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Set<String> findCategoryIds() {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM category", String.class));
+    }
+
+    /**
+     * 템플릿을 넣고 생성된 id를 각 Template에 채운 뒤 자식 행을 넣는다. 호출 측 트랜잭션 안에서 실행한다.
+     */
+    public void batchInsert(List<Template> templates) {
+        if (templates.isEmpty()) {
+            return;
+        }
+        insertTemplates(templates);
+
+        List<TemplateButton> buttons = new ArrayList<>();
+        List<TemplateVariable> variables = new ArrayList<>();
+        List<long[]> industries = new ArrayList<>();
+        List<long[]> purposes = new ArrayList<>();
+        for (Template template : templates) {
+            buttons.addAll(template.getButtons());
+            variables.addAll(template.getVariables());
+            for (Industry industry : template.getIndustries()) {
+                industries.add(new long[]{template.getId(), industry.getId()});
+            }
+            for (Purpose purpose : template.getPurposes()) {
+                purposes.add(new long[]{template.getId(), purpose.getId()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO template_button (template_id, name, ordering, link_mo, link_pc, link_and, link_ios, link_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                buttons,
+                buttons.size(),
+                (ps, button) -> {
+                    ps.setLong(1, button.getTemplate().getId());
+                    ps.setString(2, button.getName());
+                    setNullableInt(ps, 3, button.getOrdering());
+                    ps.setString(4, button.getLinkMo());
+                    ps.setString(5, button.getLinkPc());
+                    ps.setString(6, button.getLinkAnd());
+                    ps.setString(7, button.getLinkIos());
+                    ps.setString(8, button.getLinkType());
+                }
+        );
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO template_variable (template_id, variable_key, placeholder, input_type) VALUES (?, ?, ?, ?)",
+                variables,
+                variables.size(),
+                (ps, variable) -> {
+                    ps.setLong(1, variable.getTemplate().getId());
+                    ps.setString(2, variable.getVariableKey());
+                    ps.setString(3, variable.getPlaceholder());
+                    ps.setString(4, variable.getInputType());
+                }
+        );
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO template_industry (template_id, industry_id) VALUES (?, ?)",
+                industries,
+                industries.size(),
+                (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                }
+        );
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO template_purpose (template_id, purpose_id) VALUES (?, ?)",
+                purposes,
+                purposes.size(),
+                (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                }
+        );
+    }
+
+    private void insertTemplates(List<Template> templates) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_TEMPLATE, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Template template = templates.get(i);
+                        ps.setLong(1, template.getUserId());
+                        ps.setString(2, template.getCategoryId());
+                        ps.setString(3, template.getTitle());
+                        ps.setString(4, template.getContent());
+                        ps.setString(5, template.getStatus().name());
+                        ps.setString(6, template.getType().name());
+                        ps.setBoolean(7, Boolean.TRUE.equals(template.getIsPublic()));
+                        ps.setString(8, template.getImageUrl());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return templates.size();
+                    }
+                },
+                keyHolder
+        );
+
+        // id 컬럼만 요청했지만 돌려주는 키 이름은 드라이버마다 다르다 (MySQL: GENERATED_KEY, H2: ID)
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != templates.size()) {
+            throw new IllegalStateException("Expected " + templates.size() + " generated template ids but got " + keys.size());
+        }
+        for (int i = 0; i < templates.size(); i++) {
+            templates.get(i).setId(generatedId(keys.get(i)));
+        }
+    }
+
+    private static long generatedId(Map<String, Object> key) {
+        for (Map.Entry<String, Object> column : key.entrySet()) {
+            if (column.getKey().equalsIgnoreCase("id") || column.getKey().equalsIgnoreCase("GENERATED_KEY")) {
+                return ((Number) column.getValue()).longValue();
+            }
+        }
+        throw new IllegalStateException("No generated template id in " + key.keySet());
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
@@ -1,12 +1,58 @@
 package com.example.final_projects.repository;
 
+import com.example.final_projects.dto.template.TemplateChange;
+import com.example.final_projects.dto.template.TemplateListVersion;
+import com.example.final_projects.dto.template.TemplateStatusSnapshot;
 import com.example.final_projects.entity.Template;
 import com.example.final_projects.entity.TemplateStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 
 public interface TemplateRepository extends JpaRepository<Template, Long> {
     Page<Template> findByUserIdAndStatus(Long userId, TemplateStatus status, Pageable pageable);
+
+    @Query("""
+            select new com.example.final_projects.dto.template.TemplateStatusSnapshot(t.id, t.userId, t.status, t.version, t.updatedAt)
+            from Template t
+            where t.id in :ids
+            """)
+    List<TemplateStatusSnapshot> findStatusSnapshots(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.example.final_projects.dto.template.TemplateListVersion(
+                count(t), coalesce(sum(t.version), 0), coalesce(max(t.id), 0), max(t.updatedAt))
+            from Template t
+            where t.userId = :userId and t.status = :status
+            """)
+    TemplateListVersion findListVersion(@Param("userId") Long userId, @Param("status") TemplateStatus status);
+
+    @Query("""
+            select new com.example.final_projects.dto.template.TemplateChange(t.id, t.isPublic, t.status, t.updatedAt)
+            from Template t
+            where t.updatedAt >= :since
+            order by t.updatedAt
+            """)
+    List<TemplateChange> findChangesSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+            select new com.example.final_projects.dto.template.TemplateChange(t.id, t.isPublic, t.status, t.updatedAt)
+            from Template t
+            where t.id in :ids
+            """)
+    List<TemplateChange> findChangesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.example.final_projects.dto.template.TemplateChange(t.id, t.isPublic, t.status, t.updatedAt)
+            from Template t
+            where t.isPublic = true and t.status = com.example.final_projects.entity.TemplateStatus.APPROVED
+            """)
+    List<TemplateChange> findGalleryVisible();
 }
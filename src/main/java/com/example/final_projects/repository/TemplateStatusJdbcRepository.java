@@ -0,0 +1,82 @@
+package com.example.final_projects.repository;
+
+import com.example.final_projects.dto.template.TemplateStatusSnapshot;
+import com.example.final_projects.entity.TemplateStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 상태 일괄 전이와 그에 딸린 이력/outbox 행을 JDBC batch로 한 번에 처리한다.
+ * IDENTITY 키 엔티티는 Hibernate가 insert를 batch로 묶지 못하므로 JPA save 대신 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TemplateStatusJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 조회 시점의 스냅샷과 version이 같은 행만 전이시키고, 실제로 전이된 템플릿 id를 돌려준다.
+     * 행마다 id + version 조건부 UPDATE를 batch로 보내 영향 행 수로 판정하므로,
+     * 조회와 UPDATE 사이에 다른 요청이 먼저 바꾼 행은 결과에서 빠진다.
+     * (Connector/J의 rewriteBatchedStatements는 UPDATE를 multi-query로 보내므로 행별 영향 행 수가 유지된다)
+     */
+    public List<Long> batchTransitionStatus(List<TemplateStatusSnapshot> snapshots, Long userId,
+                                            TemplateStatus fromStatus, TemplateStatus toStatus) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE template SET status = ?, version = version + 1 WHERE id = ? AND version = ? AND user_id = ? AND status = ?",
+                snapshots,
+                snapshots.size(),
+                (ps, snapshot) -> {
+                    ps.setString(1, toStatus.name());
+                    ps.setLong(2, snapshot.id());
+                    ps.setLong(3, snapshot.version());
+                    ps.setLong(4, userId);
+                    ps.setString(5, fromStatus.name());
+                }
+        );
+        int[] updated = Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+        List<Long> transitioned = new ArrayList<>();
+        for (int i = 0; i < snapshots.size(); i++) {
+            if (updated[i] > 0) {
+                transitioned.add(snapshots.get(i).id());
+            }
+        }
+        return transitioned;
+    }
+
+    public void batchInsertHistories(List<Long> templateIds, TemplateStatus status, LocalDateTime createdAt) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO template_history (template_id, status, created_at) VALUES (?, ?, ?)",
+                templateIds,
+                templateIds.size(),
+                (ps, templateId) -> {
+                    ps.setLong(1, templateId);
+                    ps.setString(2, status.name());
+                    ps.setTimestamp(3, Timestamp.valueOf(createdAt));
+                }
+        );
+    }
+
+    public void batchInsertOutboxEvents(Long userId, List<Long> templateIds, String eventType, TemplateStatus status, LocalDateTime createdAt) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO template_event_outbox (template_id, user_id, event_type, status, created_at) VALUES (?, ?, ?, ?, ?)",
+                templateIds,
+                templateIds.size(),
+                (ps, templateId) -> {
+                    ps.setLong(1, templateId);
+                    ps.setLong(2, userId);
+                    ps.setString(3, eventType);
+                    ps.setString(4, status.name());
+                    ps.setTimestamp(5, Timestamp.valueOf(createdAt));
+                }
+        );
+    }
+}
@@ -3,11 +3,38 @@ package com.example.final_projects.repository;
 import com.example.final_projects.entity.UserTemplateRequest;
 import com.example.final_projects.entity.UserTemplateRequestStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Repository
 public interface UserTemplateRequestRepository extends JpaRepository<UserTemplateRequest, Long> {
-    Optional<UserTemplateRequest> findFirstByUserIdAndStatusOrderByIdDesc(Long userId, UserTemplateRequestStatus status);
+    // 조건부 전이: 다른 요청이 먼저 상태를 바꿨다면 갱신되지 않는다 (초안 선점, 완료/만료된 요청 보호)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        update UserTemplateRequest r
+           set r.status = :toStatus
+         where r.id = :id
+           and r.status in :fromStatuses
+        """)
+    int transitionStatus(@Param("id") Long id,
+                         @Param("fromStatuses") Collection<UserTemplateRequestStatus> fromStatuses,
+                         @Param("toStatus") UserTemplateRequestStatus toStatus);
+
+    // 이어서 생성하지 않고 방치된 부분 생성 결과 정리 (이어서 생성 도중 서버가 내려가 IN_PROGRESS로 남은 초안 포함)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        update UserTemplateRequest r
+           set r.status = :expired,
+               r.partialResponse = null
+         where r.status in :drafts
+           and r.draftExpiresAt < :now
+        """)
+    int expireAbandonedDrafts(@Param("drafts") Collection<UserTemplateRequestStatus> drafts,
+                              @Param("expired") UserTemplateRequestStatus expired,
+                              @Param("now") LocalDateTime now);
 }
@@ -24,6 +24,13 @@ public CustomUserPrincipal(Long id, String email, String passwordHash, Collectio
     }
 
     public Long getId() {return id;}
+    // ROLE_ 접두사를 뗀 Role 이름 (생성 큐 등급 판단용)
+    public Set<String> getRoleNames() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(a -> a.startsWith("ROLE_") ? a.substring("ROLE_".length()) : a)
+                .collect(Collectors.toSet());
+    }
     @Override public Collection<? extends GrantedAuthority> getAuthorities() {return authorities;}
     @Override public String getPassword() {return passwordHash;}
     @Override public String getUsername() {return email;}
@@ -1,29 +1,165 @@
 package com.example.final_projects.service;
 
+import com.example.final_projects.config.AiApiResponseErrorHandler;
 import com.example.final_projects.dto.template.AiApiResponse;
+import com.example.final_projects.dto.template.AiTemplateContinueRequest;
 import com.example.final_projects.dto.template.AiTemplateRequest;
 import com.example.final_projects.dto.template.AiTemplateResponse;
+import com.example.final_projects.dto.template.AiTemplateStreamEvent;
 import com.example.final_projects.entity.UserTemplateRequest;
+import com.example.final_projects.exception.AiException;
+import com.example.final_projects.exception.RawExternalApiException;
+import com.example.final_projects.exception.code.AiErrorCode;
+import com.example.final_projects.metrics.TemplateGenerationMetrics;
+import com.example.final_projects.support.JsonCodecs;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+
 @Component
 public class AiApiClient {
 
     private final RestClient restClient;
+    private final JsonCodecs jsonCodecs;
+    private final TemplateGenerationMetrics templateGenerationMetrics;
+    private final AiApiResponseErrorHandler aiApiResponseErrorHandler;
+    private final AiHedgingExecutor aiHedgingExecutor;
 
-    public AiApiClient(@Qualifier("aiRestClient") RestClient restClient) {
+    public AiApiClient(
+            @Qualifier("aiRestClient") RestClient restClient,
+            JsonCodecs jsonCodecs,
+            TemplateGenerationMetrics templateGenerationMetrics,
+            AiApiResponseErrorHandler aiApiResponseErrorHandler,
+            AiHedgingExecutor aiHedgingExecutor
+    ) {
         this.restClient = restClient;
+        this.jsonCodecs = jsonCodecs;
+        this.templateGenerationMetrics = templateGenerationMetrics;
+        this.aiApiResponseErrorHandler = aiApiResponseErrorHandler;
+        this.aiHedgingExecutor = aiHedgingExecutor;
     }
 
     public ResponseEntity<AiApiResponse<AiTemplateResponse>> createTemplate(UserTemplateRequest userTemplateRequest) {
+        return postForTemplate(
+                "/ai/templates",
+                new AiTemplateRequest(userTemplateRequest.getUserId(), userTemplateRequest.getRequestContent())
+        );
+    }
+
+    /**
+     * 202로 끝난 부분 생성 결과를 이어서 생성한다. 원문 요청 대신 AI가 만든 초안과 누락된 입력값만 보낸다.
+     */
+    public ResponseEntity<AiApiResponse<AiTemplateResponse>> continueTemplate(
+            UserTemplateRequest userTemplateRequest,
+            AiTemplateResponse partialTemplate,
+            Map<String, String> missingInputs
+    ) {
+        return postForTemplate(
+                "/ai/templates/continue",
+                new AiTemplateContinueRequest(userTemplateRequest.getUserId(), userTemplateRequest.getId(), partialTemplate, missingInputs)
+        );
+    }
+
+    private ResponseEntity<AiApiResponse<AiTemplateResponse>> postForTemplate(String uri, Object requestBody) {
+        // 바디는 byte[]로 먼저 받아 네트워크 read 구간과 역직렬화 구간을 분리해서 측정한다
+        // 헤징이 켜져 있으면 느린 요청에 한해 같은 요청이 한 번 더 나갈 수 있다 (스트리밍은 대상 아님)
+        ResponseEntity<byte[]> rawResponse = aiHedgingExecutor.execute(client -> client.post()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(requestBody)
+                .retrieve()
+                .toEntity(byte[].class));
+
+        AiApiResponse<AiTemplateResponse> body = templateGenerationMetrics.recordPhase(
+                TemplateGenerationMetrics.PHASE_AI_DESERIALIZE,
+                () -> deserialize(rawResponse.getBody())
+        );
+        return new ResponseEntity<>(body, rawResponse.getHeaders(), rawResponse.getStatusCode());
+    }
+
+    /**
+     * AI 서버의 스트리밍 응답(NDJSON 또는 SSE)을 한 줄씩 읽으면서 delta 조각은 바로 전달하고,
+     * 마지막 result 이벤트로 createTemplate과 같은 형태의 응답을 조립해 반환한다.
+     */
+    public ResponseEntity<AiApiResponse<AiTemplateResponse>> streamTemplate(
+            UserTemplateRequest userTemplateRequest,
+            Consumer<String> partialContentConsumer
+    ) {
         return restClient.post()
-                .uri("/ai/templates")
+                .uri("/ai/templates/stream")
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM)
                 .body(new AiTemplateRequest(userTemplateRequest.getUserId(), userTemplateRequest.getRequestContent()))
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {});
+                .exchange((clientRequest, clientResponse) -> {
+                    // exchange는 defaultStatusHandler를 거치지 않으므로 에러 응답은 직접 위임한다
+                    if (aiApiResponseErrorHandler.hasError(clientResponse)) {
+                        aiApiResponseErrorHandler.handleError(clientResponse);
+                    }
+
+                    AiTemplateStreamEvent result = readStream(clientResponse.getBody(), partialContentConsumer);
+                    HttpStatus status = result.status() != null ? HttpStatus.valueOf(result.status()) : HttpStatus.OK;
+                    return ResponseEntity.status(status)
+                            .body(new AiApiResponse<>(result.data(), null, null));
+                });
+    }
+
+    private AiTemplateStreamEvent readStream(InputStream body, Consumer<String> partialContentConsumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String payload = toPayload(line);
+            if (payload == null) {
+                continue;
+            }
+
+            AiTemplateStreamEvent event = jsonCodecs.readAiStreamEvent(payload);
+            if (AiTemplateStreamEvent.DELTA.equals(event.type())) {
+                if (event.content() != null) {
+                    partialContentConsumer.accept(event.content());
+                }
+            } else if (AiTemplateStreamEvent.RESULT.equals(event.type())) {
+                return event;
+            } else if (AiTemplateStreamEvent.ERROR.equals(event.type()) && event.error() != null) {
+                HttpStatus status = event.status() != null ? HttpStatus.valueOf(event.status()) : HttpStatus.INTERNAL_SERVER_ERROR;
+                throw new RawExternalApiException(status, event.error(), "AI server returned a stream error: " + event.error().code());
+            }
+        }
+        throw new AiException(AiErrorCode.UNEXPECTED_AI_RESPONSE, "AI stream ended without a result event.");
+    }
+
+    // NDJSON은 줄 전체가, SSE는 "data:" 줄이 이벤트 본문이다. 빈 줄/주석/event·id 필드는 건너뛴다
+    private String toPayload(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith(":")) {
+            return null;
+        }
+        if (trimmed.startsWith("data:")) {
+            return trimmed.substring("data:".length()).trim();
+        }
+        if (trimmed.startsWith("event:") || trimmed.startsWith("id:") || trimmed.startsWith("retry:")) {
+            return null;
+        }
+        return trimmed;
+    }
+
+    private AiApiResponse<AiTemplateResponse> deserialize(byte[] rawBody) {
+        if (rawBody == null || rawBody.length == 0) {
+            return null;
+        }
+        try {
+            return jsonCodecs.readAiTemplateResponse(rawBody);
+        } catch (IOException e) {
+            throw new AiException(AiErrorCode.UNEXPECTED_AI_RESPONSE, "Failed to parse AI success response body.", e);
+        }
     }
 }
@@ -0,0 +1,257 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.exception.AiException;
+import com.example.final_projects.exception.code.AiErrorCode;
+import com.example.final_projects.support.AiRequestCancellation;
+import com.example.final_projects.support.RatioTokenBucket;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * AI 호출 헤징(hedged request).
+ * - 첫 요청이 최근 응답 시간의 p{percentile} 안에 끝나지 않으면 같은 요청을 한 번 더 보낸다 (alternate-base-url이 있으면 그쪽으로)
+ * - 먼저 성공한 응답을 쓰고 나머지 요청은 연결을 끊어 취소한다
+ * - 헤지 요청 비율은 토큰 버킷으로 max-ratio 이하로 제한해 AI 서버 부하가 과하게 늘지 않게 한다
+ * 비활성화 상태(기본값)에서는 호출 스레드에서 그대로 primary 요청만 보낸다.
+ */
+@Slf4j
+@Component
+public class AiHedgingExecutor {
+
+    private static final String METRIC_NAME = "ai.hedge";
+    private static final int LATENCY_WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+
+    private final RestClient primaryClient;
+    private final RestClient hedgeClient;
+    private final TaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double delayPercentile;
+    private final long initialDelayMs;
+    private final long minDelayMs;
+    private final long maxDelayMs;
+    private final RatioTokenBucket hedgeBudget;
+    private final LatencyWindow latencyWindow = new LatencyWindow(LATENCY_WINDOW_SIZE);
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+
+    public AiHedgingExecutor(
+            @Qualifier("aiRestClient") RestClient primaryClient,
+            @Qualifier("aiHedgeRestClient") RestClient hedgeClient,
+            @Qualifier("aiHedgeExecutor") TaskExecutor executor,
+            MeterRegistry meterRegistry,
+            @Value("${rest.ai.hedge.enabled:false}") boolean enabled,
+            @Value("${rest.ai.hedge.delay-percentile:0.95}") double delayPercentile,
+            @Value("${rest.ai.hedge.initial-delay-ms:3000}") long initialDelayMs,
+            @Value("${rest.ai.hedge.min-delay-ms:500}") long minDelayMs,
+            @Value("${rest.ai.hedge.max-delay-ms:15000}") long maxDelayMs,
+            @Value("${rest.ai.hedge.max-ratio:0.05}") double maxRatio,
+            @Value("${rest.ai.hedge.budget-max-tokens:5}") int budgetMaxTokens
+    ) {
+        this.primaryClient = primaryClient;
+        this.hedgeClient = hedgeClient;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.delayPercentile = delayPercentile;
+        this.initialDelayMs = initialDelayMs;
+        this.minDelayMs = minDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.hedgeBudget = new RatioTokenBucket(maxRatio, budgetMaxTokens);
+
+        Gauge.builder(METRIC_NAME + ".delay", this, AiHedgingExecutor::currentDelayMs)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Function<RestClient, T> call) {
+        if (!enabled) {
+            return call.apply(primaryClient);
+        }
+        hedgeBudget.onRequest();
+
+        Attempt<T> primary;
+        try {
+            primary = submit(primaryClient, call);
+        } catch (RejectedExecutionException e) {
+            count("rejected");
+            return call.apply(primaryClient);
+        }
+
+        try {
+            T result = primary.future.get(currentDelayMs(), TimeUnit.MILLISECONDS);
+            latencyWindow.record(primary.elapsedMs());
+            count("not_hedged");
+            return result;
+        } catch (TimeoutException e) {
+            // 지연 기준을 넘김 → 헤지 요청 여부 판단
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            return interrupted(List.of(primary));
+        }
+
+        if (!hedgeBudget.tryAcquire()) {
+            count("budget_exhausted");
+            return awaitPrimary(primary);
+        }
+
+        Attempt<T> hedge;
+        try {
+            hedge = submit(hedgeClient, call);
+        } catch (RejectedExecutionException e) {
+            count("rejected");
+            return awaitPrimary(primary);
+        }
+        count("hedged");
+        return awaitFirstSuccess(primary, hedge);
+    }
+
+    long currentDelayMs() {
+        long percentileMs = latencyWindow.percentile(delayPercentile, MIN_SAMPLES);
+        if (percentileMs < 0) {
+            return initialDelayMs;
+        }
+        return Math.max(minDelayMs, Math.min(maxDelayMs, percentileMs));
+    }
+
+    private <T> T awaitPrimary(Attempt<T> primary) {
+        try {
+            T result = primary.future.get();
+            latencyWindow.record(primary.elapsedMs());
+            return result;
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            return interrupted(List.of(primary));
+        }
+    }
+
+    private <T> T awaitFirstSuccess(Attempt<T> primary, Attempt<T> hedge) {
+        CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt<T> attempt : List.of(primary, hedge)) {
+            attempt.future.whenComplete((value, error) -> {
+                if (error == null) {
+                    winner.complete(attempt);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+
+        try {
+            Attempt<T> first = winner.get();
+            Attempt<T> loser = first == primary ? hedge : primary;
+            loser.cancel();
+
+            // 헤지가 이긴 경우 primary의 실제 응답 시간은 알 수 없지만 최소한 지금까지는 걸렸으므로 그 값을 기록한다
+            latencyWindow.record(primary.elapsedMs());
+            count(first == primary ? "primary_won" : "hedge_won");
+            return first.future.join();
+        } catch (ExecutionException e) {
+            count("both_failed");
+            throw unwrap(primary.future.exceptionNow());
+        } catch (InterruptedException e) {
+            return interrupted(List.of(primary, hedge));
+        }
+    }
+
+    private <T> Attempt<T> submit(RestClient client, Function<RestClient, T> call) {
+        Attempt<T> attempt = new Attempt<>();
+        Runnable task = () -> {
+            try {
+                attempt.future.complete(attempt.cancellation.runWith(() -> call.apply(client)));
+            } catch (Throwable e) {
+                attempt.future.completeExceptionally(e);
+            }
+        };
+        // 작업 스레드에서도 trace 컨텍스트가 이어져야 AI 서버로 같은 traceparent가 전파된다
+        executor.execute(contextSnapshotFactory.captureAll().wrap(task));
+        return attempt;
+    }
+
+    private <T> T interrupted(List<Attempt<T>> attempts) {
+        attempts.forEach(Attempt::cancel);
+        Thread.currentThread().interrupt();
+        throw new AiException(AiErrorCode.AI_REQUEST_FAILED, "Interrupted while waiting for AI response.");
+    }
+
+    private RuntimeException unwrap(Throwable error) {
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        return new AiException(AiErrorCode.AI_REQUEST_FAILED, "AI request failed.", error);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    }
+
+    private static final class Attempt<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AiRequestCancellation cancellation = new AiRequestCancellation();
+        private final long startedAt = System.nanoTime();
+
+        void cancel() {
+            cancellation.cancel();
+        }
+
+        long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * 최근 N건의 primary 응답 시간. 쓰기는 lock-free 링 버퍼, 조회 시에만 복사 후 정렬한다 (N이 작아 요청당 비용은 무시 가능).
+     */
+    static final class LatencyWindow {
+        private final AtomicLongArray samples;
+        private final AtomicLong recorded = new AtomicLong();
+
+        LatencyWindow(int size) {
+            this.samples = new AtomicLongArray(size);
+        }
+
+        void record(long latencyMs) {
+            long index = recorded.getAndIncrement() % samples.length();
+            samples.set((int) index, latencyMs);
+        }
+
+        long percentile(double percentile, int minSamples) {
+            int count = (int) Math.min(recorded.get(), samples.length());
+            if (count < minSamples) {
+                return -1;
+            }
+            long[] snapshot = new long[count];
+            for (int i = 0; i < count; i++) {
+                snapshot[i] = samples.get(i);
+            }
+            Arrays.sort(snapshot);
+            int rank = (int) Math.ceil(percentile * count) - 1;
+            return snapshot[Math.max(0, Math.min(count - 1, rank))];
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.AiErrorResponse;
+import com.example.final_projects.exception.RawExternalApiException;
+import com.example.final_projects.exception.code.AiErrorCode;
+import com.example.final_projects.support.RatioTokenBucket;
+import com.example.final_projects.util.EnumMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * AI 호출 재시도.
+ * - 요청이 AI 서버에 도달하지 않았거나(연결 실패/연결 타임아웃) 게이트웨이 계열(502/503/504),
+ *   또는 설정된 AiErrorCode 로 실패한 경우에만 재시도한다. 읽기 타임아웃은 AI가 이미 처리 중일 수 있어 제외
+ * - 대기 시간은 decorrelated jitter: min(cap, random(base, 직전 대기 * 3))
+ * - 전체 트래픽 대비 재시도 비율을 토큰 버킷(retry budget)으로 제한해 장애 시 재시도가 부하를 키우지 않게 한다
+ */
+@Slf4j
+@Component
+public class AiRetryExecutor {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+    private static final String METRIC_NAME = "ai.retry";
+
+    private final FailureLogService failureLogService;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final Set<String> retryableErrorCodes;
+    private final RatioTokenBucket retryBudget;
+
+    public AiRetryExecutor(
+            FailureLogService failureLogService,
+            MeterRegistry meterRegistry,
+            @Value("${rest.ai.retry.max-attempts:3}") int maxAttempts,
+            @Value("${rest.ai.retry.base-delay-ms:200}") long baseDelayMs,
+            @Value("${rest.ai.retry.max-delay-ms:2000}") long maxDelayMs,
+            @Value("${rest.ai.retry.error-codes:PROCESSING_TIMEOUT}") String retryableErrorCodes,
+            @Value("${rest.ai.retry.budget-ratio:0.1}") double budgetRatio,
+            @Value("${rest.ai.retry.budget-max-tokens:10}") int budgetMaxTokens
+    ) {
+        this.failureLogService = failureLogService;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.retryableErrorCodes = Arrays.stream(retryableErrorCodes.split(","))
+                .map(String::trim)
+                .filter(code -> !code.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.retryBudget = new RatioTokenBucket(budgetRatio, budgetMaxTokens);
+    }
+
+    public <T> T execute(Long userTemplateRequestId, Supplier<T> call) {
+        retryBudget.onRequest();
+        long previousDelayMs = baseDelayMs;
+
+        for (int attempt = 1; ; attempt++) {
+            long startedAt = System.nanoTime();
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (e instanceof RawExternalApiException rawException) {
+                    rawException.setAttemptNumber(attempt);
+                }
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    count("attempts_exhausted");
+                    throw e;
+                }
+                if (!retryBudget.tryAcquire()) {
+                    count("budget_exhausted");
+                    log.warn("AI retry budget exhausted. Giving up after attempt {} for request {}", attempt, userTemplateRequestId);
+                    throw e;
+                }
+
+                logRetriedFailure(userTemplateRequestId, attempt, e, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                count("retried");
+
+                previousDelayMs = nextDelayMs(previousDelayMs);
+                try {
+                    Thread.sleep(previousDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    boolean isRetryable(RuntimeException e) {
+        if (e instanceof RawExternalApiException rawException) {
+            if (RETRYABLE_STATUSES.contains(rawException.getHttpStatus().value())) {
+                return true;
+            }
+            return rawException.getRawErrorResponse() instanceof AiErrorResponse rawError
+                    && rawError.code() != null
+                    && retryableErrorCodes.contains(rawError.code());
+        }
+        if (e instanceof ResourceAccessException) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long nextDelayMs(long previousDelayMs) {
+        long upper = Math.max(baseDelayMs + 1, previousDelayMs * 3);
+        return Math.min(maxDelayMs, ThreadLocalRandom.current().nextLong(baseDelayMs, upper));
+    }
+
+    // 재시도된(최종이 아닌) 실패도 시도 번호와 함께 남긴다. 최종 실패는 ExternalApiErrorHandlingAspect가 기록한다
+    private void logRetriedFailure(Long userTemplateRequestId, int attempt, RuntimeException e, long responseTimeMs) {
+        try {
+            String errorCode;
+            String errorDetail;
+            Integer httpStatus = null;
+            if (e instanceof RawExternalApiException rawException
+                    && rawException.getRawErrorResponse() instanceof AiErrorResponse rawError) {
+                errorCode = EnumMapper.fromCode(AiErrorCode.class, rawError.code())
+                        .orElseGet(() -> EnumMapper.getFallback(AiErrorCode.class))
+                        .getErrorReason().getCode();
+                errorDetail = String.format("[Original Code: %s] %s", rawError.code(), rawError.message());
+                httpStatus = rawException.getHttpStatus().value();
+            } else {
+                errorCode = AiErrorCode.SERVICE_UNAVAILABLE.getErrorReason().getCode();
+                errorDetail = "[Connect failure] " + e.getMessage();
+            }
+
+            failureLogService.saveFailureLog(
+                    userTemplateRequestId,
+                    errorCode,
+                    errorDetail,
+                    attempt,
+                    null,
+                    null,
+                    httpStatus,
+                    responseTimeMs,
+                    GenerationJobScheduler.currentQueueWaitMs()
+            );
+        } catch (Exception ex) {
+            log.error("Failed to save retried failure log", ex);
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateStatusEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 같은 프로세스의 @EventListener(TemplateStatusEvent)로 전달한다. 별도 브로커가 없을 때의 기본값.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "template.outbox", name = "sink", havingValue = "application-event", matchIfMissing = true)
+public class ApplicationEventTemplateEventSink implements TemplateEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<TemplateStatusEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
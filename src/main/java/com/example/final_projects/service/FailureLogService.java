@@ -21,7 +21,8 @@ public class FailureLogService {
             String userAgent,
             String clientIp,
             Integer httpStatusCode,
-            Long responseTimeMs
+            Long responseTimeMs,
+            Long requestWaitTimeMs
     ) {
         UserTemplateRequestFailureLog failureLog = UserTemplateRequestFailureLog.builder()
                 .userTemplateRequestId(userTemplateRequestId)
@@ -32,7 +33,8 @@ public class FailureLogService {
                 .clientIp(clientIp)
                 .httpStatusCode(httpStatusCode)
                 .responseTimeMs(responseTimeMs != null ? responseTimeMs.intValue() : null)
-                // requestWaitTimeMs, requestReceivedAt 등은 이후 추가
+                .requestWaitTimeMs(requestWaitTimeMs != null ? requestWaitTimeMs.intValue() : null)
+                // requestReceivedAt 등은 이후 추가
                 .build();
         failureLogRepository.save(failureLog);
     }
@@ -0,0 +1,81 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateSearchCondition;
+import com.example.final_projects.dto.template.TemplateSearchHits;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.support.NgramTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL FULLTEXT(ngram) 인덱스(ft_template_title_content)로 검색한다.
+ * 검색어는 단어마다 +"단어" 로 바꿔 BOOLEAN MODE로 보낸다. ngram 파서는 따옴표 구문을 연속된 ngram으로 찾으므로
+ * 한글 부분 문자열 검색이 되고, 모든 단어가 포함된 템플릿만 관련도 순으로 돌려준다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "template.search", name = "engine", havingValue = "fulltext", matchIfMissing = true)
+public class FullTextTemplateSearchEngine implements TemplateSearchEngine {
+
+    private static final String MATCH = "MATCH(t.title, t.content) AGAINST (:query IN BOOLEAN MODE)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public TemplateSearchHits search(TemplateSearchCondition condition, int offset, int limit) {
+        List<String> words = NgramTokenizer.words(condition.keyword());
+        if (words.isEmpty()) {
+            return TemplateSearchHits.empty();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", words.stream().map(word -> "+\"" + word + "\"").collect(Collectors.joining(" ")))
+                .addValue("userId", condition.userId())
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        String where = buildWhere(condition, params);
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM template t " + where, params, Long.class);
+        if (total == null || total == 0 || offset >= total) {
+            return new TemplateSearchHits(List.of(), total == null ? 0 : total);
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT t.id FROM template t " + where
+                        + " ORDER BY " + MATCH + " DESC, t.id DESC LIMIT :limit OFFSET :offset",
+                params,
+                Long.class
+        );
+        return new TemplateSearchHits(ids, total);
+    }
+
+    private String buildWhere(TemplateSearchCondition condition, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("WHERE ").append(MATCH).append(" AND t.user_id = :userId");
+        if (condition.status() != null) {
+            where.append(" AND t.status = :status");
+            params.addValue("status", condition.status().name());
+        } else {
+            where.append(" AND t.status <> :deleted");
+            params.addValue("deleted", TemplateStatus.DELETED.name());
+        }
+        if (condition.categoryId() != null) {
+            where.append(" AND t.category_id = :categoryId");
+            params.addValue("categoryId", condition.categoryId());
+        }
+        if (condition.industryId() != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM template_industry ti WHERE ti.template_id = t.id AND ti.industry_id = :industryId)");
+            params.addValue("industryId", condition.industryId());
+        }
+        if (condition.purposeId() != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM template_purpose tp WHERE tp.template_id = t.id AND tp.purpose_id = :purposeId)");
+            params.addValue("purposeId", condition.purposeId());
+        }
+        return where.toString();
+    }
+}
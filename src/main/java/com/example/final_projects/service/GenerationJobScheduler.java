@@ -0,0 +1,271 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.exception.TemplateRateLimitException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AI 생성 작업의 등급(Role)별 가중 공정 큐.
+ * - 동시에 실행되는 생성 작업은 max-concurrency 개로 제한하고, 나머지는 사용자의 Role에 해당하는 등급 큐에서 기다린다
+ * - 다음 작업은 start-time fair queuing 방식으로 고른다. 작업마다 finish tag = max(가상 시각, 큐의 마지막 tag) + 1/가중치를 붙이고 가장 작은 tag부터 실행
+ * - 대기 시간이 aging-ms 만큼 쌓일 때마다 tag를 1씩 앞당겨 낮은 등급도 무한정 밀리지 않게 한다
+ * - 대기는 요청 스레드를 붙잡으므로 짧게 둔다. 등급 큐에 max-depth 개가 이미 있으면 바로, max-wait-ms 안에 차례가 오지 않으면
+ *   429(TOO_MANY_GENERATION_REQUESTS)로 거절한다
+ * 실행 중인 스레드에서 대기 시간은 currentQueueWaitMs()로 조회할 수 있다 (실패 로그의 request_wait_time_ms).
+ */
+@Slf4j
+@Component
+public class GenerationJobScheduler {
+
+    private static final String METRIC_PREFIX = "template.queue";
+    private static final ThreadLocal<Long> CURRENT_WAIT_MS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TierQueue> queues = new LinkedHashMap<>();
+    private final TierQueue defaultQueue;
+    private final int maxConcurrency;
+    private final long agingMs;
+    private final long maxWaitMs;
+    private final int maxDepth;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int running;
+    private double virtualTime;
+
+    public GenerationJobScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${template.queue.tier-weights:ADMIN:8,PREMIUM:4,USER:1}") String tierWeights,
+            @Value("${template.queue.default-tier:USER}") String defaultTier,
+            @Value("${template.queue.max-concurrency:16}") int maxConcurrency,
+            @Value("${template.queue.aging-ms:5000}") long agingMs,
+            @Value("${template.queue.max-wait-ms:3000}") long maxWaitMs,
+            @Value("${template.queue.max-depth:16}") int maxDepth
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.agingMs = Math.max(1, agingMs);
+        this.maxWaitMs = maxWaitMs;
+        this.maxDepth = Math.max(0, maxDepth);
+
+        Arrays.stream(tierWeights.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .forEach(entry -> {
+                    String[] parts = entry.split(":");
+                    String tier = parts[0].trim();
+                    int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                    queues.put(tier, new TierQueue(tier, Math.max(1, weight)));
+                });
+        this.defaultQueue = queues.computeIfAbsent(defaultTier, tier -> new TierQueue(tier, 1));
+
+        queues.values().forEach(queue -> Gauge.builder(METRIC_PREFIX + ".depth", queue, q -> q.depth)
+                .tag("tier", queue.tier)
+                .register(meterRegistry));
+        Gauge.builder(METRIC_PREFIX + ".running", this, scheduler -> scheduler.running).register(meterRegistry);
+    }
+
+    /**
+     * @param roleNames 요청 사용자의 Role 이름 (인증 정보에서 꺼낸 값, ROLE_ 접두사 없이)
+     */
+    public <T> T execute(Collection<String> roleNames, Supplier<T> job) {
+        TierQueue queue = resolveQueue(roleNames);
+        long waitMs = awaitTurn(queue);
+        CURRENT_WAIT_MS.set(waitMs);
+        try {
+            return job.get();
+        } finally {
+            CURRENT_WAIT_MS.remove();
+            release();
+        }
+    }
+
+    public static Long currentQueueWaitMs() {
+        return CURRENT_WAIT_MS.get();
+    }
+
+    // 사용자가 가진 Role 중 가중치가 가장 높은 등급을 쓴다. 설정에 없는 Role만 가진 경우 기본 등급
+    private TierQueue resolveQueue(Collection<String> roleNames) {
+        TierQueue selected = defaultQueue;
+        for (String roleName : roleNames) {
+            TierQueue candidate = queues.get(roleName);
+            if (candidate != null && candidate.weight > selected.weight) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    private long awaitTurn(TierQueue queue) {
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (running < maxConcurrency && allQueuesEmpty()) {
+                running++;
+                recordWait(queue, 0);
+                return 0;
+            }
+            if (queue.waiters.size() >= maxDepth) {
+                meterRegistry.counter(METRIC_PREFIX + ".rejected", "tier", queue.tier).increment();
+                throw new TemplateRateLimitException(
+                        TemplateErrorCode.TOO_MANY_GENERATION_REQUESTS,
+                        Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMs))
+                );
+            }
+            waiter = queue.enqueue(virtualTime);
+        } finally {
+            lock.unlock();
+        }
+
+        boolean dispatched;
+        try {
+            dispatched = waiter.latch.await(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!withdraw(waiter)) {
+                release();
+            }
+            throw new TemplateRateLimitException(TemplateErrorCode.TOO_MANY_GENERATION_REQUESTS, 1);
+        }
+
+        if (!dispatched && withdraw(waiter)) {
+            meterRegistry.counter(METRIC_PREFIX + ".timeout", "tier", queue.tier).increment();
+            log.warn("Generation job waited over {}ms in tier {}", maxWaitMs, queue.tier);
+            throw new TemplateRateLimitException(
+                    TemplateErrorCode.TOO_MANY_GENERATION_REQUESTS,
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(agingMs))
+            );
+        }
+
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waiter.enqueuedAt);
+        recordWait(queue, waitMs);
+        return waitMs;
+    }
+
+    // 대기를 포기한다. 아직 큐에 있었으면 빼고 true, 타임아웃과 배정이 겹쳐 이미 차례를 받았으면 false
+    private boolean withdraw(Waiter waiter) {
+        lock.lock();
+        try {
+            if (waiter.dispatched) {
+                return false;
+            }
+            waiter.queue.remove(waiter);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+            while (running < maxConcurrency) {
+                Waiter next = pickNext();
+                if (next == null) {
+                    break;
+                }
+                next.queue.remove(next);
+                next.dispatched = true;
+                running++;
+                virtualTime = Math.max(virtualTime, next.startTag);
+                next.latch.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 각 등급 큐의 맨 앞 작업끼리 (finish tag - 대기시간/aging) 이 가장 작은 작업을 고른다
+    private Waiter pickNext() {
+        long now = System.nanoTime();
+        Waiter best = null;
+        double bestKey = Double.MAX_VALUE;
+        for (TierQueue queue : queues.values()) {
+            Waiter head = queue.waiters.peekFirst();
+            if (head == null) {
+                continue;
+            }
+            double agedKey = head.finishTag - (double) TimeUnit.NANOSECONDS.toMillis(now - head.enqueuedAt) / agingMs;
+            if (agedKey < bestKey) {
+                bestKey = agedKey;
+                best = head;
+            }
+        }
+        return best;
+    }
+
+    private boolean allQueuesEmpty() {
+        for (TierQueue queue : queues.values()) {
+            if (!queue.waiters.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void recordWait(TierQueue queue, long waitMs) {
+        Timer.builder(METRIC_PREFIX + ".wait")
+                .tag("tier", queue.tier)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(waitMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 아래 상태는 모두 lock 안에서만 바꾼다 (depth는 게이지 조회용)
+    private static final class TierQueue {
+        private final String tier;
+        private final int weight;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private double lastFinishTag;
+        private volatile int depth;
+
+        TierQueue(String tier, int weight) {
+            this.tier = tier;
+            this.weight = weight;
+        }
+
+        Waiter enqueue(double virtualTime) {
+            double startTag = Math.max(virtualTime, lastFinishTag);
+            lastFinishTag = startTag + 1.0 / weight;
+            Waiter waiter = new Waiter(this, startTag, lastFinishTag);
+            waiters.addLast(waiter);
+            depth = waiters.size();
+            return waiter;
+        }
+
+        void remove(Waiter waiter) {
+            waiters.remove(waiter);
+            depth = waiters.size();
+        }
+    }
+
+    private static final class Waiter {
+        private final TierQueue queue;
+        private final double startTag;
+        private final double finishTag;
+        private final long enqueuedAt = System.nanoTime();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private boolean dispatched;
+
+        Waiter(TierQueue queue, double startTag, double finishTag) {
+            this.queue = queue;
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateSearchCondition;
+import com.example.final_projects.dto.template.TemplateSearchHits;
+import com.example.final_projects.entity.Industry;
+import com.example.final_projects.entity.Purpose;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.support.NgramTokenizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 프로세스 내 ngram 역색인. MySQL FULLTEXT가 없는 H2 테스트/로컬 환경에서 같은 검색 의미를 흉내낸다.
+ * - 색인: 제목+본문을 NgramTokenizer(2-gram)로 잘라 ngram마다 템플릿 id 목록(오름차순 long[])을 유지
+ * - 검색: 검색어 ngram의 목록을 짧은 것부터 교집합 → 본문에 단어가 실제로 연속해서 있는지 확인 → 필터 적용
+ * - 정렬: 제목에 들어간 단어 수(관련도) 내림차순, 같으면 id 내림차순
+ * 호출 즉시 반영하고 롤백은 되돌리지 않는다(롤백된 id는 검색 후 DB 조회에서 빠진다).
+ * 색인은 재기동 시 비어 있으므로 운영에서는 fulltext 구현을 쓴다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "template.search", name = "engine", havingValue = "in-memory")
+public class InMemoryTemplateSearchEngine implements TemplateSearchEngine {
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public TemplateSearchHits search(TemplateSearchCondition condition, int offset, int limit) {
+        List<String> words = NgramTokenizer.words(condition.keyword());
+        if (words.isEmpty()) {
+            return TemplateSearchHits.empty();
+        }
+
+        List<Slice> lists = new ArrayList<>();
+        for (String ngram : NgramTokenizer.ngrams(condition.keyword())) {
+            Postings list = postings.get(ngram);
+            if (list == null) {
+                return TemplateSearchHits.empty();
+            }
+            lists.add(list.snapshot());
+        }
+        lists.sort(Comparator.comparingInt(Slice::size));
+
+        List<ScoredId> matches = new ArrayList<>();
+        Slice shortest = lists.get(0);
+        for (int i = 0; i < shortest.size(); i++) {
+            long candidate = shortest.ids()[i];
+            if (!containsAll(lists, candidate)) {
+                continue;
+            }
+            Document document = documents.get(candidate);
+            if (document != null && document.matches(condition, words)) {
+                matches.add(new ScoredId(candidate, document.titleScore(words)));
+            }
+        }
+
+        List<Long> page = matches.stream()
+                .sorted(Comparator.comparingInt(ScoredId::score).reversed()
+                        .thenComparing(Comparator.comparingLong(ScoredId::id).reversed()))
+                .skip(offset)
+                .limit(limit)
+                .map(ScoredId::id)
+                .toList();
+        return new TemplateSearchHits(page, matches.size());
+    }
+
+    @Override
+    public void index(Template template) {
+        put(template.getId(), Document.from(template));
+    }
+
+    @Override
+    public void updateStatus(Collection<Long> templateIds, TemplateStatus status) {
+        templateIds.forEach(id -> documents.computeIfPresent(id, (key, document) -> document.withStatus(status)));
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    // 이전 버전에서 빠진 ngram의 목록에는 id가 남지만, 검색 시 본문 확인 단계에서 걸러진다
+    private void put(Long templateId, Document document) {
+        Document previous = documents.put(templateId, document);
+        Set<String> previousNgrams = previous == null ? Set.of() : NgramTokenizer.ngrams(previous.text());
+        for (String ngram : NgramTokenizer.ngrams(document.text())) {
+            if (!previousNgrams.contains(ngram)) {
+                postings.computeIfAbsent(ngram, key -> new Postings()).add(templateId);
+            }
+        }
+    }
+
+    private static boolean containsAll(List<Slice> lists, long candidate) {
+        for (int i = 1; i < lists.size(); i++) {
+            Slice list = lists.get(i);
+            if (Arrays.binarySearch(list.ids(), 0, list.size(), candidate) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record ScoredId(long id, int score) {
+    }
+
+    private record Slice(long[] ids, int size) {
+    }
+
+    private record Document(
+            Long userId,
+            TemplateStatus status,
+            String categoryId,
+            Set<Long> industryIds,
+            Set<Long> purposeIds,
+            String title,
+            String text
+    ) {
+        static Document from(Template template) {
+            String title = NgramTokenizer.normalize(template.getTitle());
+            String content = NgramTokenizer.normalize(template.getContent());
+            return new Document(
+                    template.getUserId(),
+                    template.getStatus(),
+                    template.getCategoryId(),
+                    template.getIndustries().stream().map(Industry::getId).collect(Collectors.toUnmodifiableSet()),
+                    template.getPurposes().stream().map(Purpose::getId).collect(Collectors.toUnmodifiableSet()),
+                    title,
+                    title + "\n" + content
+            );
+        }
+
+        Document withStatus(TemplateStatus newStatus) {
+            return new Document(userId, newStatus, categoryId, industryIds, purposeIds, title, text);
+        }
+
+        boolean matches(TemplateSearchCondition condition, List<String> words) {
+            if (!Objects.equals(userId, condition.userId())) {
+                return false;
+            }
+            if (condition.status() != null ? status != condition.status() : status == TemplateStatus.DELETED) {
+                return false;
+            }
+            if (condition.categoryId() != null && !condition.categoryId().equals(categoryId)) {
+                return false;
+            }
+            if (condition.industryId() != null && !industryIds.contains(condition.industryId())) {
+                return false;
+            }
+            if (condition.purposeId() != null && !purposeIds.contains(condition.purposeId())) {
+                return false;
+            }
+            return words.stream().allMatch(text::contains);
+        }
+
+        int titleScore(List<String> words) {
+            return (int) words.stream().filter(title::contains).count();
+        }
+    }
+
+    /**
+     * 한 ngram의 템플릿 id 목록. 대부분 id가 증가하는 순서로 들어오므로 뒤에 붙이고,
+     * 순서가 어긋난 경우만 새 배열로 복사해 끼워 넣는다. 내보낸 구간 [0, size)는 제자리에서 바뀌지 않으므로
+     * snapshot은 복사 없이 (배열, 길이)만 넘긴다.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                int insertAt = -position - 1;
+                long[] copy = new long[Math.max(ids.length, size + 1)];
+                System.arraycopy(ids, 0, copy, 0, insertAt);
+                copy[insertAt] = id;
+                System.arraycopy(ids, insertAt, copy, insertAt + 1, size - insertAt);
+                ids = copy;
+                size++;
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized Slice snapshot() {
+            return new Slice(ids, size);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.PageResponse;
+import com.example.final_projects.dto.template.PublicTemplateResponse;
+import com.example.final_projects.dto.template.TemplateChange;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.dto.template.TemplateStatusEvent;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.repository.TemplateRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 공개 갤러리(공개 + APPROVED 템플릿)의 메모리 스냅샷.
+ * 요청은 스냅샷만 읽고 DB/조인 테이블을 건드리지 않는다. 스냅샷은 불변이며 변경분이 있을 때만 통째로 교체한다.
+ * - 기동 시 전체 적재
+ * - updated_at 워터마크 이후 바뀐 템플릿을 주기적으로 반영 (외부에서 승인 상태를 바꾸는 경우까지 포함)
+ * - 같은 프로세스에 전달되는 TemplateStatusEvent는 즉시 반영
+ * ETag/Last-Modified는 내용(템플릿 id + updated_at)에서 계산하므로 인스턴스가 여러 대여도 같은 데이터면 같은 값이 나온다.
+ */
+@Slf4j
+@Service
+public class PublicTemplateGallery {
+
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final TemplateRepository templateRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile Snapshot snapshot = Snapshot.of(Map.of(), INITIAL_WATERMARK);
+    private LocalDateTime watermark;
+
+    public PublicTemplateGallery(
+            TemplateRepository templateRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.templateRepository = templateRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("template.gallery.size", this, gallery -> gallery.snapshot.size())
+                .description("공개 갤러리 스냅샷의 템플릿 수")
+                .register(meterRegistry);
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<TemplateChange> visible = templateRepository.findGalleryVisible();
+        Map<Long, PublicTemplateResponse> items = load(visible.stream().map(TemplateChange::id).toList());
+        LocalDateTime lastModified = maxUpdatedAt(visible, INITIAL_WATERMARK);
+        snapshot = Snapshot.of(items, lastModified);
+        watermark = lastModified;
+        log.info("Public template gallery loaded: {} templates", items.size());
+    }
+
+    @Scheduled(fixedDelayString = "${template.gallery.refresh-interval-ms:30000}")
+    public synchronized void refreshChanged() {
+        if (watermark == null) {
+            return;
+        }
+        // 같은 시각에 바뀐 행을 놓치지 않도록 워터마크와 같은 시각도 다시 읽는다 (반영은 멱등)
+        apply(templateRepository.findChangesSince(watermark));
+    }
+
+    @EventListener
+    public void onStatusChanged(TemplateStatusEvent event) {
+        refresh(List.of(event.templateId()));
+    }
+
+    public synchronized void refresh(Collection<Long> templateIds) {
+        if (watermark == null || templateIds.isEmpty()) {
+            return;
+        }
+        apply(templateRepository.findChangesByIds(templateIds));
+    }
+
+    private void apply(List<TemplateChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Long, PublicTemplateResponse> loaded = load(changes.stream()
+                .filter(TemplateChange::isGalleryVisible)
+                .map(TemplateChange::id)
+                .toList());
+
+        Map<Long, PublicTemplateResponse> items = new HashMap<>(snapshot.byId);
+        boolean modified = false;
+        for (TemplateChange change : changes) {
+            PublicTemplateResponse item = loaded.get(change.id());
+            PublicTemplateResponse previous = item != null ? items.put(change.id(), item) : items.remove(change.id());
+            if (item == null ? previous != null : previous == null || fingerprint(previous) != fingerprint(item)) {
+                modified = true;
+            }
+        }
+
+        LocalDateTime changedAt = maxUpdatedAt(changes, watermark);
+        watermark = changedAt;
+        if (modified) {
+            snapshot = Snapshot.of(items, changedAt.isAfter(snapshot.lastModifiedAt) ? changedAt : snapshot.lastModifiedAt);
+        }
+    }
+
+    // 공개 + APPROVED인 것만 조인 컬렉션까지 읽어 응답 형태로 만들어 둔다. 요청 경로가 아니므로 지연 로딩을 그대로 쓴다
+    private Map<Long, PublicTemplateResponse> load(List<Long> templateIds) {
+        Map<Long, PublicTemplateResponse> items = new HashMap<>();
+        for (int from = 0; from < templateIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = templateIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, templateIds.size()));
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (Template template : templateRepository.findAllById(chunk)) {
+                    if (Boolean.TRUE.equals(template.getIsPublic()) && template.getStatus() == TemplateStatus.APPROVED) {
+                        items.put(template.getId(), PublicTemplateResponse.from(template));
+                    }
+                }
+            });
+        }
+        return items;
+    }
+
+    private static LocalDateTime maxUpdatedAt(List<TemplateChange> changes, LocalDateTime floor) {
+        return changes.stream()
+                .map(TemplateChange::updatedAt)
+                .filter(updatedAt -> updatedAt != null && updatedAt.isAfter(floor))
+                .max(Comparator.naturalOrder())
+                .orElse(floor);
+    }
+
+    private static long fingerprint(PublicTemplateResponse item) {
+        long updatedAt = item.updatedAt() == null ? 0 : item.updatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long mixed = item.id() * 0x9E3779B97F4A7C15L + updatedAt;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * 한 시점의 갤러리. 목록은 최신(id 내림차순) 순이며, 카테고리/업종/목적별 목록을 미리 나눠 둔다.
+     */
+    public static final class Snapshot {
+
+        private final Map<Long, PublicTemplateResponse> byId;
+        private final List<PublicTemplateResponse> newestFirst;
+        private final Map<String, List<PublicTemplateResponse>> byCategory;
+        private final Map<Long, List<PublicTemplateResponse>> byIndustry;
+        private final Map<Long, List<PublicTemplateResponse>> byPurpose;
+        private final LocalDateTime lastModifiedAt;
+        private final String etag;
+
+        private Snapshot(Map<Long, PublicTemplateResponse> byId, LocalDateTime lastModifiedAt) {
+            this.byId = byId;
+            this.newestFirst = byId.values().stream()
+                    .sorted(Comparator.comparing(PublicTemplateResponse::id).reversed())
+                    .toList();
+            Map<String, List<PublicTemplateResponse>> byCategory = new LinkedHashMap<>();
+            Map<Long, List<PublicTemplateResponse>> byIndustry = new LinkedHashMap<>();
+            Map<Long, List<PublicTemplateResponse>> byPurpose = new LinkedHashMap<>();
+            long fingerprint = byId.size();
+            for (PublicTemplateResponse item : newestFirst) {
+                byCategory.computeIfAbsent(item.categoryId(), key -> new ArrayList<>()).add(item);
+                item.industries().forEach(industry -> byIndustry.computeIfAbsent(industry.getId(), key -> new ArrayList<>()).add(item));
+                item.purposes().forEach(purpose -> byPurpose.computeIfAbsent(purpose.getId(), key -> new ArrayList<>()).add(item));
+                fingerprint += fingerprint(item);
+            }
+            this.byCategory = byCategory;
+            this.byIndustry = byIndustry;
+            this.byPurpose = byPurpose;
+            this.lastModifiedAt = lastModifiedAt;
+            this.etag = "\"g" + Long.toHexString(fingerprint) + "\"";
+        }
+
+        static Snapshot of(Map<Long, PublicTemplateResponse> items, LocalDateTime lastModifiedAt) {
+            return new Snapshot(Map.copyOf(items), lastModifiedAt);
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        public Instant lastModified() {
+            return lastModifiedAt.atZone(ZoneId.systemDefault()).toInstant();
+        }
+
+        public int size() {
+            return byId.size();
+        }
+
+        public List<PublicTemplateResponse> items() {
+            return newestFirst;
+        }
+
+        public Optional<PublicTemplateResponse> findById(Long templateId) {
+            return Optional.ofNullable(byId.get(templateId));
+        }
+
+        public String etagOf(PublicTemplateResponse item) {
+            return "\"t" + Long.toHexString(fingerprint(item)) + "\"";
+        }
+
+        public PageResponse<PublicTemplateResponse> find(String categoryId, Long industryId, Long purposeId, int page, int size) {
+            // 걸린 필터 중 가장 짧은 목록에서 출발해 나머지 조건으로 거른다
+            List<PublicTemplateResponse> candidates = newestFirst;
+            Predicate<PublicTemplateResponse> filter = item -> true;
+            if (categoryId != null) {
+                candidates = shorter(candidates, byCategory.getOrDefault(categoryId, List.of()));
+                filter = filter.and(item -> categoryId.equals(item.categoryId()));
+            }
+            if (industryId != null) {
+                candidates = shorter(candidates, byIndustry.getOrDefault(industryId, List.of()));
+                filter = filter.and(item -> item.industries().stream().map(TemplateResponse.IndustryResponse::getId).anyMatch(industryId::equals));
+            }
+            if (purposeId != null) {
+                candidates = shorter(candidates, byPurpose.getOrDefault(purposeId, List.of()));
+                filter = filter.and(item -> item.purposes().stream().map(TemplateResponse.PurposeResponse::getId).anyMatch(purposeId::equals));
+            }
+
+            List<PublicTemplateResponse> matched = candidates.stream().filter(filter).toList();
+            int from = Math.min((page - 1) * size, matched.size());
+            List<PublicTemplateResponse> items = matched.subList(from, Math.min(from + size, matched.size()));
+            return new PageResponse<>(items, page, size, matched.size());
+        }
+
+        private static List<PublicTemplateResponse> shorter(List<PublicTemplateResponse> a, List<PublicTemplateResponse> b) {
+            return a.size() <= b.size() ? a : b;
+        }
+    }
+}
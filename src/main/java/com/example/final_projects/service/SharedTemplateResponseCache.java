@@ -0,0 +1,18 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.CachedTemplateResponse;
+
+import java.util.Optional;
+
+/**
+ * TemplateResponseCache의 2단계(인스턴스 간 공유) 캐시. Redis 등 외부 캐시를 붙일 때 이 인터페이스의 빈을 등록한다.
+ * 빈이 없으면 1단계(힙) 캐시만 쓴다. 구현은 실패 시 예외 대신 빈 값을 돌려 DB 조회로 넘어가게 해야 한다.
+ */
+public interface SharedTemplateResponseCache {
+
+    Optional<CachedTemplateResponse> get(Long templateId);
+
+    void put(Long templateId, CachedTemplateResponse response);
+
+    void evict(Long templateId);
+}
@@ -0,0 +1,180 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.exception.AiException;
+import com.example.final_projects.exception.TemplateRateLimitException;
+import com.example.final_projects.exception.code.AiErrorCode;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import com.example.final_projects.support.AimdConcurrencyLimiter;
+import com.example.final_projects.support.GcraRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 템플릿 생성(AI 호출) 앞단의 진입 제어.
+ * 1) 사용자별 토큰 버킷: 분당 user-rate-per-minute 개, 순간 user-burst 개까지
+ * 2) 전역 동시 처리 한도: AI 응답 지연에 따라 AIMD로 조절
+ * 어느 쪽이든 넘으면 429 + Retry-After(TOO_MANY_GENERATION_REQUESTS)로 즉시 거절해 스레드와 AI 슬롯을 붙잡지 않는다.
+ * 사용자별 한도는 admit 시점에, 전역 한도는 생성 큐에서 차례를 받은 뒤 Permit.dispatch 시점에 확인한다.
+ * 큐 대기 시간이 지연 시간과 동시 처리 수에 섞이면 대기 자체가 한도를 줄이기 때문이다.
+ */
+@Slf4j
+@Component
+public class TemplateAdmissionService {
+
+    private static final String METRIC_NAME = "template.admission";
+    private static final Set<AiErrorCode> OVERLOAD_ERROR_CODES = Set.of(
+            AiErrorCode.SERVICE_UNAVAILABLE,
+            AiErrorCode.PROCESSING_TIMEOUT,
+            AiErrorCode.API_QUOTA_EXCEEDED
+    );
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
+
+    private final boolean enabled;
+    private final GcraRateLimiter<Long> userRateLimiter;
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public TemplateAdmissionService(
+            MeterRegistry meterRegistry,
+            @Value("${template.admission.enabled:true}") boolean enabled,
+            @Value("${template.admission.user-rate-per-minute:10}") int userRatePerMinute,
+            @Value("${template.admission.user-burst:5}") int userBurst,
+            @Value("${template.admission.initial-limit:20}") int initialLimit,
+            @Value("${template.admission.min-limit:2}") int minLimit,
+            @Value("${template.admission.max-limit:200}") int maxLimit,
+            @Value("${template.admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${template.admission.latency-tolerance:2.0}") double latencyTolerance
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.userRateLimiter = new GcraRateLimiter<>(userRatePerMinute, userBurst);
+        this.concurrencyLimiter = new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance);
+
+        Gauge.builder(METRIC_NAME + ".limit", concurrencyLimiter, AimdConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".in_flight", concurrencyLimiter, AimdConcurrencyLimiter::getInFlight).register(meterRegistry);
+    }
+
+    /**
+     * @param generation 받은 Permit으로 실제 작업 직전에 dispatch()를 호출해야 한다
+     */
+    public <T> T execute(Long userId, Function<Permit, T> generation) {
+        Permit permit = admit(userId);
+        try {
+            T result = generation.apply(permit);
+            permit.success();
+            return result;
+        } catch (RuntimeException e) {
+            permit.failure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 처리(SSE)처럼 허가를 받은 스레드와 작업 스레드가 다를 때 사용한다. 작업이 끝나면 반드시 success/failure 중 하나를 호출해야 한다.
+     */
+    public Permit admit(Long userId) {
+        if (!enabled) {
+            return Permit.NOOP;
+        }
+
+        long waitNanos = userRateLimiter.tryAcquire(userId);
+        if (waitNanos > 0) {
+            count("user_rate_limited");
+            throw new TemplateRateLimitException(TemplateErrorCode.TOO_MANY_GENERATION_REQUESTS, toRetryAfterSeconds(waitNanos));
+        }
+
+        count("admitted");
+        return new Permit(this, userId);
+    }
+
+    private int acquireConcurrency(Long userId) {
+        int inFlightAtAcquire = concurrencyLimiter.tryAcquire();
+        if (inFlightAtAcquire < 0) {
+            count("concurrency_limited");
+            log.warn("Template generation concurrency limit reached (limit={}). Rejecting user {}", concurrencyLimiter.getLimit(), userId);
+            // 지금 처리 중인 요청들이 평균적으로 끝날 즈음 다시 시도하도록 안내한다
+            throw new TemplateRateLimitException(
+                    TemplateErrorCode.TOO_MANY_GENERATION_REQUESTS,
+                    toRetryAfterSeconds(concurrencyLimiter.getLatencyEwmaNanos())
+            );
+        }
+        return inFlightAtAcquire;
+    }
+
+    @Scheduled(fixedDelayString = "${template.admission.evict-interval-ms:60000}")
+    public void evictIdleUsers() {
+        userRateLimiter.evictIdle();
+    }
+
+    private long toRetryAfterSeconds(long nanos) {
+        long seconds = (TimeUnit.NANOSECONDS.toMillis(nanos) + 999) / 1000;
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, seconds));
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    }
+
+    public static class Permit {
+        private static final Permit NOOP = new Permit(null, null);
+
+        private final TemplateAdmissionService owner;
+        private final Long userId;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private AimdConcurrencyLimiter limiter;
+        private int inFlightAtAcquire;
+        private long dispatchedAt;
+
+        private Permit(TemplateAdmissionService owner, Long userId) {
+            this.owner = owner;
+            this.userId = userId;
+        }
+
+        /**
+         * 생성 큐에서 차례를 받은 작업 스레드에서 호출한다. 전역 한도를 넘으면 429로 거절하고, 지연 시간은 여기서부터 잰다.
+         */
+        public void dispatch() {
+            if (owner == null || limiter != null) {
+                return;
+            }
+            inFlightAtAcquire = owner.acquireConcurrency(userId);
+            dispatchedAt = System.nanoTime();
+            limiter = owner.concurrencyLimiter;
+        }
+
+        public void success() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.onSuccess(inFlightAtAcquire, System.nanoTime() - dispatchedAt);
+            }
+        }
+
+        // dispatch 전(큐 대기 중 거절 등)에 끝난 작업은 전역 한도를 잡지 않았으므로 반영할 것이 없다
+        public void failure(Throwable error) {
+            if (limiter == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            if (isOverload(error)) {
+                limiter.onDropped();
+            } else {
+                limiter.onIgnored();
+            }
+        }
+
+        private static boolean isOverload(Throwable error) {
+            if (error instanceof AiException aiException) {
+                return aiException.getErrorCode() instanceof AiErrorCode code && OVERLOAD_ERROR_CODES.contains(code);
+            }
+            return error instanceof ResourceAccessException;
+        }
+    }
+}
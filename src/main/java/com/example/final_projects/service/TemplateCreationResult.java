@@ -3,8 +3,10 @@ package com.example.final_projects.service;
 import com.example.final_projects.dto.template.AiTemplateResponse;
 import com.example.final_projects.dto.template.TemplateResponse;
 
+import java.time.LocalDateTime;
+
 public sealed interface TemplateCreationResult {
     record Complete(TemplateResponse template) implements TemplateCreationResult {}
 
-    record Incomplete(AiTemplateResponse partialTemplate) implements TemplateCreationResult {}
+    record Incomplete(Long requestId, AiTemplateResponse partialTemplate, LocalDateTime expiresAt) implements TemplateCreationResult {}
 }
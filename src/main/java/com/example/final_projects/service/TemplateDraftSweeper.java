@@ -0,0 +1,27 @@
+package com.example.final_projects.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이어서 생성되지 않은 채 만료된 부분 생성 결과(202 초안)를 EXPIRED로 정리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TemplateDraftSweeper {
+
+    private final UserTemplateRequestService userTemplateRequestService;
+
+    @Scheduled(fixedDelayString = "${template.draft.sweep-interval-ms:600000}")
+    public void expireAbandonedDrafts() {
+        int expired = userTemplateRequestService.expireAbandonedDrafts(LocalDateTime.now());
+        if (expired > 0) {
+            log.info("Expired {} abandoned template drafts", expired);
+        }
+    }
+}
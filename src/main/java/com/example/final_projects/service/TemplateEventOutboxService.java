@@ -0,0 +1,60 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateEventOutbox;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.repository.TemplateEventOutboxRepository;
+import com.example.final_projects.repository.TemplateStatusJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TemplateEventOutboxService {
+
+    public static final String TEMPLATE_STATUS_CHANGED = "TEMPLATE_STATUS_CHANGED";
+
+    private final TemplateEventOutboxRepository templateEventOutboxRepository;
+    private final TemplateStatusJdbcRepository templateStatusJdbcRepository;
+
+    /**
+     * 상태 변경과 같은 트랜잭션에서만 호출할 수 있다 (MANDATORY). 상태 변경이 롤백되면 이벤트도 함께 사라진다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendStatusChanged(Template template) {
+        templateEventOutboxRepository.save(
+                TemplateEventOutbox.builder()
+                        .templateId(template.getId())
+                        .userId(template.getUserId())
+                        .eventType(TEMPLATE_STATUS_CHANGED)
+                        .status(template.getStatus())
+                        .createdAt(LocalDateTime.now())
+                        .build()
+        );
+    }
+
+    // 일괄 전이용. 같은 사용자의 여러 템플릿 이벤트를 JDBC batch 한 번으로 기록한다
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendStatusChanged(Long userId, List<Long> templateIds, TemplateStatus status) {
+        if (templateIds.isEmpty()) {
+            return;
+        }
+        templateStatusJdbcRepository.batchInsertOutboxEvents(userId, templateIds, TEMPLATE_STATUS_CHANGED, status, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void markPublished(Collection<Long> ids) {
+        templateEventOutboxRepository.markPublished(ids, LocalDateTime.now());
+    }
+
+    @Transactional
+    public int deletePublishedBefore(LocalDateTime before) {
+        return templateEventOutboxRepository.deletePublishedBefore(before);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateStatusEvent;
+
+import java.util.List;
+
+/**
+ * outbox relay가 이벤트를 넘기는 대상. template.outbox.sink 설정으로 구현체를 고른다.
+ * 예외를 던지면 해당 배치는 발행되지 않은 것으로 보고 다음 주기에 다시 보낸다.
+ */
+public interface TemplateEventSink {
+    void publish(List<TemplateStatusEvent> events) throws Exception;
+}
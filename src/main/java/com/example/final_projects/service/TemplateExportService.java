@@ -0,0 +1,182 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateExportFormat;
+import com.example.final_projects.dto.template.TemplateExportRecord;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import com.example.final_projects.repository.TemplateExportJdbcRepository;
+import com.example.final_projects.support.JsonCodecs;
+import com.example.final_projects.support.StreamingPermit;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 사용자 템플릿 전체 내보내기.
+ * DB 커서에서 읽은 템플릿을 한 건씩 바로 응답 스트림에 써서 건수와 관계없이 메모리 사용량이 일정하다.
+ * 내보내는 동안 DB 커넥션 하나를 계속 잡고 있으므로 동시 내보내기 수를 max-concurrent로 제한한다.
+ */
+@Slf4j
+@Service
+public class TemplateExportService {
+
+    private static final int GZIP_BUFFER_BYTES = 8192;
+    private static final String CSV_HEADER = "id,status,type,categoryId,title,content,imageUrl,isPublic," +
+            "createdAt,updatedAt,lastStatusAt,industries,purposes,buttons,variables";
+    // 엑셀이 UTF-8 CSV의 한글을 깨뜨리지 않도록 앞에 BOM을 붙인다
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final TemplateExportJdbcRepository templateExportJdbcRepository;
+    private final JsonCodecs jsonCodecs;
+    private final Semaphore exportPermits;
+
+    public TemplateExportService(
+            TemplateExportJdbcRepository templateExportJdbcRepository,
+            JsonCodecs jsonCodecs,
+            @Value("${template.export.max-concurrent:2}") int maxConcurrent
+    ) {
+        this.templateExportJdbcRepository = templateExportJdbcRepository;
+        this.jsonCodecs = jsonCodecs;
+        this.exportPermits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * 자리가 없으면 응답을 시작하기 전에 429로 거절한다. 자리는 본문이 끝나거나, 본문이 실행되지 못한 채 요청이 끝나면 반납한다.
+     *
+     * @param status null이면 DELETED를 뺀 모든 상태
+     */
+    public StreamingResponseBody export(Long userId, TemplateStatus status, TemplateExportFormat format, boolean gzip) {
+        StreamingPermit permit = StreamingPermit.tryAcquire(exportPermits);
+        if (permit == null) {
+            throw new TemplateException(TemplateErrorCode.TOO_MANY_EXPORT_REQUESTS);
+        }
+
+        return permit.wrap(out -> {
+            long startedAt = System.nanoTime();
+            try {
+                long count = gzip ? writeGzip(out, userId, status, format) : write(out, userId, status, format);
+                log.info("Exported {} templates for user {} as {}{} in {} ms", count, userId, format,
+                        gzip ? "+gzip" : "", (System.nanoTime() - startedAt) / 1_000_000);
+            } catch (IOException e) {
+                // 대부분 다운로드 중 클라이언트가 끊은 경우다. 응답은 이미 시작되어 상태 코드를 바꿀 수 없다
+                log.warn("Template export for user {} aborted: {}", userId, e.getMessage());
+                throw e;
+            }
+        });
+    }
+
+    private long writeGzip(OutputStream out, Long userId, TemplateStatus status, TemplateExportFormat format) throws IOException {
+        try (GZIPOutputStream gzipOut = new ResponseGzipOutputStream(out)) {
+            return write(gzipOut, userId, status, format);
+        }
+    }
+
+    private long write(OutputStream out, Long userId, TemplateStatus status, TemplateExportFormat format) throws IOException {
+        return switch (format) {
+            case NDJSON -> writeNdjson(out, userId, status);
+            case CSV -> writeCsv(out, userId, status);
+        };
+    }
+
+    private long writeNdjson(OutputStream out, Long userId, TemplateStatus status) throws IOException {
+        try (JsonGenerator generator = jsonCodecs.createLineGenerator(out)) {
+            return templateExportJdbcRepository.streamByUser(userId, status,
+                    template -> jsonCodecs.writeTemplateLine(generator, template));
+        }
+    }
+
+    private long writeCsv(OutputStream out, Long userId, TemplateStatus status) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(UTF8_BOM);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long count = templateExportJdbcRepository.streamByUser(userId, status,
+                template -> writeCsvRow(writer, template));
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, TemplateExportRecord template) throws IOException {
+        writer.write(String.valueOf(template.getId()));
+        writeCsvCell(writer, template.getStatus());
+        writeCsvCell(writer, template.getType());
+        writeCsvCell(writer, template.getCategoryId());
+        writeCsvCell(writer, template.getTitle());
+        writeCsvCell(writer, template.getContent());
+        writeCsvCell(writer, template.getImageUrl());
+        writeCsvCell(writer, template.getIsPublic() == null ? null : template.getIsPublic().toString());
+        writeCsvCell(writer, format(template.getCreatedAt()));
+        writeCsvCell(writer, format(template.getUpdatedAt()));
+        writeCsvCell(writer, format(template.getLastStatusAt()));
+        writeCsvCell(writer, joinNames(template.getIndustries(), TemplateResponse.IndustryResponse::getName));
+        writeCsvCell(writer, joinNames(template.getPurposes(), TemplateResponse.PurposeResponse::getName));
+        // 버튼/변수는 필드가 여럿이라 셀 하나에 JSON 배열로 넣는다
+        writeCsvCell(writer, jsonCodecs.writeButtons(template.getButtons()));
+        writeCsvCell(writer, jsonCodecs.writeVariables(template.getVariables()));
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: 구분자/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다
+    private static void writeCsvCell(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // 스프레드시트가 수식으로 실행하지 않도록 수식 시작 문자 앞에 '를 붙인다
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+
+    private static <T> String joinNames(List<T> items, Function<T, String> name) {
+        return items.stream().map(name).collect(Collectors.joining("|"));
+    }
+
+    // 응답 스트림은 컨테이너가 닫으므로 close 시 gzip 트레일러만 쓰고 Deflater 네이티브 메모리를 바로 반납한다
+    private static final class ResponseGzipOutputStream extends GZIPOutputStream {
+
+        private ResponseGzipOutputStream(OutputStream out) throws IOException {
+            super(out, GZIP_BUFFER_BYTES);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                def.end();
+            }
+        }
+    }
+}
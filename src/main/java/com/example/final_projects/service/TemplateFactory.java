@@ -17,6 +17,8 @@ public class TemplateFactory {
     private final TemplateRepository templateRepository;
     private final IndustryRepository industryRepository;
     private final PurposeRepository purposeRepository;
+    private final TemplateSearchEngine templateSearchEngine;
+    private final TemplateSimilarityIndex templateSimilarityIndex;
 
     @Transactional
     public Template createFrom(Long userId, AiTemplateResponse aiResponse, UserTemplateRequest userRequest) {
@@ -38,7 +40,10 @@ public class TemplateFactory {
         template.addVariables(newVariables);
         associateIndustries(template, aiResponse);
         associatePurposes(template, aiResponse);
-        return templateRepository.save(template);
+        Template saved = templateRepository.save(template);
+        templateSearchEngine.index(saved);
+        templateSimilarityIndex.add(saved);
+        return saved;
     }
 
     private List<TemplateButton> mapButtonsFromDto(AiTemplateResponse aiResponse) {
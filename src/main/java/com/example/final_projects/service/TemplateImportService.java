@@ -0,0 +1,599 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateExportFormat;
+import com.example.final_projects.dto.template.TemplateImportEvent;
+import com.example.final_projects.dto.template.TemplateImportRecord;
+import com.example.final_projects.entity.Industry;
+import com.example.final_projects.entity.Purpose;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateButton;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.entity.TemplateType;
+import com.example.final_projects.entity.TemplateVariable;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import com.example.final_projects.repository.IndustryRepository;
+import com.example.final_projects.repository.PurposeRepository;
+import com.example.final_projects.repository.TemplateImportJdbcRepository;
+import com.example.final_projects.repository.TemplateStatusJdbcRepository;
+import com.example.final_projects.support.BoundedLineReader;
+import com.example.final_projects.support.CsvRecordReader;
+import com.example.final_projects.support.JsonCodecs;
+import com.example.final_projects.support.StreamingPermit;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 템플릿 일괄 가져오기 (NDJSON/CSV).
+ * - 파일은 레코드 단위로 읽고, 검증을 통과한 레코드만 chunk-size개씩 모아 청크마다 한 트랜잭션으로 넣는다
+ * - 검증 실패/저장 실패 레코드는 error 이벤트로, 청크 커밋마다 progress 이벤트로 바로 응답에 쓴다. 메모리에는 청크 하나만 남는다
+ * - 청크 저장이 실패하면 그 청크만 레코드별 트랜잭션으로 다시 넣어 실패한 레코드만 골라낸다
+ * 가져온 템플릿은 원래 상태와 관계없이 CREATED로 들어가며, 생성과 같이 이력/outbox 이벤트를 남긴다.
+ */
+@Slf4j
+@Service
+public class TemplateImportService {
+
+    private static final int TITLE_MAX = 255;
+    private static final int URL_MAX = 500;
+    private static final int NAME_MAX = 100;
+    private static final int INPUT_TYPE_MAX = 50;
+    private static final int LINK_TYPE_MAX = 10;
+    private static final String CSV_LIST_SEPARATOR = "\\|";
+
+    private final TemplateImportJdbcRepository templateImportJdbcRepository;
+    private final TemplateStatusJdbcRepository templateStatusJdbcRepository;
+    private final TemplateEventOutboxService templateEventOutboxService;
+    private final IndustryRepository industryRepository;
+    private final PurposeRepository purposeRepository;
+    private final TemplateSearchEngine templateSearchEngine;
+    private final TemplateSimilarityIndex templateSimilarityIndex;
+    private final JsonCodecs jsonCodecs;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore importPermits;
+    private final int chunkSize;
+    private final int maxRecordChars;
+
+    public TemplateImportService(
+            TemplateImportJdbcRepository templateImportJdbcRepository,
+            TemplateStatusJdbcRepository templateStatusJdbcRepository,
+            TemplateEventOutboxService templateEventOutboxService,
+            IndustryRepository industryRepository,
+            PurposeRepository purposeRepository,
+            TemplateSearchEngine templateSearchEngine,
+            TemplateSimilarityIndex templateSimilarityIndex,
+            JsonCodecs jsonCodecs,
+            PlatformTransactionManager transactionManager,
+            @Value("${template.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${template.import.chunk-size:500}") int chunkSize,
+            @Value("${template.import.max-record-chars:1000000}") int maxRecordChars
+    ) {
+        this.templateImportJdbcRepository = templateImportJdbcRepository;
+        this.templateStatusJdbcRepository = templateStatusJdbcRepository;
+        this.templateEventOutboxService = templateEventOutboxService;
+        this.industryRepository = industryRepository;
+        this.purposeRepository = purposeRepository;
+        this.templateSearchEngine = templateSearchEngine;
+        this.templateSimilarityIndex = templateSimilarityIndex;
+        this.jsonCodecs = jsonCodecs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importPermits = new Semaphore(maxConcurrent);
+        this.chunkSize = chunkSize;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * 자리가 없으면 응답을 시작하기 전에 429로 거절한다. 본문은 TemplateImportEvent NDJSON이다.
+     */
+    public StreamingResponseBody importTemplates(Long userId, MultipartFile file, TemplateExportFormat format, boolean gzip) {
+        StreamingPermit permit = StreamingPermit.tryAcquire(importPermits);
+        if (permit == null) {
+            throw new TemplateException(TemplateErrorCode.TOO_MANY_IMPORT_REQUESTS);
+        }
+
+        // 자리는 본문이 끝나거나, 본문이 실행되지 못한 채 요청이 끝나면 반납한다
+        return permit.wrap(out -> {
+            try (InputStream in = gzip ? new GZIPInputStream(file.getInputStream()) : file.getInputStream()) {
+                importTemplates(userId, in, format, out);
+            }
+        });
+    }
+
+    void importTemplates(Long userId, InputStream in, TemplateExportFormat format, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (JsonGenerator generator = jsonCodecs.createLineGenerator(out)) {
+            ImportRun run = new ImportRun(userId, generator, loadReferenceData());
+            String abortReason = null;
+            try {
+                RecordSource source = format == TemplateExportFormat.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+                ParsedRecord parsed;
+                while ((parsed = source.next()) != null) {
+                    run.accept(parsed);
+                }
+                run.flushChunk();
+            } catch (MalformedFileException e) {
+                // 레코드 경계를 더 이상 알 수 없는 경우(닫히지 않은 따옴표, 헤더 누락 등). 그 앞까지 읽은 레코드는 넣는다
+                abortReason = e.getMessage();
+                run.flushChunk();
+            }
+            run.emit(TemplateImportEvent.summary(run.processed, run.imported, run.failed, abortReason));
+            log.info("Imported {}/{} templates for user {} in {} ms{}", run.imported, run.processed, userId,
+                    (System.nanoTime() - startedAt) / 1_000_000, abortReason == null ? "" : " (aborted: " + abortReason + ")");
+        } catch (IOException e) {
+            // 응답 쓰기 실패(클라이언트 끊김)도 여기로 온다. 이미 커밋한 청크는 남는다
+            log.warn("Template import for user {} aborted: {}", userId, e.getMessage());
+            throw e;
+        }
+    }
+
+    private ReferenceData loadReferenceData() {
+        List<Industry> industries = industryRepository.findAll();
+        List<Purpose> purposes = purposeRepository.findAll();
+        return new ReferenceData(
+                templateImportJdbcRepository.findCategoryIds(),
+                industries.stream().collect(Collectors.toMap(Industry::getId, Function.identity())),
+                byName(industries, Industry::getName),
+                purposes.stream().collect(Collectors.toMap(Purpose::getId, Function.identity())),
+                byName(purposes, Purpose::getName)
+        );
+    }
+
+    private static <T> Map<String, T> byName(List<T> items, Function<T, String> name) {
+        Map<String, T> byName = new HashMap<>();
+        for (T item : items) {
+            String key = name.apply(item);
+            if (key != null) {
+                byName.putIfAbsent(key, item);
+            }
+        }
+        return byName;
+    }
+
+    private record ReferenceData(
+            Set<String> categoryIds,
+            Map<Long, Industry> industriesById,
+            Map<String, Industry> industriesByName,
+            Map<Long, Purpose> purposesById,
+            Map<String, Purpose> purposesByName
+    ) {}
+
+    /**
+     * 파싱 결과. record가 null이면 field/error에 이유가 있다
+     */
+    private record ParsedRecord(long line, TemplateImportRecord record, String field, String error) {
+        static ParsedRecord ok(long line, TemplateImportRecord record) {
+            return new ParsedRecord(line, record, null, null);
+        }
+
+        static ParsedRecord invalid(long line, String field, String error) {
+            return new ParsedRecord(line, null, field, error);
+        }
+    }
+
+    private interface RecordSource {
+        ParsedRecord next() throws IOException;
+    }
+
+    private static final class MalformedFileException extends IOException {
+        private MalformedFileException(String message) {
+            super(message);
+        }
+    }
+
+    private final class NdjsonSource implements RecordSource {
+
+        private final BoundedLineReader reader;
+        private long line;
+
+        // 상한을 넘는 줄은 통째로 올리지 않고 건너뛴다. 줄 경계는 그대로라 다음 레코드부터 계속 읽는다
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = new BoundedLineReader(reader, maxRecordChars);
+        }
+
+        @Override
+        public ParsedRecord next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (reader.truncated()) {
+                    return ParsedRecord.invalid(line, null, "레코드가 " + maxRecordChars + "자를 넘습니다");
+                }
+                if (line == 1 && text.startsWith("\uFEFF")) {
+                    text = text.substring(1);
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    TemplateImportRecord record = jsonCodecs.readImportRecord(text);
+                    return record == null
+                            ? ParsedRecord.invalid(line, null, "JSON 객체가 아닙니다")
+                            : ParsedRecord.ok(line, record);
+                } catch (JsonProcessingException e) {
+                    return ParsedRecord.invalid(line, null, "JSON 형식 오류: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 첫 행은 헤더다. 내보내기 CSV와 같은 열 이름을 쓰고, 없는 열은 비어 있는 것으로 본다.
+     * industries/purposes는 |로 구분한 id 또는 이름, buttons/variables는 JSON 배열이다.
+     */
+    private final class CsvSource implements RecordSource {
+
+        private static final List<String> REQUIRED_COLUMNS = List.of("type", "categoryId", "title", "content");
+
+        private final CsvRecordReader reader;
+        private Map<String, Integer> columns;
+
+        private CsvSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader, maxRecordChars);
+        }
+
+        @Override
+        public ParsedRecord next() throws IOException {
+            List<String> fields;
+            try {
+                if (columns == null) {
+                    readHeader();
+                }
+                fields = reader.next();
+            } catch (CsvRecordReader.MalformedCsvException e) {
+                throw new MalformedFileException(e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+
+            long line = reader.recordLine();
+            try {
+                return ParsedRecord.ok(line, new TemplateImportRecord(
+                        cell(fields, "categoryId"),
+                        cell(fields, "title"),
+                        cell(fields, "content"),
+                        cell(fields, "imageUrl"),
+                        cell(fields, "type"),
+                        parseBoolean(cell(fields, "isPublic")),
+                        parseJson(cell(fields, "buttons"), "buttons", jsonCodecs::readImportButtons),
+                        parseJson(cell(fields, "variables"), "variables", jsonCodecs::readImportVariables),
+                        parseReferences(cell(fields, "industries")),
+                        parseReferences(cell(fields, "purposes"))
+                ));
+            } catch (InvalidCellException e) {
+                return ParsedRecord.invalid(line, e.field, e.getMessage());
+            }
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new MalformedFileException("CSV 헤더가 없습니다");
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim(), i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !columns.containsKey(name)).toList();
+            if (!missing.isEmpty()) {
+                throw new MalformedFileException("CSV 헤더에 필수 열이 없습니다: " + String.join(", ", missing));
+            }
+        }
+
+        private String cell(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            String value = fields.get(index);
+            // 내보내기에서 수식 방지용으로 붙인 '를 되돌린다
+            if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@\t\r".indexOf(value.charAt(1)) >= 0) {
+                return value.substring(1);
+            }
+            return value;
+        }
+
+        private Boolean parseBoolean(String value) {
+            return value == null ? null : Boolean.parseBoolean(value.trim());
+        }
+
+        private <T> List<T> parseJson(String value, String field, JsonListReader<T> reader) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return reader.read(value);
+            } catch (JsonProcessingException e) {
+                throw new InvalidCellException(field, "JSON 배열 형식 오류: " + e.getOriginalMessage());
+            }
+        }
+
+        // 숫자면 id, 아니면 이름으로 본다
+        private List<TemplateImportRecord.ReferenceDto> parseReferences(String value) {
+            if (value == null) {
+                return null;
+            }
+            List<TemplateImportRecord.ReferenceDto> references = new ArrayList<>();
+            for (String token : value.split(CSV_LIST_SEPARATOR)) {
+                String trimmed = token.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                references.add(trimmed.chars().allMatch(Character::isDigit) && trimmed.length() < 19
+                        ? new TemplateImportRecord.ReferenceDto(Long.parseLong(trimmed), null)
+                        : new TemplateImportRecord.ReferenceDto(null, trimmed));
+            }
+            return references;
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonListReader<T> {
+        List<T> read(String json) throws JsonProcessingException;
+    }
+
+    private static final class InvalidCellException extends RuntimeException {
+        private final String field;
+
+        private InvalidCellException(String field, String message) {
+            super(message);
+            this.field = field;
+        }
+    }
+
+    private record PendingTemplate(long line, Template template) {}
+
+    private final class ImportRun {
+
+        private final Long userId;
+        private final JsonGenerator generator;
+        private final ReferenceData reference;
+        private final List<PendingTemplate> chunk = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private ImportRun(Long userId, JsonGenerator generator, ReferenceData reference) {
+            this.userId = userId;
+            this.generator = generator;
+            this.reference = reference;
+        }
+
+        void accept(ParsedRecord parsed) throws IOException {
+            processed++;
+            if (parsed.record() == null) {
+                reject(List.of(TemplateImportEvent.error(parsed.line(), parsed.field(), parsed.error())));
+                return;
+            }
+
+            List<TemplateImportEvent> errors = new ArrayList<>();
+            Template template = toTemplate(parsed.line(), parsed.record(), errors);
+            if (!errors.isEmpty()) {
+                reject(errors);
+                return;
+            }
+            chunk.add(new PendingTemplate(parsed.line(), template));
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void flushChunk() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Template> templates = chunk.stream().map(PendingTemplate::template).toList();
+            try {
+                insert(templates);
+                afterCommit(templates);
+                imported += templates.size();
+            } catch (DataAccessException e) {
+                log.warn("Template import chunk of {} failed, retrying one by one: {}", templates.size(), e.getMessage());
+                for (PendingTemplate pending : chunk) {
+                    insertOne(pending);
+                }
+            }
+            chunk.clear();
+            emit(TemplateImportEvent.progress(processed, imported, failed));
+            generator.flush();
+        }
+
+        private void insertOne(PendingTemplate pending) throws IOException {
+            List<Template> single = List.of(pending.template());
+            pending.template().setId(null);
+            try {
+                insert(single);
+                afterCommit(single);
+                imported++;
+            } catch (DataAccessException e) {
+                reject(List.of(TemplateImportEvent.error(pending.line(), null,
+                        "저장 실패: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage())));
+            }
+        }
+
+        private void insert(List<Template> templates) {
+            transactionTemplate.executeWithoutResult(status -> {
+                templateImportJdbcRepository.batchInsert(templates);
+                List<Long> ids = templates.stream().map(Template::getId).toList();
+                templateStatusJdbcRepository.batchInsertHistories(ids, TemplateStatus.CREATED, LocalDateTime.now());
+                templateEventOutboxService.appendStatusChanged(userId, ids, TemplateStatus.CREATED);
+            });
+        }
+
+        // 커밋된 템플릿만 검색/유사도 색인에 반영한다 (생성 경로의 TemplateFactory와 같은 색인)
+        private void afterCommit(List<Template> templates) {
+            for (Template template : templates) {
+                templateSearchEngine.index(template);
+                templateSimilarityIndex.add(template);
+            }
+        }
+
+        private void reject(List<TemplateImportEvent> errors) throws IOException {
+            failed++;
+            for (TemplateImportEvent error : errors) {
+                emit(error);
+            }
+        }
+
+        void emit(TemplateImportEvent event) throws IOException {
+            jsonCodecs.writeImportEventLine(generator, event);
+        }
+
+        private Template toTemplate(long line, TemplateImportRecord record, List<TemplateImportEvent> errors) {
+            TemplateType type = null;
+            if (isBlank(record.type())) {
+                errors.add(TemplateImportEvent.error(line, "type", "필수 값입니다"));
+            } else {
+                try {
+                    type = TemplateType.valueOf(record.type().trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    errors.add(TemplateImportEvent.error(line, "type", "지원하지 않는 유형입니다: " + record.type()));
+                }
+            }
+            if (isBlank(record.categoryId())) {
+                errors.add(TemplateImportEvent.error(line, "categoryId", "필수 값입니다"));
+            } else if (!reference.categoryIds().contains(record.categoryId())) {
+                errors.add(TemplateImportEvent.error(line, "categoryId", "존재하지 않는 카테고리입니다: " + record.categoryId()));
+            }
+            if (isBlank(record.title())) {
+                errors.add(TemplateImportEvent.error(line, "title", "필수 값입니다"));
+            }
+            checkLength(line, "title", record.title(), TITLE_MAX, errors);
+            if (isBlank(record.content())) {
+                errors.add(TemplateImportEvent.error(line, "content", "필수 값입니다"));
+            }
+            checkLength(line, "imageUrl", record.imageUrl(), URL_MAX, errors);
+
+            List<TemplateButton> buttons = new ArrayList<>();
+            List<TemplateImportRecord.ButtonDto> buttonDtos = record.buttons() == null ? List.of() : record.buttons();
+            for (int i = 0; i < buttonDtos.size(); i++) {
+                TemplateImportRecord.ButtonDto b = buttonDtos.get(i);
+                String field = "buttons[" + i + "]";
+                if (b == null || isBlank(b.name())) {
+                    errors.add(TemplateImportEvent.error(line, field + ".name", "필수 값입니다"));
+                    continue;
+                }
+                checkLength(line, field + ".name", b.name(), NAME_MAX, errors);
+                checkLength(line, field + ".linkMo", b.linkMo(), URL_MAX, errors);
+                checkLength(line, field + ".linkPc", b.linkPc(), URL_MAX, errors);
+                checkLength(line, field + ".linkAnd", b.linkAnd(), URL_MAX, errors);
+                checkLength(line, field + ".linkIos", b.linkIos(), URL_MAX, errors);
+                checkLength(line, field + ".linkType", b.linkType(), LINK_TYPE_MAX, errors);
+                buttons.add(TemplateButton.builder()
+                        .name(b.name())
+                        .ordering(b.ordering() == null ? i + 1 : b.ordering())
+                        .linkMo(b.linkMo())
+                        .linkPc(b.linkPc())
+                        .linkAnd(b.linkAnd())
+                        .linkIos(b.linkIos())
+                        .linkType(b.linkType())
+                        .build());
+            }
+
+            List<TemplateVariable> variables = new ArrayList<>();
+            List<TemplateImportRecord.VariableDto> variableDtos = record.variables() == null ? List.of() : record.variables();
+            for (int i = 0; i < variableDtos.size(); i++) {
+                TemplateImportRecord.VariableDto v = variableDtos.get(i);
+                String field = "variables[" + i + "]";
+                if (v == null || isBlank(v.variableKey())) {
+                    errors.add(TemplateImportEvent.error(line, field + ".variableKey", "필수 값입니다"));
+                    continue;
+                }
+                checkLength(line, field + ".variableKey", v.variableKey(), NAME_MAX, errors);
+                checkLength(line, field + ".placeholder", v.placeholder(), NAME_MAX, errors);
+                checkLength(line, field + ".inputType", v.inputType(), INPUT_TYPE_MAX, errors);
+                variables.add(TemplateVariable.builder()
+                        .variableKey(v.variableKey())
+                        .placeholder(v.placeholder())
+                        .inputType(v.inputType())
+                        .build());
+            }
+
+            Set<Industry> industries = resolve(line, "industries", record.industries(),
+                    reference.industriesById(), reference.industriesByName(), errors);
+            Set<Purpose> purposes = resolve(line, "purposes", record.purposes(),
+                    reference.purposesById(), reference.purposesByName(), errors);
+
+            if (!errors.isEmpty()) {
+                return null;
+            }
+            Template template = Template.builder()
+                    .userId(userId)
+                    .categoryId(record.categoryId())
+                    .title(record.title())
+                    .content(record.content())
+                    .imageUrl(record.imageUrl())
+                    .type(type)
+                    .isPublic(Boolean.TRUE.equals(record.isPublic()))
+                    .status(TemplateStatus.CREATED)
+                    .industries(industries)
+                    .purposes(purposes)
+                    .build();
+            template.addButtons(buttons);
+            template.addVariables(variables);
+            return template;
+        }
+
+        private <T> Set<T> resolve(long line, String field, List<TemplateImportRecord.ReferenceDto> references,
+                                   Map<Long, T> byId, Map<String, T> byName, List<TemplateImportEvent> errors) {
+            Set<T> resolved = new LinkedHashSet<>();
+            if (references == null) {
+                return resolved;
+            }
+            for (TemplateImportRecord.ReferenceDto reference : references) {
+                if (reference == null) {
+                    continue;
+                }
+                T found = reference.id() != null ? byId.get(reference.id()) : byName.get(reference.name());
+                if (found == null) {
+                    errors.add(TemplateImportEvent.error(line, field, "존재하지 않는 항목입니다: "
+                            + (reference.id() != null ? reference.id() : reference.name())));
+                } else {
+                    resolved.add(found);
+                }
+            }
+            return resolved;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // MySQL VARCHAR 길이는 문자(코드 포인트) 기준이다
+    private static void checkLength(long line, String field, String value, int max, List<TemplateImportEvent> errors) {
+        if (value != null && value.codePointCount(0, value.length()) > max) {
+            errors.add(TemplateImportEvent.error(line, field, max + "자를 넘습니다"));
+        }
+    }
+}
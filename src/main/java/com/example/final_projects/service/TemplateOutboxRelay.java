@@ -0,0 +1,109 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateStatusEvent;
+import com.example.final_projects.entity.TemplateEventOutbox;
+import com.example.final_projects.repository.TemplateEventOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * template_event_outbox를 keyset 배치로 읽어 TemplateEventSink로 보낸 뒤 published_at을 채운다.
+ * - 발행 후 표시하므로 그 사이에 죽으면 같은 배치를 다시 보낸다 (최소 1회 전달)
+ * - 배치 발행이 실패하면 그 주기는 멈추고 다음 주기에 같은 위치부터 다시 시도해 순서를 유지한다
+ * - 매 주기 미발행 이벤트 중 가장 오래된 것의 나이를 template.outbox.lag(ms)로 노출한다
+ * 여러 인스턴스가 함께 돌면 같은 이벤트가 중복 발행될 수 있으며, 이 역시 최소 1회 전달 범위 안이다.
+ */
+@Slf4j
+@Component
+public class TemplateOutboxRelay {
+
+    private static final String METRIC_PREFIX = "template.outbox";
+
+    private final TemplateEventOutboxRepository templateEventOutboxRepository;
+    private final TemplateEventOutboxService templateEventOutboxService;
+    private final TemplateEventSink templateEventSink;
+    private final MeterRegistry meterRegistry;
+    private final Timer publishTimer;
+    private final int batchSize;
+    private final int retentionDays;
+    private final AtomicLong lagMs = new AtomicLong();
+
+    public TemplateOutboxRelay(
+            TemplateEventOutboxRepository templateEventOutboxRepository,
+            TemplateEventOutboxService templateEventOutboxService,
+            TemplateEventSink templateEventSink,
+            MeterRegistry meterRegistry,
+            @Value("${template.outbox.batch-size:100}") int batchSize,
+            @Value("${template.outbox.retention-days:7}") int retentionDays
+    ) {
+        this.templateEventOutboxRepository = templateEventOutboxRepository;
+        this.templateEventOutboxService = templateEventOutboxService;
+        this.templateEventSink = templateEventSink;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.publishTimer = Timer.builder(METRIC_PREFIX + ".publish").register(meterRegistry);
+
+        Gauge.builder(METRIC_PREFIX + ".lag", lagMs, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${template.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        long cursor = 0L;
+        while (true) {
+            List<TemplateEventOutbox> batch =
+                    templateEventOutboxRepository.findUnpublishedAfter(cursor, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<TemplateStatusEvent> events = batch.stream().map(TemplateStatusEvent::from).toList();
+            try {
+                publishTimer.recordCallable(() -> {
+                    templateEventSink.publish(events);
+                    return null;
+                });
+            } catch (Exception e) {
+                meterRegistry.counter(METRIC_PREFIX + ".publish.failed").increment();
+                log.warn("Failed to publish {} template events starting at outbox id {}: {}",
+                        events.size(), batch.getFirst().getId(), e.getMessage());
+                break;
+            }
+
+            templateEventOutboxService.markPublished(batch.stream().map(TemplateEventOutbox::getId).toList());
+            meterRegistry.counter(METRIC_PREFIX + ".published").increment(events.size());
+
+            cursor = batch.getLast().getId();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        updateLag();
+    }
+
+    @Scheduled(fixedDelayString = "${template.outbox.cleanup-interval-ms:3600000}")
+    public void deletePublished() {
+        int deleted = templateEventOutboxService.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Deleted {} published template outbox events", deleted);
+        }
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = templateEventOutboxRepository.findOldestUnpublishedCreatedAt();
+        lagMs.set(oldest == null ? 0L : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+}
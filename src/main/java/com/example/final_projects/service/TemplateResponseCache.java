@@ -0,0 +1,136 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.ApiResult;
+import com.example.final_projects.dto.template.CachedTemplateResponse;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.support.JsonCodecs;
+import com.example.final_projects.support.WeightedLruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 템플릿 상세 조회 응답을 직렬화된 바이트로 들고 있는 2단계 캐시.
+ * - 1단계: 힙 안의 바이트 크기 기준 LRU (template.response-cache.max-bytes)
+ * - 2단계: SharedTemplateResponseCache 빈이 있을 때만 사용
+ * 항목은 상세 ETag와 같은 validator(version + status + updated_at)와 함께 저장하고, 조회 시 호출자가 넘긴 현재 값과 다르면 버린다.
+ * 앱 안의 상태 전이는 invalidate로 바로 지우고, 승인/반려처럼 앱 밖에서 바뀐 행은 version이 그대로여도
+ * status와 updated_at이 바뀌므로 validator 비교로 걸러진다.
+ */
+@Slf4j
+@Component
+public class TemplateResponseCache {
+
+    private static final String METRIC_NAME = "template.response.cache";
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private final JsonCodecs jsonCodecs;
+    private final MeterRegistry meterRegistry;
+    private final SharedTemplateResponseCache sharedCache;
+    private final WeightedLruCache<Long, CachedTemplateResponse> nearCache;
+    private final boolean enabled;
+
+    public TemplateResponseCache(
+            JsonCodecs jsonCodecs,
+            MeterRegistry meterRegistry,
+            ObjectProvider<SharedTemplateResponseCache> sharedCache,
+            @Value("${template.response-cache.enabled:true}") boolean enabled,
+            @Value("${template.response-cache.max-bytes:33554432}") long maxBytes
+    ) {
+        this.jsonCodecs = jsonCodecs;
+        this.meterRegistry = meterRegistry;
+        this.sharedCache = sharedCache.getIfAvailable();
+        this.enabled = enabled;
+        this.nearCache = new WeightedLruCache<>(maxBytes, cached -> cached.body().length + ENTRY_OVERHEAD_BYTES);
+        Gauge.builder(METRIC_NAME + ".bytes", nearCache, WeightedLruCache::weight)
+                .description("1단계 캐시에 들어 있는 응답 본문 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param validator 호출 시점의 TemplateStatusSnapshot.validator(). 캐시 항목의 값과 같을 때만 캐시를 쓴다
+     * @param loader  캐시에 없을 때 응답을 만드는 함수 (권한 검사 포함)
+     */
+    public byte[] get(Long templateId, String validator, Supplier<TemplateResponse> loader) {
+        if (!enabled) {
+            return serialize(loader.get());
+        }
+
+        CachedTemplateResponse near = nearCache.get(templateId);
+        if (near != null && near.validator().equals(validator)) {
+            count("near_hit");
+            return near.body();
+        }
+
+        Optional<CachedTemplateResponse> shared = getShared(templateId);
+        if (shared.isPresent() && validator.equals(shared.get().validator())) {
+            count("shared_hit");
+            nearCache.put(templateId, shared.get());
+            return shared.get().body();
+        }
+
+        count("miss");
+        CachedTemplateResponse loaded = new CachedTemplateResponse(validator, serialize(loader.get()));
+        nearCache.put(templateId, loaded);
+        putShared(templateId, loaded);
+        return loaded.body();
+    }
+
+    public void invalidate(Collection<Long> templateIds) {
+        for (Long templateId : templateIds) {
+            nearCache.invalidate(templateId);
+            if (sharedCache != null) {
+                try {
+                    sharedCache.evict(templateId);
+                } catch (RuntimeException e) {
+                    // 남은 항목은 validator 비교에서 걸러진다
+                    log.warn("Failed to evict template {} from shared response cache", templateId, e);
+                }
+            }
+        }
+    }
+
+    private Optional<CachedTemplateResponse> getShared(Long templateId) {
+        if (sharedCache == null) {
+            return Optional.empty();
+        }
+        try {
+            return sharedCache.get(templateId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read template {} from shared response cache", templateId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void putShared(Long templateId, CachedTemplateResponse response) {
+        if (sharedCache == null) {
+            return;
+        }
+        try {
+            sharedCache.put(templateId, response);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write template {} to shared response cache", templateId, e);
+        }
+    }
+
+    private byte[] serialize(TemplateResponse response) {
+        try {
+            return jsonCodecs.writeTemplateResponse(ApiResult.ok(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize template response " + response.getId(), e);
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    }
+}
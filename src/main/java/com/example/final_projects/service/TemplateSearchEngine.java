@@ -0,0 +1,25 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateSearchCondition;
+import com.example.final_projects.dto.template.TemplateSearchHits;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateStatus;
+
+import java.util.Collection;
+
+/**
+ * 사용자 템플릿 키워드 검색. template.search.engine 으로 구현을 고른다.
+ * - fulltext (기본): MySQL FULLTEXT(ngram) 인덱스
+ * - in-memory: 프로세스 내 역색인. FULLTEXT가 없는 H2 테스트/로컬용
+ * index/updateStatus는 DB 인덱스를 쓰는 구현에서는 아무것도 하지 않는다.
+ */
+public interface TemplateSearchEngine {
+
+    TemplateSearchHits search(TemplateSearchCondition condition, int offset, int limit);
+
+    default void index(Template template) {
+    }
+
+    default void updateStatus(Collection<Long> templateIds, TemplateStatus status) {
+    }
+}
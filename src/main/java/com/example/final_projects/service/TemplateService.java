@@ -9,20 +9,31 @@ import com.example.final_projects.exception.RawExternalApiException;
 import com.example.final_projects.exception.TemplateException;
 import com.example.final_projects.exception.code.AiErrorCode;
 import com.example.final_projects.exception.code.TemplateErrorCode;
+import com.example.final_projects.metrics.TemplateGenerationMetrics;
 import com.example.final_projects.repository.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class TemplateService {
@@ -30,24 +41,42 @@ public class TemplateService {
     private final TemplateRepository templateRepository;
     private final TemplateHistoryRepository templateHistoryRepository;
     private final AiApiClient aiApiClient;
+    private final AiRetryExecutor aiRetryExecutor;
     private final UserTemplateRequestService userTemplateRequestService;
     private final TemplateFactory templateFactory;
     private final TransactionTemplate transactionTemplate;
+    private final TemplateGenerationMetrics templateGenerationMetrics;
+    private final TemplateEventOutboxService templateEventOutboxService;
+    private final TemplateStatusJdbcRepository templateStatusJdbcRepository;
+    private final TemplateSearchEngine templateSearchEngine;
+    private final TemplateResponseCache templateResponseCache;
 
     public TemplateService(
             TemplateRepository templateRepository,
             TemplateHistoryRepository templateHistoryRepository,
             AiApiClient aiApiClient,
+            AiRetryExecutor aiRetryExecutor,
             UserTemplateRequestService userTemplateRequestService,
             TemplateFactory templateFactory,
-            PlatformTransactionManager transactionManager
+            PlatformTransactionManager transactionManager,
+            TemplateGenerationMetrics templateGenerationMetrics,
+            TemplateEventOutboxService templateEventOutboxService,
+            TemplateStatusJdbcRepository templateStatusJdbcRepository,
+            TemplateSearchEngine templateSearchEngine,
+            TemplateResponseCache templateResponseCache
     ) {
         this.templateRepository = templateRepository;
         this.templateHistoryRepository = templateHistoryRepository;
         this.aiApiClient = aiApiClient;
+        this.aiRetryExecutor = aiRetryExecutor;
         this.userTemplateRequestService = userTemplateRequestService;
         this.templateFactory = templateFactory;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.templateGenerationMetrics = templateGenerationMetrics;
+        this.templateEventOutboxService = templateEventOutboxService;
+        this.templateStatusJdbcRepository = templateStatusJdbcRepository;
+        this.templateSearchEngine = templateSearchEngine;
+        this.templateResponseCache = templateResponseCache;
     }
 
     @Transactional(readOnly = true)
@@ -56,20 +85,96 @@ public class TemplateService {
 
         Page<Template> templatePage = templateRepository.findByUserIdAndStatus(userId, status, pageRequest);
 
+        Map<Long, LocalDateTime> lastStatusAt = findLastStatusAt(templatePage.getContent());
         List<TemplateResponse> data = templatePage.getContent().stream()
-                .map(TemplateResponse::from)
+                .map(template -> TemplateResponse.from(template, lastStatusAt.get(template.getId())))
                 .toList();
 
         return new PageResponse<>(data, page, size, templatePage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<TemplateResponse> searchTemplates(TemplateSearchCondition condition, int page, int size) {
+        TemplateSearchHits hits = templateSearchEngine.search(condition, (page - 1) * size, size);
+        if (hits.templateIds().isEmpty()) {
+            return new PageResponse<>(List.of(), page, size, hits.total());
+        }
+
+        // 검색 엔진이 정한 관련도 순서를 유지한다
+        Map<Long, Template> templates = templateRepository.findAllById(hits.templateIds()).stream()
+                .collect(Collectors.toMap(Template::getId, Function.identity()));
+        List<Template> ordered = hits.templateIds().stream()
+                .map(templates::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<Long, LocalDateTime> lastStatusAt = findLastStatusAt(ordered);
+        List<TemplateResponse> data = ordered.stream()
+                .map(template -> TemplateResponse.from(template, lastStatusAt.get(template.getId())))
+                .toList();
+
+        return new PageResponse<>(data, page, size, hits.total());
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<TemplateHistoryResponse> getTemplateHistories(Long templateId, Long userId, int page, int size) {
+        Template template = templateRepository.findById(templateId)
+                .orElseThrow(() -> new TemplateException(TemplateErrorCode.TEMPLATE_NOT_FOUND));
+        if (!template.getUserId().equals(userId)) {
+            throw new TemplateException(TemplateErrorCode.FORBIDDEN_TEMPLATE);
+        }
+
+        Page<TemplateHistory> historyPage = templateHistoryRepository
+                .findByTemplateIdOrderByCreatedAtDescIdDesc(templateId, PageRequest.of(page - 1, size));
+        List<TemplateHistoryResponse> data = historyPage.getContent().stream()
+                .map(TemplateHistoryResponse::from)
+                .toList();
+
+        return new PageResponse<>(data, page, size, historyPage.getTotalElements());
+    }
+
+    // 페이지의 템플릿들에 대한 최신 상태 이력 시각을 쿼리 한 번으로 조회한다
+    private Map<Long, LocalDateTime> findLastStatusAt(List<Template> templates) {
+        if (templates.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> templateIds = templates.stream().map(Template::getId).toList();
+        Map<Long, LocalDateTime> lastStatusAt = new HashMap<>();
+        for (Object[] row : templateHistoryRepository.findLatestStatusRows(templateIds)) {
+            // 네이티브 조회라 드라이버에 따라 Timestamp 또는 LocalDateTime으로 온다
+            LocalDateTime createdAt = row[2] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[2];
+            lastStatusAt.put(((Number) row[0]).longValue(), createdAt);
+        }
+        return lastStatusAt;
+    }
+
+    /**
+     * 상세 조회의 ETag/캐시 검증용. 자식 컬렉션을 읽지 않고 (id, userId, status, version)만 조회한다. 권한 검사는 getTemplateById와 같다.
+     */
+    @Transactional(readOnly = true)
+    public TemplateStatusSnapshot getOwnedTemplateSnapshot(Long templateId, Long userId) {
+        TemplateStatusSnapshot snapshot = templateRepository.findStatusSnapshots(List.of(templateId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new TemplateException(TemplateErrorCode.TEMPLATE_NOT_FOUND));
+
+        if (snapshot.userId() == null || !snapshot.userId().equals(userId)) {
+            throw new TemplateException(TemplateErrorCode.FORBIDDEN_TEMPLATE);
+        }
+        return snapshot;
+    }
+
+    @Transactional(readOnly = true)
+    public String getTemplatesETag(Long userId, TemplateStatus status, int page, int size) {
+        return templateRepository.findListVersion(userId, status).etag(userId, status, page, size);
+    }
+
     @Transactional(readOnly = true)
     public TemplateResponse getTemplateById(Long templateId, Long userId) {
         Template template = templateRepository.findById(templateId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않습니다"));
+                .orElseThrow(() -> new TemplateException(TemplateErrorCode.TEMPLATE_NOT_FOUND));
 
         if (template.getUserId() == null || !template.getUserId().equals(userId)) {
-            throw new AccessDeniedException("권한이 없습니다");
+            throw new TemplateException(TemplateErrorCode.FORBIDDEN_TEMPLATE);
         }
         return TemplateResponse.from(template);
     }
@@ -80,10 +185,69 @@ public class TemplateService {
             exceptionClass = AiException.class
     )
     public TemplateCreationResult createTemplate(Long userId, TemplateCreateRequest request) {
-        UserTemplateRequest userRequest = userTemplateRequestService.createInitialRequest(userId, request.getRequestContent());
+        return templateGenerationMetrics.recordGeneration(() -> generateTemplate(userId, request));
+    }
+
+    private TemplateCreationResult generateTemplate(Long userId, TemplateCreateRequest request) {
+        UserTemplateRequest userRequest = templateGenerationMetrics.recordPhase(
+                TemplateGenerationMetrics.PHASE_CREATE_INITIAL_REQUEST,
+                () -> userTemplateRequestService.createInitialRequest(userId, request.getRequestContent())
+        );
+
+        return failingRequest(userRequest.getId(), () -> {
+            ResponseEntity<AiApiResponse<AiTemplateResponse>> responseEntity = templateGenerationMetrics.recordPhase(
+                    TemplateGenerationMetrics.PHASE_AI_CALL,
+                    () -> aiRetryExecutor.execute(userRequest.getId(), () -> aiApiClient.createTemplate(userRequest))
+            );
+            return handleResponse(responseEntity, userRequest, userId);
+        });
+    }
+
+    /**
+     * 202로 끝난 요청을 이어서 생성한다. 저장된 초안과, 초안에서 비어 있던 변수 중 사용자가 채운 값만 AI에 보낸다.
+     */
+    @HandleExternalApiErrors(
+            errorCodeClass = AiErrorCode.class,
+            errorDtoClass = AiErrorResponse.class,
+            exceptionClass = AiException.class
+    )
+    public TemplateCreationResult continueTemplate(Long userId, Long userRequestId, TemplateContinueRequest request) {
+        return templateGenerationMetrics.recordGeneration(() -> {
+            UserTemplateRequest userRequest = userTemplateRequestService.getOwnedDraftRequest(userRequestId, userId);
+            AiTemplateResponse draft = userTemplateRequestService.readDraft(userRequest);
 
-        ResponseEntity<AiApiResponse<AiTemplateResponse>> responseEntity = aiApiClient.createTemplate(userRequest);
+            Map<String, String> missingInputs = new LinkedHashMap<>();
+            for (String key : draft.missingVariableKeys()) {
+                String value = request.getVariables().get(key);
+                if (value != null && !value.isBlank()) {
+                    missingInputs.put(key, value);
+                }
+            }
+            if (missingInputs.isEmpty()) {
+                throw new TemplateException(TemplateErrorCode.MISSING_INPUTS_REQUIRED);
+            }
 
+            // 같은 초안을 동시에 이어서 생성하면 AI 호출과 템플릿 저장이 두 번 일어나므로 먼저 선점한다 (실패 시 409)
+            userTemplateRequestService.claimDraft(userRequest.getId());
+            try {
+                return failingRequest(userRequest.getId(), () -> {
+                    ResponseEntity<AiApiResponse<AiTemplateResponse>> responseEntity = templateGenerationMetrics.recordPhase(
+                            TemplateGenerationMetrics.PHASE_AI_CALL,
+                            () -> aiRetryExecutor.execute(userRequest.getId(), () -> aiApiClient.continueTemplate(userRequest, draft, missingInputs))
+                    );
+                    return handleResponse(responseEntity, userRequest, userId);
+                });
+            } catch (RuntimeException e) {
+                releaseIfResumable(userRequest.getId(), e);
+                throw e;
+            }
+        });
+    }
+
+    private TemplateCreationResult handleResponse(
+            ResponseEntity<AiApiResponse<AiTemplateResponse>> responseEntity,
+            UserTemplateRequest userRequest,
+            Long userId) {
         if (responseEntity.getStatusCode().is2xxSuccessful()) {
             return transactionTemplate.execute(status ->
                     handleSuccessResponse(responseEntity, userRequest, userId)
@@ -100,6 +264,69 @@ public class TemplateService {
         }
     }
 
+    /**
+     * createTemplate의 스트리밍 버전. AI가 생성 중인 본문 조각을 partialContentConsumer로 즉시 넘기고,
+     * 최종 결과는 스트림이 끝난 뒤 한 번만 조립해서 저장한다.
+     * 이미 클라이언트에 조각을 보낸 뒤에는 다시 시도할 수 없으므로 재시도(AiRetryExecutor)는 적용하지 않는다.
+     */
+    @HandleExternalApiErrors(
+            errorCodeClass = AiErrorCode.class,
+            errorDtoClass = AiErrorResponse.class,
+            exceptionClass = AiException.class
+    )
+    public TemplateCreationResult streamTemplate(Long userId, TemplateCreateRequest request, Consumer<String> partialContentConsumer) {
+        return templateGenerationMetrics.recordGeneration(() -> {
+            UserTemplateRequest userRequest = templateGenerationMetrics.recordPhase(
+                    TemplateGenerationMetrics.PHASE_CREATE_INITIAL_REQUEST,
+                    () -> userTemplateRequestService.createInitialRequest(userId, request.getRequestContent())
+            );
+
+            Consumer<String> timedConsumer = templateGenerationMetrics.timeToFirstToken(partialContentConsumer);
+            return failingRequest(userRequest.getId(), () -> {
+                ResponseEntity<AiApiResponse<AiTemplateResponse>> responseEntity = templateGenerationMetrics.recordPhase(
+                        TemplateGenerationMetrics.PHASE_AI_CALL,
+                        () -> aiApiClient.streamTemplate(userRequest, timedConsumer)
+                );
+                return transactionTemplate.execute(status ->
+                        handleSuccessResponse(responseEntity, userRequest, userId)
+                );
+            });
+        });
+    }
+
+    /**
+     * 이어서 생성이 실패했을 때 초안을 남길지 정한다.
+     * 재시도해도 될 오류(503, 타임아웃 등)나 AI 오류 응답이 아닌 실패면 초안을 PENDING으로 돌려 TTL까지 다시 이어서 생성할 수 있게 하고,
+     * 재시도해도 같은 결과일 AI 오류 응답이면 선점 상태로 두어 실패 처리(ExternalApiErrorHandlingAspect)가 FAILED로 바꾸게 한다.
+     */
+    private void releaseIfResumable(Long userRequestId, RuntimeException e) {
+        if (e instanceof RawExternalApiException rawException && !aiRetryExecutor.isRetryable(rawException)) {
+            return;
+        }
+        if (e instanceof RawExternalApiException rawException) {
+            rawException.setRequestResumable(true);
+        }
+        try {
+            userTemplateRequestService.releaseDraft(userRequestId);
+        } catch (RuntimeException releaseError) {
+            // 원래 실패를 그대로 전달한다. 풀지 못한 초안은 TTL이 지나면 스위퍼가 정리한다
+            e.addSuppressed(releaseError);
+        }
+    }
+
+    /**
+     * AI 호출이 실패하면 예외에 이 생성 요청의 id를 싣는다.
+     * ExternalApiErrorHandlingAspect는 이 id의 요청만 FAILED로 바꾸므로, 같은 사용자의 다른 PENDING 요청(초안 등)은 건드리지 않는다.
+     */
+    private <T> T failingRequest(Long userRequestId, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RawExternalApiException e) {
+            e.setUserTemplateRequestId(userRequestId);
+            throw e;
+        }
+    }
+
     private TemplateCreationResult handleSuccessResponse(
             ResponseEntity<AiApiResponse<AiTemplateResponse>> responseEntity,
             UserTemplateRequest userRequest,
@@ -112,13 +339,26 @@ public class TemplateService {
         AiTemplateResponse aiTemplateData = body.data();
 
         if (responseEntity.getStatusCode() == HttpStatus.OK) {
-            Template template = templateFactory.createFrom(userId, aiTemplateData, userRequest);
-            saveTemplateHistory(template);
-            userTemplateRequestService.markAsCompleted(userRequest.getId());
+            Template template = templateGenerationMetrics.recordPhase(
+                    TemplateGenerationMetrics.PHASE_TEMPLATE_FACTORY,
+                    () -> templateFactory.createFrom(userId, aiTemplateData, userRequest)
+            );
+            templateGenerationMetrics.recordPhase(
+                    TemplateGenerationMetrics.PHASE_HISTORY_SAVE,
+                    () -> {
+                        saveTemplateHistory(template);
+                        templateEventOutboxService.appendStatusChanged(template);
+                    }
+            );
+            templateGenerationMetrics.recordPhase(
+                    TemplateGenerationMetrics.PHASE_MARK_COMPLETED,
+                    () -> userTemplateRequestService.markAsCompleted(userRequest.getId())
+            );
             return new TemplateCreationResult.Complete(TemplateResponse.from(template));
 
         } else if (responseEntity.getStatusCode() == HttpStatus.ACCEPTED) {
-            return new TemplateCreationResult.Incomplete(aiTemplateData);
+            LocalDateTime expiresAt = userTemplateRequestService.saveDraft(userRequest.getId(), aiTemplateData);
+            return new TemplateCreationResult.Incomplete(userRequest.getId(), aiTemplateData, expiresAt);
         }
 
         throw new AiException(AiErrorCode.UNEXPECTED_AI_RESPONSE, "Unexpected success status code: " + responseEntity.getStatusCode());
@@ -139,16 +379,9 @@ public class TemplateService {
         Template template = templateRepository.findById(templateId)
                 .orElseThrow(() -> new TemplateException(TemplateErrorCode.TEMPLATE_NOT_FOUND));
 
-        if (!template.getUserId().equals(userId)) {
-            throw new TemplateException(TemplateErrorCode.FORBIDDEN_TEMPLATE);
-        }
-
-        if (template.getStatus() == TemplateStatus.APPROVE_REQUESTED) {
-            throw new TemplateException(TemplateErrorCode.ALREADY_APPROVE_REQUESTED);
-        }
-
-        if (template.getStatus() != TemplateStatus.CREATED) {
-            throw new TemplateException(TemplateErrorCode.APPROVE_REQUEST_FORBIDDEN);
+        TemplateErrorCode rejection = checkApprovable(template.getUserId(), template.getStatus(), userId);
+        if (rejection != null) {
+            throw new TemplateException(rejection);
         }
 
         template.setStatus(TemplateStatus.APPROVE_REQUESTED);
@@ -161,7 +394,76 @@ public class TemplateService {
                         .status(TemplateStatus.APPROVE_REQUESTED)
                         .build()
         );
+        templateEventOutboxService.appendStatusChanged(template);
+        templateSearchEngine.updateStatus(List.of(template.getId()), template.getStatus());
+        templateResponseCache.invalidate(List.of(template.getId()));
 
         return new TemplateApproveResponse(template.getId(), template.getStatus().name());
     }
+
+    /**
+     * 여러 템플릿을 한 번에 승인 요청한다.
+     * 소유자/상태 검증은 조회 한 번, 전이는 id + version 조건부 UPDATE batch 한 번, 이력/outbox는 JDBC batch 한 번으로 처리하고
+     * 템플릿별 결과를 요청 순서대로 돌려준다.
+     */
+    @Transactional
+    public TemplateBulkApproveResponse bulkApproveTemplates(List<Long> templateIds, Long userId) {
+        List<Long> requestedIds = templateIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, TemplateStatusSnapshot> snapshots = templateRepository.findStatusSnapshots(requestedIds).stream()
+                .collect(Collectors.toMap(TemplateStatusSnapshot::id, Function.identity()));
+
+        Map<Long, TemplateBulkApproveResponse.Result> results = new LinkedHashMap<>();
+        List<Long> eligibleIds = new ArrayList<>();
+        for (Long templateId : requestedIds) {
+            TemplateStatusSnapshot snapshot = snapshots.get(templateId);
+            TemplateErrorCode rejection = snapshot == null
+                    ? TemplateErrorCode.TEMPLATE_NOT_FOUND
+                    : checkApprovable(snapshot.userId(), snapshot.status(), userId);
+            if (rejection != null) {
+                results.put(templateId, TemplateBulkApproveResponse.Result.failure(templateId, rejection.name()));
+            } else {
+                eligibleIds.add(templateId);
+            }
+        }
+
+        Set<Long> transitionedIds = transitionToApproveRequested(eligibleIds, snapshots, userId);
+        List<Long> transitioned = eligibleIds.stream().filter(transitionedIds::contains).toList();
+        if (!transitioned.isEmpty()) {
+            templateStatusJdbcRepository.batchInsertHistories(transitioned, TemplateStatus.APPROVE_REQUESTED, LocalDateTime.now());
+            templateEventOutboxService.appendStatusChanged(userId, transitioned, TemplateStatus.APPROVE_REQUESTED);
+            templateSearchEngine.updateStatus(transitioned, TemplateStatus.APPROVE_REQUESTED);
+            templateResponseCache.invalidate(transitioned);
+        }
+        for (Long templateId : eligibleIds) {
+            results.put(templateId, transitionedIds.contains(templateId)
+                    ? TemplateBulkApproveResponse.Result.success(templateId, TemplateStatus.APPROVE_REQUESTED.name())
+                    : TemplateBulkApproveResponse.Result.failure(templateId, TemplateErrorCode.TEMPLATE_CONCURRENTLY_MODIFIED.name()));
+        }
+
+        List<TemplateBulkApproveResponse.Result> ordered = requestedIds.stream().map(results::get).toList();
+        return new TemplateBulkApproveResponse(requestedIds.size(), transitioned.size(), ordered);
+    }
+
+    private Set<Long> transitionToApproveRequested(List<Long> eligibleIds, Map<Long, TemplateStatusSnapshot> snapshots, Long userId) {
+        if (eligibleIds.isEmpty()) {
+            return Set.of();
+        }
+        // 조회 이후 다른 요청이 먼저 바꾼 행은 version이 달라 갱신되지 않으므로, 영향 행 수가 곧 이번 요청의 전이 여부다
+        List<TemplateStatusSnapshot> expected = eligibleIds.stream().map(snapshots::get).toList();
+        return Set.copyOf(templateStatusJdbcRepository.batchTransitionStatus(
+                expected, userId, TemplateStatus.CREATED, TemplateStatus.APPROVE_REQUESTED));
+    }
+
+    private TemplateErrorCode checkApprovable(Long ownerId, TemplateStatus status, Long userId) {
+        if (!ownerId.equals(userId)) {
+            return TemplateErrorCode.FORBIDDEN_TEMPLATE;
+        }
+        if (status == TemplateStatus.APPROVE_REQUESTED) {
+            return TemplateErrorCode.ALREADY_APPROVE_REQUESTED;
+        }
+        if (status != TemplateStatus.CREATED) {
+            return TemplateErrorCode.APPROVE_REQUEST_FORBIDDEN;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,194 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.PublicTemplateResponse;
+import com.example.final_projects.dto.template.SimilarTemplateResponse;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.entity.Industry;
+import com.example.final_projects.entity.Purpose;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.support.MinHasher;
+import com.example.final_projects.support.NgramTokenizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 요청 문장과 비슷한 공개 템플릿 추천 (AI 호출 전 기존 템플릿 재사용 유도).
+ * - shingle: 제목+본문의 2-gram(NgramTokenizer). #{변수}는 템플릿마다 달라 제외
+ * - MinHash 서명(bands * rowsPerBand개) → LSH: 밴드별 해시 버킷에 같이 들어간 템플릿만 후보
+ * - 점수: 요청 문장이 템플릿에 포함되는 정도(추정 Jaccard와 집합 크기로 환산) + 업종/목적 일치
+ * 색인은 TemplateFactory가 공개 템플릿을 저장할 때, 그리고 공개 갤러리 스냅샷이 바뀔 때 증분으로 채운다.
+ * 결과는 갤러리 스냅샷에 있는(공개 + APPROVED) 템플릿만 돌려주므로 비공개/미승인 항목은 색인에 남아 있어도 노출되지 않는다.
+ */
+@Service
+public class TemplateSimilarityIndex {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("#\\{[^}]*}");
+    private static final double FILTER_WEIGHT = 0.2;
+
+    private final PublicTemplateGallery publicTemplateGallery;
+    private final MinHasher minHasher;
+    private final int bands;
+    private final int rowsPerBand;
+    private final int maxBucketSize;
+    private final double minScore;
+    private final Timer lookupTimer;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+    private volatile PublicTemplateGallery.Snapshot syncedSnapshot;
+
+    public TemplateSimilarityIndex(
+            PublicTemplateGallery publicTemplateGallery,
+            MeterRegistry meterRegistry,
+            @Value("${template.similar.bands:32}") int bands,
+            @Value("${template.similar.rows-per-band:2}") int rowsPerBand,
+            @Value("${template.similar.max-bucket-size:2000}") int maxBucketSize,
+            @Value("${template.similar.min-score:0.2}") double minScore
+    ) {
+        this.publicTemplateGallery = publicTemplateGallery;
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+        this.maxBucketSize = maxBucketSize;
+        this.minScore = minScore;
+        this.minHasher = new MinHasher(bands * rowsPerBand, 0x5EEDL);
+        this.lookupTimer = Timer.builder("template.similar.lookup")
+                .description("유사 템플릿 조회 시간")
+                .register(meterRegistry);
+    }
+
+    public void add(Template template) {
+        if (!Boolean.TRUE.equals(template.getIsPublic())) {
+            return;
+        }
+        add(
+                template.getId(),
+                template.getTitle(),
+                template.getContent(),
+                template.getIndustries().stream().map(Industry::getId).collect(Collectors.toUnmodifiableSet()),
+                template.getPurposes().stream().map(Purpose::getId).collect(Collectors.toUnmodifiableSet())
+        );
+    }
+
+    public List<SimilarTemplateResponse> findSimilar(String requestContent, Long industryId, Long purposeId, int k) {
+        return lookupTimer.record(() -> {
+            PublicTemplateGallery.Snapshot snapshot = syncWith(publicTemplateGallery.snapshot());
+            Set<String> shingles = shingles(requestContent);
+            if (shingles.isEmpty()) {
+                return List.of();
+            }
+            long[] signature = minHasher.signature(shingles);
+
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                Set<Long> bucket = buckets.get(bucketKey(signature, band));
+                // 거의 모든 템플릿에 있는 인사말 같은 shingle의 버킷은 변별력이 없어 건너뛴다
+                if (bucket != null && bucket.size() <= maxBucketSize) {
+                    candidates.addAll(bucket);
+                }
+            }
+
+            return candidates.stream()
+                    .map(templateId -> score(templateId, signature, shingles.size(), industryId, purposeId, snapshot))
+                    .flatMap(Optional::stream)
+                    .filter(similar -> similar.score() >= minScore)
+                    .sorted(Comparator.comparingDouble(SimilarTemplateResponse::score).reversed()
+                            .thenComparing(similar -> similar.template().id(), Comparator.reverseOrder()))
+                    .limit(k)
+                    .toList();
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Optional<SimilarTemplateResponse> score(Long templateId, long[] signature, int shingleCount,
+                                                    Long industryId, Long purposeId, PublicTemplateGallery.Snapshot snapshot) {
+        Entry entry = entries.get(templateId);
+        Optional<PublicTemplateResponse> template = snapshot.findById(templateId);
+        if (entry == null || template.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // |Q∩T| = J(|Q|+|T|)/(1+J). 짧은 요청 문장과 긴 본문을 비교하므로 Jaccard 대신 요청 쪽 포함도를 쓴다
+        double jaccard = MinHasher.estimateJaccard(signature, entry.signature());
+        double containment = Math.min(1.0, jaccard * (shingleCount + entry.shingleCount()) / (1 + jaccard) / shingleCount);
+
+        double score = containment;
+        double weight = 1.0;
+        if (industryId != null) {
+            score += entry.industryIds().contains(industryId) ? FILTER_WEIGHT : 0;
+            weight += FILTER_WEIGHT;
+        }
+        if (purposeId != null) {
+            score += entry.purposeIds().contains(purposeId) ? FILTER_WEIGHT : 0;
+            weight += FILTER_WEIGHT;
+        }
+        return Optional.of(new SimilarTemplateResponse(template.get(), score / weight));
+    }
+
+    // 갤러리 스냅샷이 바뀌었으면 아직 색인에 없는 공개 템플릿(기동 전에 만들어졌거나 이후 승인된 것)을 채운다
+    private PublicTemplateGallery.Snapshot syncWith(PublicTemplateGallery.Snapshot snapshot) {
+        if (snapshot == syncedSnapshot) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (snapshot != syncedSnapshot) {
+                for (PublicTemplateResponse item : snapshot.items()) {
+                    if (!entries.containsKey(item.id())) {
+                        add(
+                                item.id(),
+                                item.title(),
+                                item.content(),
+                                item.industries().stream().map(TemplateResponse.IndustryResponse::getId).collect(Collectors.toUnmodifiableSet()),
+                                item.purposes().stream().map(TemplateResponse.PurposeResponse::getId).collect(Collectors.toUnmodifiableSet())
+                        );
+                    }
+                }
+                syncedSnapshot = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    private void add(Long templateId, String title, String content, Set<Long> industryIds, Set<Long> purposeIds) {
+        Set<String> shingles = shingles(title + "\n" + content);
+        if (shingles.isEmpty()) {
+            return;
+        }
+        long[] signature = minHasher.signature(shingles);
+        if (entries.putIfAbsent(templateId, new Entry(signature, shingles.size(), industryIds, purposeIds)) != null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bucketKey(signature, band), key -> ConcurrentHashMap.newKeySet()).add(templateId);
+        }
+    }
+
+    private long bucketKey(long[] signature, int band) {
+        long key = band;
+        for (int row = 0; row < rowsPerBand; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[band * rowsPerBand + row];
+        }
+        return key;
+    }
+
+    private static Set<String> shingles(String text) {
+        return NgramTokenizer.ngrams(text == null ? "" : PLACEHOLDER.matcher(text).replaceAll(" "));
+    }
+
+    private record Entry(long[] signature, int shingleCount, Set<Long> industryIds, Set<Long> purposeIds) {
+    }
+}
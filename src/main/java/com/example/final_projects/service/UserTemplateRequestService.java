@@ -1,18 +1,35 @@
 package com.example.final_projects.service;
 
+import com.example.final_projects.dto.template.AiTemplateResponse;
 import com.example.final_projects.entity.UserTemplateRequest;
 import com.example.final_projects.entity.UserTemplateRequestStatus;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.TemplateErrorCode;
 import com.example.final_projects.repository.UserTemplateRequestRepository;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
-@RequiredArgsConstructor
 public class UserTemplateRequestService {
 
     private final UserTemplateRequestRepository userTemplateRequestRepository;
+    private final ObjectMapper objectMapper;
+    private final long draftTtlMinutes;
+
+    public UserTemplateRequestService(UserTemplateRequestRepository userTemplateRequestRepository,
+                                      ObjectMapper objectMapper,
+                                      @Value("${template.draft.ttl-minutes:1440}") long draftTtlMinutes) {
+        this.userTemplateRequestRepository = userTemplateRequestRepository;
+        this.objectMapper = objectMapper;
+        this.draftTtlMinutes = draftTtlMinutes;
+    }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public UserTemplateRequest createInitialRequest(Long userId, String requestContent) {
@@ -30,21 +47,103 @@ public class UserTemplateRequestService {
                 .orElseThrow(() -> new IllegalArgumentException("UserTemplateRequest not found with id: " + userRequestId));
 
         userRequest.setStatus(UserTemplateRequestStatus.COMPLETED);
+        userRequest.setPartialResponse(null);
+        userRequest.setDraftExpiresAt(null);
         userTemplateRequestRepository.save(userRequest);
     }
 
+    /**
+     * PENDING이거나 이어서 생성 중(IN_PROGRESS)인 요청만 FAILED로 바꾼다. 이미 완료/만료된 요청이면 false를 돌려준다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markAsFailed(Long userRequestId) {
+        return userTemplateRequestRepository.transitionStatus(userRequestId,
+                List.of(UserTemplateRequestStatus.PENDING, UserTemplateRequestStatus.IN_PROGRESS),
+                UserTemplateRequestStatus.FAILED) > 0;
+    }
+
+    /**
+     * 이어서 생성할 초안을 선점한다(PENDING → IN_PROGRESS). 다른 요청이 먼저 선점했으면 409로 거절한다.
+     * 바로 커밋해야 동시에 들어온 다른 요청이 선점 결과를 보므로 새 트랜잭션에서 처리한다.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markAsFailed(Long userRequestId) {
+    public void claimDraft(Long userRequestId) {
+        int claimed = userTemplateRequestRepository.transitionStatus(userRequestId,
+                List.of(UserTemplateRequestStatus.PENDING), UserTemplateRequestStatus.IN_PROGRESS);
+        if (claimed == 0) {
+            throw new TemplateException(TemplateErrorCode.DRAFT_IN_PROGRESS);
+        }
+    }
+
+    /**
+     * 일시적인 실패로 이어서 생성을 끝내지 못한 초안을 다시 이어서 생성할 수 있게 PENDING으로 돌려놓는다.
+     * 초안은 TTL(draftExpiresAt)까지 유지된다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseDraft(Long userRequestId) {
+        userTemplateRequestRepository.transitionStatus(userRequestId,
+                List.of(UserTemplateRequestStatus.IN_PROGRESS), UserTemplateRequestStatus.PENDING);
+    }
+
+    /**
+     * 202(부분 생성) 결과를 요청에 저장한다. 상태는 사용자 입력을 기다리는 PENDING으로 유지되고,
+     * draftExpiresAt이 지나면 스위퍼가 EXPIRED로 정리한다.
+     */
+    @Transactional
+    public LocalDateTime saveDraft(Long userRequestId, AiTemplateResponse partialTemplate) {
         UserTemplateRequest userRequest = userTemplateRequestRepository.findById(userRequestId)
                 .orElseThrow(() -> new IllegalArgumentException("UserTemplateRequest not found with id: " + userRequestId));
 
-        userRequest.setStatus(UserTemplateRequestStatus.FAILED);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(draftTtlMinutes);
+        // 이어서 생성한 결과가 다시 202면 선점(IN_PROGRESS)을 풀어 다음 이어서 생성을 받는다
+        userRequest.setStatus(UserTemplateRequestStatus.PENDING);
+        userRequest.setPartialResponse(writeDraft(partialTemplate));
+        userRequest.setDraftExpiresAt(expiresAt);
         userTemplateRequestRepository.save(userRequest);
+        return expiresAt;
     }
 
     @Transactional(readOnly = true)
-    public UserTemplateRequest findLatestPendingRequestByUserId(Long userId) {
-        return userTemplateRequestRepository.findFirstByUserIdAndStatusOrderByIdDesc(userId, UserTemplateRequestStatus.PENDING)
-                .orElse(null);
+    public UserTemplateRequest getOwnedDraftRequest(Long userRequestId, Long userId) {
+        UserTemplateRequest userRequest = userTemplateRequestRepository.findById(userRequestId)
+                .orElseThrow(() -> new TemplateException(TemplateErrorCode.TEMPLATE_REQUEST_NOT_FOUND));
+
+        if (!userRequest.getUserId().equals(userId)) {
+            throw new TemplateException(TemplateErrorCode.FORBIDDEN_TEMPLATE);
+        }
+        if (userRequest.getStatus() == UserTemplateRequestStatus.EXPIRED
+                || (userRequest.getDraftExpiresAt() != null && userRequest.getDraftExpiresAt().isBefore(LocalDateTime.now()))) {
+            throw new TemplateException(TemplateErrorCode.DRAFT_EXPIRED);
+        }
+        if (userRequest.getStatus() == UserTemplateRequestStatus.IN_PROGRESS) {
+            throw new TemplateException(TemplateErrorCode.DRAFT_IN_PROGRESS);
+        }
+        if (userRequest.getStatus() != UserTemplateRequestStatus.PENDING || userRequest.getPartialResponse() == null) {
+            throw new TemplateException(TemplateErrorCode.DRAFT_NOT_FOUND);
+        }
+        return userRequest;
+    }
+
+    public AiTemplateResponse readDraft(UserTemplateRequest userRequest) {
+        try {
+            return objectMapper.readValue(userRequest.getPartialResponse(), AiTemplateResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored draft is not a valid AiTemplateResponse. requestId=" + userRequest.getId(), e);
+        }
+    }
+
+    @Transactional
+    public int expireAbandonedDrafts(LocalDateTime now) {
+        return userTemplateRequestRepository.expireAbandonedDrafts(
+                List.of(UserTemplateRequestStatus.PENDING, UserTemplateRequestStatus.IN_PROGRESS),
+                UserTemplateRequestStatus.EXPIRED, now);
+    }
+
+    private String writeDraft(AiTemplateResponse partialTemplate) {
+        try {
+            return objectMapper.writeValueAsString(partialTemplate);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize AI draft", e);
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateStatusEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * 배치 단위로 웹훅(JSON 배열)을 호출한다. 2xx가 아니면 RestClient가 예외를 던져 다음 주기에 재전송된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "template.outbox", name = "sink", havingValue = "webhook")
+public class WebhookTemplateEventSink implements TemplateEventSink {
+
+    private final RestClient restClient;
+
+    public WebhookTemplateEventSink(
+            RestClient.Builder restClientBuilder,
+            @Value("${template.outbox.webhook-url}") String webhookUrl
+    ) {
+        this.restClient = restClientBuilder.baseUrl(webhookUrl).build();
+    }
+
+    @Override
+    public void publish(List<TemplateStatusEvent> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
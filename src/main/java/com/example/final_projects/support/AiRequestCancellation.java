@@ -0,0 +1,65 @@
+package com.example.final_projects.support;
+
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 다른 스레드에서 진행 중인 AI HTTP 호출을 끊기 위한 취소 토큰.
+ * blocking 소켓 읽기는 인터럽트로 멈추지 않으므로, 실행 체인에서 잡아 둔 연결(endpoint)을 직접 폐기해서 중단시킨다.
+ */
+public final class AiRequestCancellation {
+
+    private static final ThreadLocal<AiRequestCancellation> CURRENT = new ThreadLocal<>();
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Runnable abortAction;
+
+    public <T> T runWith(Supplier<T> call) {
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            Runnable action = abortAction;
+            if (action != null) {
+                action.run();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private void onCancel(Runnable action) {
+        this.abortAction = action;
+        // cancel()과 경합하더라도 둘 중 하나는 반드시 abortAction을 실행한다 (중복 실행은 무해)
+        if (cancelled.get()) {
+            action.run();
+        }
+    }
+
+    /**
+     * CONNECT 이후에 배치한다. 현재 스레드에 취소 토큰이 있으면 연결 폐기 동작을 등록한다.
+     */
+    public static ExecChainHandler execChainHandler() {
+        return (request, scope, chain) -> {
+            AiRequestCancellation cancellation = CURRENT.get();
+            if (cancellation != null) {
+                if (cancellation.isCancelled()) {
+                    throw new InterruptedIOException("AI request cancelled");
+                }
+                cancellation.onCancel(scope.execRuntime::discardEndpoint);
+            }
+            return chain.proceed(request, scope);
+        };
+    }
+}
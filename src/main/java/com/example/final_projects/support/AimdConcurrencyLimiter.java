@@ -0,0 +1,110 @@
+package com.example.final_projects.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 관측한 지연 시간에 따라 동시 처리 한도를 조절하는 AIMD 리미터.
+ * - 과부하 신호(AI 5xx/타임아웃)나 지연이 장기 평균의 tolerance 배를 넘으면 한도 * backoffRatio (곱셈 감소)
+ * - 한도의 절반 이상을 쓰는 중에 정상 응답이 오면 1/한도 씩 증가 → 한도만큼 응답이 돌아올 때마다 +1 (덧셈 증가)
+ * 모든 상태는 CAS로만 갱신한다.
+ */
+public final class AimdConcurrencyLimiter {
+
+    private static final double LATENCY_EWMA_ALPHA = 0.05;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToLongBits(0.0));
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(clamp(initialLimit)));
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    /**
+     * @return 한도 안이면 획득 시점의 동시 처리 수(1 이상), 한도 초과면 -1
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void onSuccess(int inFlightAtAcquire, long latencyNanos) {
+        inFlight.decrementAndGet();
+        double ewma = updateLatencyEwma(latencyNanos);
+        if (latencyNanos > ewma * latencyTolerance) {
+            decrease();
+        } else if (inFlightAtAcquire * 2 >= getLimit()) {
+            updateLimit(limit -> limit + 1.0 / limit);
+        }
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        decrease();
+    }
+
+    // 과부하와 무관한 실패(정책 위반 등)는 한도에 반영하지 않는다
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getLatencyEwmaNanos() {
+        return (long) Double.longBitsToDouble(latencyEwmaBits.get());
+    }
+
+    private void decrease() {
+        updateLimit(limit -> limit * backoffRatio);
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        while (true) {
+            long currentBits = limitBits.get();
+            double next = clamp(update.applyAsDouble(Double.longBitsToDouble(currentBits)));
+            if (limitBits.compareAndSet(currentBits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private double updateLatencyEwma(long latencyNanos) {
+        while (true) {
+            long currentBits = latencyEwmaBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double next = current == 0.0
+                    ? latencyNanos
+                    : current + LATENCY_EWMA_ALPHA * (latencyNanos - current);
+            if (latencyEwmaBits.compareAndSet(currentBits, Double.doubleToLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.final_projects.support;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 줄 단위로 읽되 한 줄은 maxLineChars자까지만 메모리에 올린다.
+ * 상한을 넘는 줄은 나머지를 버리며 줄 끝까지 건너뛰고 truncated()로 알린다. 다음 줄부터는 정상적으로 읽는다.
+ * 줄바꿈은 BufferedReader.readLine과 같이 CRLF, LF, CR을 받는다.
+ * 한 글자씩 읽으므로 BufferedReader를 넘긴다.
+ */
+public class BoundedLineReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxLineChars;
+    private final StringBuilder buffer = new StringBuilder();
+    private int pushedBack = -2;
+    private boolean truncated;
+
+    public BoundedLineReader(Reader reader, int maxLineChars) {
+        this.reader = reader;
+        this.maxLineChars = maxLineChars;
+    }
+
+    /**
+     * @return 줄바꿈을 뺀 다음 줄. 더 없으면 null. 상한을 넘은 줄은 앞 maxLineChars자만 돌려준다
+     */
+    public String readLine() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        buffer.setLength(0);
+        truncated = false;
+        while (c != EOF && c != '\n' && c != '\r') {
+            if (buffer.length() < maxLineChars) {
+                buffer.append((char) c);
+            } else {
+                truncated = true;
+            }
+            c = read();
+        }
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                unread(next);
+            }
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * 마지막으로 읽은 줄이 maxLineChars자를 넘었는지
+     */
+    public boolean truncated() {
+        return truncated;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
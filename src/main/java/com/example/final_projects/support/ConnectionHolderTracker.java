@@ -0,0 +1,105 @@
+package com.example.final_projects.support;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 풀에서 빌려 간 뒤 아직 반납하지 않은 커넥션을 누가 들고 있는지 기록한다.
+ * 빌릴 때 스레드, 요청(메서드 + URI), 커넥션을 요청한 애플리케이션 코드 위치를 남기고 close 시 지운다.
+ * 코드 위치는 StackWalker로 이 패키지와 DataSource 래퍼를 제외한 첫 애플리케이션 프레임부터 몇 개만 읽는다.
+ */
+public class ConnectionHolderTracker {
+
+    private static final String APP_PACKAGE = "com.example.final_projects.";
+    private static final int CODE_PATH_FRAMES = 3;
+    // 래퍼 DataSource 프레임은 건너뛰기 위해 클래스 참조를 유지한다
+    private static final StackWalker CODE_PATH_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final boolean captureCodePath;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Holder> holders = new ConcurrentHashMap<>();
+
+    public ConnectionHolderTracker(boolean captureCodePath) {
+        this.captureCodePath = captureCodePath;
+    }
+
+    public Connection track(Connection connection, String pool) {
+        long id = sequence.incrementAndGet();
+        holders.put(id, new Holder(pool, Thread.currentThread().getName(), currentRequest(),
+                captureCodePath ? currentCodePath() : null, System.nanoTime()));
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "close" -> holders.remove(id);
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * @return 오래 들고 있는 순으로 정렬한 현재 보유 목록
+     */
+    public List<Holder> holders() {
+        List<Holder> snapshot = new ArrayList<>(holders.values());
+        snapshot.sort(Comparator.comparingLong(Holder::acquiredAtNanos));
+        return snapshot;
+    }
+
+    public int size() {
+        return holders.size();
+    }
+
+    private static String currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getMethod() + " " + servletAttributes.getRequest().getRequestURI();
+        }
+        return null;
+    }
+
+    private static String currentCodePath() {
+        return CODE_PATH_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().startsWith(APP_PACKAGE + "support.")
+                        && !frame.getClassName().contains("$$")
+                        && !DataSource.class.isAssignableFrom(frame.getDeclaringClass()))
+                .limit(CODE_PATH_FRAMES)
+                .map(frame -> frame.getClassName().substring(APP_PACKAGE.length()) + "." + frame.getMethodName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" < ")));
+    }
+
+    public record Holder(String pool, String thread, String request, String codePath, long acquiredAtNanos) {
+
+        public long heldMs() {
+            return (System.nanoTime() - acquiredAtNanos) / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.final_projects.support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV를 레코드 단위로 읽는다. 파일 전체가 아니라 레코드 하나만 메모리에 올린다.
+ * - 따옴표로 감싼 필드 안의 구분자/줄바꿈과 "" 이스케이프를 처리한다
+ * - 줄바꿈은 CRLF, LF 모두 받는다. 첫 레코드 앞의 UTF-8 BOM은 건너뛴다
+ * - 닫히지 않은 따옴표 등으로 레코드 경계를 찾을 수 없으면 MalformedCsvException으로 중단한다
+ * 한 글자씩 읽으므로 BufferedReader를 넘긴다.
+ */
+public class CsvRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final int maxRecordChars;
+    private final StringBuilder field = new StringBuilder();
+    private int pushedBack = -2;
+    private long line = 1;
+    private long recordLine;
+    private boolean first = true;
+
+    public CsvRecordReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * @return 다음 레코드의 필드 목록. 더 없으면 null. 빈 줄은 건너뛴다
+     */
+    public List<String> next() throws IOException {
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() > 1 || !record.getFirst().isEmpty()) {
+                return record;
+            }
+        }
+    }
+
+    /**
+     * 마지막으로 읽은 레코드가 시작된 줄 번호 (1부터)
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (first) {
+            first = false;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean afterQuote = false;
+        field.setLength(0);
+        while (true) {
+            if (++recordChars > maxRecordChars) {
+                throw new MalformedCsvException(recordLine + "번째 줄의 레코드가 " + maxRecordChars + "자를 넘습니다");
+            }
+            if (quoted) {
+                if (c == EOF) {
+                    throw new MalformedCsvException(recordLine + "번째 줄에서 시작한 따옴표가 닫히지 않았습니다");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (c != EOF) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.isEmpty() && !afterQuote) {
+                quoted = true;
+            } else {
+                // 닫는 따옴표 뒤의 문자나 따옴표 없는 필드 중간의 따옴표는 그대로 값으로 받는다
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    public static class MalformedCsvException extends IOException {
+        public MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.final_projects.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키(사용자)별 토큰 버킷. GCRA(generic cell rate algorithm) 형태라 키마다 AtomicLong 하나(다음 허용 시각)만 CAS로 갱신한다.
+ * 키별로 상태가 나뉘어 있으므로 사용자 간 경합이 없고, 거절 시 다음 허용까지 남은 시간을 그대로 돌려줄 수 있다.
+ */
+public final class GcraRateLimiter<K> {
+
+    private final ConcurrentHashMap<K, AtomicLong> theoreticalArrivals = new ConcurrentHashMap<>();
+    private final long origin = System.nanoTime();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public GcraRateLimiter(int permitsPerMinute, int burst) {
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+    }
+
+    /**
+     * @return 허용되면 0, 거절되면 다음 요청이 허용될 때까지 남은 시간(nanos)
+     */
+    public long tryAcquire(K key) {
+        AtomicLong arrival = theoreticalArrivals.computeIfAbsent(key, k -> new AtomicLong());
+        while (true) {
+            long now = now();
+            long current = arrival.get();
+            long base = Math.max(current, now);
+            long ahead = base - now;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (arrival.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 버킷이 가득 찬(= 상태를 잊어도 되는) 키를 정리한다.
+     * 정리 직전에 잡아 둔 카운터로 허용된 요청은 다음 요청에서 새 버킷으로 시작하므로 최대 1회 정도 느슨해질 수 있다.
+     */
+    public void evictIdle() {
+        long now = now();
+        theoreticalArrivals.values().removeIf(arrival -> arrival.get() <= now);
+    }
+
+    public int size() {
+        return theoreticalArrivals.size();
+    }
+
+    private long now() {
+        return System.nanoTime() - origin;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.final_projects.support;
+
+import com.example.final_projects.dto.ApiResult;
+import com.example.final_projects.dto.PageResponse;
+import com.example.final_projects.dto.template.AiApiResponse;
+import com.example.final_projects.dto.template.AiTemplateResponse;
+import com.example.final_projects.dto.template.AiTemplateStreamEvent;
+import com.example.final_projects.dto.template.TemplateExportRecord;
+import com.example.final_projects.dto.template.TemplateImportEvent;
+import com.example.final_projects.dto.template.TemplateImportRecord;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자주 오가는 페이로드 타입의 ObjectReader/ObjectWriter를 한 번만 만들어 공유한다.
+ * 루트 타입이 고정되어 있어 호출마다 타입 확인/Reader·Writer 생성을 하지 않고, 루트 (역)직렬화기도 첫 호출 이후 재사용한다.
+ * Reader/Writer는 불변이라 스레드 간 공유해도 안전하다. 애플리케이션 ObjectMapper 설정(모듈, 날짜 형식 등)을 그대로 따른다.
+ */
+@Component
+public class JsonCodecs {
+
+    private final ObjectReader aiTemplateResponseReader;
+    private final ObjectReader aiErrorResponseReader;
+    private final ObjectReader aiStreamEventReader;
+    private final ObjectWriter templateResponseWriter;
+    private final ObjectWriter templatePageWriter;
+    private final ObjectWriter templateLineWriter;
+    private final ObjectWriter buttonsWriter;
+    private final ObjectWriter variablesWriter;
+    private final ObjectWriter importEventLineWriter;
+    private final ObjectReader importRecordReader;
+    private final ObjectReader importButtonsReader;
+    private final ObjectReader importVariablesReader;
+    private final JsonFactory jsonFactory;
+    private final TypeFactory typeFactory;
+    // 컨트롤러 반환 타입 → 고정 Writer (JsonCodecsHttpMessageConverter가 사용)
+    private final Map<JavaType, ObjectWriter> responseWriters;
+
+    public JsonCodecs(ObjectMapper objectMapper) {
+        TypeFactory types = objectMapper.getTypeFactory();
+        this.aiTemplateResponseReader = objectMapper.readerFor(
+                types.constructParametricType(AiApiResponse.class, AiTemplateResponse.class));
+        // 에러 응답에서는 error만 쓰므로 data는 타입 없이 트리로 받는다
+        this.aiErrorResponseReader = objectMapper.readerFor(
+                types.constructParametricType(AiApiResponse.class, JsonNode.class));
+        this.aiStreamEventReader = objectMapper.readerFor(AiTemplateStreamEvent.class);
+        this.templateResponseWriter = objectMapper.writerFor(
+                types.constructParametricType(ApiResult.class, TemplateResponse.class));
+        JavaType templatePageType = types.constructParametricType(ApiResult.class,
+                types.constructParametricType(PageResponse.class, TemplateResponse.class));
+        this.templatePageWriter = objectMapper.writerFor(templatePageType);
+        // 내보내기(NDJSON)는 한 줄에 한 건이어야 하고, 줄마다 flush하면 작은 write가 쏟아지므로 둘 다 끈다
+        this.templateLineWriter = objectMapper.writerFor(TemplateExportRecord.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.buttonsWriter = objectMapper.writerFor(
+                types.constructCollectionType(List.class, TemplateExportRecord.ButtonExport.class));
+        this.variablesWriter = objectMapper.writerFor(
+                types.constructCollectionType(List.class, TemplateResponse.VariableResponse.class));
+        this.importEventLineWriter = objectMapper.writerFor(TemplateImportEvent.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.importRecordReader = objectMapper.readerFor(TemplateImportRecord.class);
+        this.importButtonsReader = objectMapper.readerFor(
+                types.constructCollectionType(List.class, TemplateImportRecord.ButtonDto.class));
+        this.importVariablesReader = objectMapper.readerFor(
+                types.constructCollectionType(List.class, TemplateImportRecord.VariableDto.class));
+        this.jsonFactory = objectMapper.getFactory();
+        this.typeFactory = types;
+        this.responseWriters = Map.of(templatePageType, templatePageWriter);
+    }
+
+    public AiApiResponse<AiTemplateResponse> readAiTemplateResponse(byte[] body) throws IOException {
+        return aiTemplateResponseReader.readValue(body);
+    }
+
+    public AiApiResponse<JsonNode> readAiErrorResponse(byte[] body) throws IOException {
+        return aiErrorResponseReader.readValue(body);
+    }
+
+    public AiTemplateStreamEvent readAiStreamEvent(String payload) throws IOException {
+        return aiStreamEventReader.readValue(payload);
+    }
+
+    public byte[] writeTemplateResponse(ApiResult<TemplateResponse> result) throws JsonProcessingException {
+        return templateResponseWriter.writeValueAsBytes(result);
+    }
+
+    public byte[] writeTemplatePage(ApiResult<PageResponse<TemplateResponse>> result) throws JsonProcessingException {
+        return templatePageWriter.writeValueAsBytes(result);
+    }
+
+    /**
+     * 응답 본문 타입에 맞는 고정 Writer. 없으면 null이다.
+     * 모든 응답마다 불리므로 ApiResult가 아닌 타입은 JavaType을 만들지 않고 바로 거른다.
+     */
+    public ObjectWriter responseWriterFor(Type type) {
+        if (!(type instanceof ParameterizedType parameterized) || parameterized.getRawType() != ApiResult.class) {
+            return null;
+        }
+        return responseWriters.get(typeFactory.constructType(type));
+    }
+
+    /**
+     * NDJSON 출력용 generator. 루트 값 사이 구분자는 쓰지 않고(줄바꿈은 writeTemplateLine이 쓴다), 닫아도 out은 닫지 않는다.
+     */
+    public JsonGenerator createLineGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    public void writeTemplateLine(JsonGenerator generator, TemplateExportRecord template) throws IOException {
+        templateLineWriter.writeValue(generator, template);
+        generator.writeRaw('\n');
+    }
+
+    public String writeButtons(List<TemplateExportRecord.ButtonExport> buttons) throws JsonProcessingException {
+        return buttonsWriter.writeValueAsString(buttons);
+    }
+
+    public String writeVariables(List<TemplateResponse.VariableResponse> variables) throws JsonProcessingException {
+        return variablesWriter.writeValueAsString(variables);
+    }
+
+    public void writeImportEventLine(JsonGenerator generator, TemplateImportEvent event) throws IOException {
+        importEventLineWriter.writeValue(generator, event);
+        generator.writeRaw('\n');
+    }
+
+    public TemplateImportRecord readImportRecord(String line) throws JsonProcessingException {
+        return importRecordReader.readValue(line);
+    }
+
+    public List<TemplateImportRecord.ButtonDto> readImportButtons(String json) throws JsonProcessingException {
+        return importButtonsReader.readValue(json);
+    }
+
+    public List<TemplateImportRecord.VariableDto> readImportVariables(String json) throws JsonProcessingException {
+        return importVariablesReader.readValue(json);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.final_projects.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JsonCodecs에 고정 Writer가 있는 응답 타입을 그 Writer로 직렬화하고, 이미 직렬화된 본문(SerializedJson)은 바이트 그대로 내보낸다.
+ * 컨트롤러는 DTO 타입을 그대로 반환하므로 springdoc 스키마가 유지되고, 직렬화만 기본 Jackson 컨버터 대신 이 컨버터가 맡는다.
+ * 요청 본문 읽기는 기본 컨버터에 맡긴다.
+ */
+public class JsonCodecsHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonCodecs jsonCodecs;
+
+    public JsonCodecsHttpMessageConverter(JsonCodecs jsonCodecs) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonCodecs = jsonCodecs;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // 제네릭 타입 인자까지 봐야 하므로 타입 정보가 없는 경로에서는 쓰지 않는다
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (SerializedJson.class.isAssignableFrom(clazz) || jsonCodecs.responseWriterFor(type) != null)
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        return body instanceof SerializedJson<?> serialized ? (long) serialized.body().length : null;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof SerializedJson<?> serialized) {
+            outputMessage.getBody().write(serialized.body());
+            return;
+        }
+        ObjectWriter writer = jsonCodecs.responseWriterFor(type);
+        try {
+            writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), body);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+}
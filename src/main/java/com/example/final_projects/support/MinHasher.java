@@ -0,0 +1,68 @@
+package com.example.final_projects.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * shingle 집합의 MinHash 서명. 두 서명에서 같은 자리의 값이 일치하는 비율이 두 집합의 Jaccard 유사도 추정치다.
+ * 해시 함수 i는 shingle의 64비트 해시에 고정 시드 i를 섞은 뒤 splitmix64로 흩뜨린 값이다.
+ */
+public final class MinHasher {
+
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.seeds = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    public long[] signature(Collection<String> shingles) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = hash64(shingle);
+            for (int i = 0; i < seeds.length; i++) {
+                long value = mix(base ^ seeds[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double estimateJaccard(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    // FNV-1a 64
+    private static long hash64(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.final_projects.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MySQL ngram 파서와 같은 규칙(ngram_token_size = 2)으로 텍스트를 자른다.
+ * 글자/숫자가 아닌 문자를 경계로 단어를 나누고, 단어 안에서만 2글자씩 겹쳐 자른다. 2글자 미만 단어는 버린다.
+ */
+public final class NgramTokenizer {
+
+    public static final int TOKEN_SIZE = 2;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NgramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(normalize(text))) {
+            if (word.length() >= TOKEN_SIZE) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    public static Set<String> ngrams(String text) {
+        Set<String> ngrams = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            for (int i = 0; i + TOKEN_SIZE <= word.length(); i++) {
+                ngrams.add(word.substring(i, i + TOKEN_SIZE));
+            }
+        }
+        return ngrams;
+    }
+}
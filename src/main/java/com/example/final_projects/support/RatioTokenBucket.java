@@ -0,0 +1,37 @@
+package com.example.final_projects.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청마다 ratio 만큼 토큰이 쌓이고(최대 maxTokens) 추가 작업(재시도, 헤지 요청 등) 1회에 토큰 1개를 쓰는 lock-free 버킷.
+ * 정상 상황의 추가 작업 비율은 대략 ratio 이하로 묶인다.
+ */
+public final class RatioTokenBucket {
+    private static final long SCALE = 1_000L;
+
+    private final long depositPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RatioTokenBucket(double ratio, int maxTokens) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    public void onRequest() {
+        balance.updateAndGet(current -> Math.min(capacity, current + depositPerRequest));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
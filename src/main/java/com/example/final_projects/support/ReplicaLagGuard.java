@@ -0,0 +1,74 @@
+package com.example.final_projects.support;
+
+import com.example.final_projects.security.CustomUserPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 복제 지연 대비용 읽기 라우팅 판단.
+ * - read-your-writes: 사용자의 쓰기 트랜잭션이 커밋된 뒤 sticky-ms 동안은 그 사용자의 읽기 전용 트랜잭션도 primary에서 읽는다
+ *   (sticky-ms는 평소 복제 지연의 상한보다 크게 잡는다)
+ * - 장애 우회: replica 커넥션을 얻지 못하면 fallback-ms 동안 모든 읽기를 primary로 보낸다
+ * 사용자는 현재 스레드의 SecurityContext에서 찾는다. 로그인 사용자가 없으면 sticky 대상이 아니다.
+ */
+public class ReplicaLagGuard {
+
+    // 만료된 항목은 조회 시 지우고, 이 크기를 넘으면 쓰기 기록 시 한 번에 정리한다
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long stickyNanos;
+    private final long fallbackNanos;
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private volatile long replicaDownUntil;
+
+    public ReplicaLagGuard(long stickyMs, long fallbackMs) {
+        this.stickyNanos = stickyMs * 1_000_000;
+        this.fallbackNanos = fallbackMs * 1_000_000;
+    }
+
+    public void markWritten(Long userId) {
+        if (userId == null || stickyNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        stickyUntil.put(userId, now + stickyNanos);
+        if (stickyUntil.size() > CLEANUP_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    public boolean isReplicaAvailable() {
+        long until = replicaDownUntil;
+        return until == 0 || until - System.nanoTime() <= 0;
+    }
+
+    public void replicaFailed() {
+        replicaDownUntil = System.nanoTime() + fallbackNanos;
+    }
+
+    public static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
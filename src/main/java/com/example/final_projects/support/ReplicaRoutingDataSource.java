@@ -0,0 +1,60 @@
+package com.example.final_projects.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 읽기 전용 트랜잭션의 커넥션을 replica에서 얻는다.
+ * 방금 쓰기를 한 사용자이거나 replica가 장애로 표시된 동안에는 primary 커넥션을 준다.
+ * replica 커넥션을 얻지 못하면 guard에 장애를 기록하고 이번 요청은 primary로 처리한다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagGuard guard;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource replica, DataSource primary, ReplicaLagGuard guard, MeterRegistry meterRegistry) {
+        super(replica);
+        this.primary = primary;
+        this.guard = guard;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (guard.isSticky(ReplicaLagGuard.currentUserId())) {
+            return primaryConnection("sticky");
+        }
+        if (!guard.isReplicaAvailable()) {
+            return primaryConnection("fallback");
+        }
+        try {
+            Connection connection = obtainTargetDataSource().getConnection();
+            count("replica", "read-only");
+            return connection;
+        } catch (SQLException e) {
+            guard.replicaFailed();
+            log.warn("Replica connection failed, routing reads to primary: {}", e.getMessage());
+            return primaryConnection("fallback");
+        }
+    }
+
+    private Connection primaryConnection(String reason) throws SQLException {
+        Connection connection = primary.getConnection();
+        count("primary", reason);
+        return connection;
+    }
+
+    private void count(String target, String reason) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("db.routing", "target", target, "reason", reason).increment();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.final_projects.support;
+
+/**
+ * 이미 직렬화된 T의 JSON 본문. JsonCodecsHttpMessageConverter가 바이트를 그대로 내보낸다.
+ * 타입 인자는 컨트롤러 반환 타입에서 springdoc 스키마를 만들 때만 쓰인다. (SwaggerConfig에서 감싼 타입으로 풀어 준다)
+ */
+public record SerializedJson<T>(byte[] body) {
+}
@@ -0,0 +1,73 @@
+package com.example.final_projects.support;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * StreamingResponseBody 응답 하나가 잡는 동시 실행 자리.
+ * 자리는 컨트롤러에서 잡아 응답을 시작하기 전에 429로 거절할 수 있게 하고, 반납은 두 곳에서 한다.
+ * 본문이 실행되면 본문이 끝날 때, 본문이 실행되지 못한 채 비동기 요청이 끝나면(타임아웃, 실행기 거절, 클라이언트 끊김)
+ * 요청 완료 콜백에서 반납한다. 둘 중 먼저 시작한 쪽만 자리를 가지므로 두 번 반납하지 않는다.
+ */
+public final class StreamingPermit {
+
+    private final Semaphore semaphore;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private StreamingPermit(Semaphore semaphore) {
+        this.semaphore = semaphore;
+    }
+
+    /**
+     * @return 자리가 없으면 null
+     */
+    public static StreamingPermit tryAcquire(Semaphore semaphore) {
+        if (!semaphore.tryAcquire()) {
+            return null;
+        }
+        StreamingPermit permit = new StreamingPermit(semaphore);
+        permit.releaseOnRequestCompletion();
+        return permit;
+    }
+
+    public StreamingResponseBody wrap(StreamingResponseBody body) {
+        return out -> {
+            if (!claimed.compareAndSet(false, true)) {
+                // 요청이 이미 끝나 자리를 반납했다. 쓸 곳도 없으므로 실행하지 않는다
+                return;
+            }
+            try {
+                body.writeTo(out);
+            } finally {
+                semaphore.release();
+            }
+        };
+    }
+
+    // 요청 스레드 밖(테스트, 배치)에서 만든 본문은 직접 실행되므로 본문 쪽 반납만으로 충분하다
+    private void releaseOnRequestCompletion() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(this, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                if (claimed.compareAndSet(false, true)) {
+                    semaphore.release();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.final_projects.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 커넥션 풀 앞에 두어 빌려 간 커넥션을 ConnectionHolderTracker에 등록한다.
+ * DelegatingDataSource라 Hikari 메트릭/헬스 구성이 unwrap으로 원래 풀을 찾을 수 있다.
+ */
+public class TrackingDataSource extends DelegatingDataSource {
+
+    private final String pool;
+    private final ConnectionHolderTracker tracker;
+
+    public TrackingDataSource(DataSource target, String pool, ConnectionHolderTracker tracker) {
+        super(target);
+        this.pool = pool;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracker.track(obtainTargetDataSource().getConnection(), pool);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracker.track(obtainTargetDataSource().getConnection(username, password), pool);
+    }
+}
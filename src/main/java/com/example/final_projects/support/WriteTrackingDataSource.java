@@ -0,0 +1,41 @@
+package com.example.final_projects.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * primary 커넥션을 쓰는 읽기-쓰기 트랜잭션이 커밋되면 현재 사용자를 guard에 기록한다.
+ * 실제로 변경했는지는 보지 않으므로 읽기만 하는 readOnly=false 트랜잭션도 sticky 구간을 연다.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReplicaLagGuard guard;
+
+    public WriteTrackingDataSource(DataSource primary, ReplicaLagGuard guard) {
+        super(primary);
+        this.guard = guard;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = obtainTargetDataSource().getConnection();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Long userId = ReplicaLagGuard.currentUserId();
+            if (userId != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        guard.markWritten(userId);
+                    }
+                });
+            }
+        }
+        return connection;
+    }
+}
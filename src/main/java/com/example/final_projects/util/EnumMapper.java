@@ -1,30 +1,56 @@
 package com.example.final_projects.util;
 
 import com.example.final_projects.exception.code.BaseErrorCode;
-import java.util.Arrays;
+
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class EnumMapper {
 
+    // enum 클래스별 code → 상수 / 기본 상수 표. 클래스당 한 번만 만들고, 클래스가 언로드되면 같이 사라진다
+    private static final ClassValue<CodeTable> CODE_TABLES = new ClassValue<>() {
+        @Override
+        protected CodeTable computeValue(Class<?> type) {
+            return CodeTable.of(type);
+        }
+    };
+
     public static <T extends Enum<T> & BaseErrorCode> Optional<T> fromCode(Class<T> enumClass, String code) {
         if (code == null || enumClass == null) {
             return Optional.empty();
         }
 
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(e -> e.getErrorReason().getCode().equals(code))
-                .findFirst();
+        return Optional.ofNullable(enumClass.cast(CODE_TABLES.get(enumClass).byCode().get(code)));
     }
 
     public static <T extends Enum<T> & BaseErrorCode> T getFallback(Class<T> enumClass) {
         if (enumClass == null) return null;
 
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(BaseErrorCode::isDefault)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException(
-                        String.format("%s Enum에 'isDefault() == true'인 상수가 정의되지 않았습니다. " +
-                                "AOP가 사용할 기본 에러 코드를 지정해주세요", enumClass.getName())
-                ));
+        BaseErrorCode fallback = CODE_TABLES.get(enumClass).fallback();
+        if (fallback == null) {
+            throw new IllegalStateException(
+                    String.format("%s Enum에 'isDefault() == true'인 상수가 정의되지 않았습니다. " +
+                            "AOP가 사용할 기본 에러 코드를 지정해주세요", enumClass.getName())
+            );
+        }
+        return enumClass.cast(fallback);
+    }
+
+    private record CodeTable(Map<String, BaseErrorCode> byCode, BaseErrorCode fallback) {
+
+        // 같은 code가 여러 번 나오면 선언 순서상 앞의 상수를 쓴다 (기존 선형 탐색과 같은 결과)
+        static CodeTable of(Class<?> type) {
+            Map<String, BaseErrorCode> byCode = new HashMap<>();
+            BaseErrorCode fallback = null;
+            for (Object constant : type.getEnumConstants()) {
+                BaseErrorCode errorCode = (BaseErrorCode) constant;
+                byCode.putIfAbsent(errorCode.getErrorReason().getCode(), errorCode);
+                if (fallback == null && errorCode.isDefault()) {
+                    fallback = errorCode;
+                }
+            }
+            return new CodeTable(Map.copyOf(byCode), fallback);
+        }
     }
-}
\ No newline at end of file
+}
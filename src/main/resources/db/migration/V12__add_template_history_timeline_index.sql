@@ -0,0 +1,3 @@
+-- 템플릿별 이력 타임라인(최신순 페이지 조회)과 템플릿별 최신 상태 조회용
+CREATE INDEX idx_template_history_template_created
+    ON template_history (template_id, created_at, id);
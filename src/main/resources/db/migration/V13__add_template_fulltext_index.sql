@@ -0,0 +1,3 @@
+-- 제목/본문 전문 검색. 한글은 공백 단위 토큰화로는 부분 일치가 안 되므로 ngram 파서(ngram_token_size 기본 2)를 사용
+ALTER TABLE template
+    ADD FULLTEXT INDEX ft_template_title_content (title, content) WITH PARSER ngram;
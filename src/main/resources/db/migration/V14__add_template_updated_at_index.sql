@@ -0,0 +1,2 @@
+-- 공개 갤러리 증분 갱신(updated_at >= 마지막 반영 시각) 조회용
+CREATE INDEX idx_template_updated_at ON template (updated_at);
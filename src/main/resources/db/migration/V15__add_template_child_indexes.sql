@@ -0,0 +1,6 @@
+-- 템플릿 내보내기(사용자별 템플릿 + 버튼/변수/업종/목적 UNION ALL 조회)용
+CREATE INDEX idx_template_user_id ON template (user_id, id);
+CREATE INDEX idx_template_button_template ON template_button (template_id, ordering);
+CREATE INDEX idx_template_variable_template ON template_variable (template_id);
+CREATE INDEX idx_template_industry_template ON template_industry (template_id);
+CREATE INDEX idx_template_purpose_template ON template_purpose (template_id);
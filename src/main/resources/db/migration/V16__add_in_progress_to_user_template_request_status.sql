@@ -0,0 +1,3 @@
+-- 이어서 생성 중인 초안 (동시에 두 번 이어서 생성하지 않도록 선점)
+ALTER TABLE user_template_request
+    MODIFY COLUMN status ENUM('PENDING','IN_PROGRESS','COMPLETED','FAILED','EXPIRED') NOT NULL DEFAULT 'PENDING';
@@ -0,0 +1,5 @@
+ALTER TABLE user_template_request
+    MODIFY COLUMN status ENUM('PENDING','COMPLETED','FAILED','EXPIRED') NOT NULL DEFAULT 'PENDING',
+    ADD COLUMN partial_response LONGTEXT NULL AFTER status,
+    ADD COLUMN draft_expires_at TIMESTAMP NULL AFTER partial_response,
+    ADD INDEX idx_user_template_request_draft (status, draft_expires_at);
@@ -0,0 +1,58 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.security.WithMockCustomUser;
+import com.example.final_projects.support.MailService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,dbconnections,sqlstats")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public MailService mailService() {
+            return Mockito.mock(MailService.class);
+        }
+    }
+
+    @Test
+    @DisplayName("비로그인 사용자는 health는 볼 수 있지만 SQL/커넥션 진단 엔드포인트는 401")
+    void anonymous_cannot_reach_diagnostics_endpoints() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/dbconnections")).andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/sqlstats")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockCustomUser(id = 120L, roles = "USER")
+    @DisplayName("일반 사용자가 진단 엔드포인트를 호출하거나 SQL 통계를 초기화하면 403")
+    void user_cannot_reach_diagnostics_endpoints() throws Exception {
+        mockMvc.perform(get("/actuator/dbconnections")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/sqlstats")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockCustomUser(id = 121L, roles = "ADMIN")
+    @DisplayName("관리자는 커넥션 진단 엔드포인트를 볼 수 있다")
+    void admin_can_reach_diagnostics_endpoints() throws Exception {
+        mockMvc.perform(get("/actuator/dbconnections")).andExpect(status().isOk());
+    }
+}
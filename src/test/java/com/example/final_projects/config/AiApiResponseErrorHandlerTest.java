@@ -0,0 +1,143 @@
+package com.example.final_projects.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.final_projects.dto.template.AiErrorResponse;
+import com.example.final_projects.exception.RawExternalApiException;
+import com.example.final_projects.support.JsonCodecs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.apache.hc.core5.http.io.EofSensorWatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class AiApiResponseErrorHandlerTest {
+
+    private static final int MAX_BODY_BYTES = 100;
+    private static final int LOG_CHARS = 10;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AiApiResponseErrorHandler.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("max-bytes를 넘는 본문은 파싱하지 않고, 예외 메시지와 로그에는 log-chars까지만 남긴다")
+    void truncated_body_is_capped_in_message_and_log() {
+        AiApiResponseErrorHandler handler = handler(30);
+        String body = "<html>" + "x".repeat(MAX_BODY_BYTES * 2) + "</html>";
+
+        RawExternalApiException e = handle(handler, body);
+
+        AiErrorResponse error = e.getRawErrorResponse(AiErrorResponse.class);
+        assertThat(error.code()).isEqualTo("PARSING_FAILED");
+        assertThat(error.message()).isEqualTo("Failed to parse error response: " + body.substring(0, LOG_CHARS) + "...");
+        assertThat(errorLogs()).singleElement().satisfies(message -> {
+            assertThat(message).contains("Body (100 bytes+)");
+            assertThat(message).endsWith(body.substring(0, LOG_CHARS) + "...");
+        });
+    }
+
+    @Test
+    @DisplayName("max-bytes를 넘는 본문은 남은 바이트를 읽지 않고 연결을 버린다 (HC5 close는 본문을 끝까지 읽는다)")
+    void truncated_body_aborts_the_connection_instead_of_draining_it() {
+        List<String> events = new ArrayList<>();
+        EofSensorWatcher watcher = new EofSensorWatcher() {
+            @Override
+            public boolean eofDetected(InputStream wrapped) {
+                events.add("eof");
+                return true;
+            }
+
+            @Override
+            public boolean streamClosed(InputStream wrapped) {
+                events.add("closed");
+                return true;
+            }
+
+            @Override
+            public boolean streamAbort(InputStream wrapped) {
+                events.add("abort");
+                return true;
+            }
+        };
+        byte[] body = ("<html>" + "x".repeat(MAX_BODY_BYTES * 2) + "</html>").getBytes(StandardCharsets.UTF_8);
+        InputStream stream = new EofSensorInputStream(new ByteArrayInputStream(body), watcher);
+        MockClientHttpResponse response = new MockClientHttpResponse(stream, HttpStatus.SERVICE_UNAVAILABLE);
+
+        catchThrowableOfType(() -> handler(30).handleError(response), RawExternalApiException.class);
+
+        assertThat(events).containsExactly("abort");
+    }
+
+    @Test
+    @DisplayName("짧은 본문은 그대로 메시지에 담는다")
+    void short_body_is_kept_as_is() {
+        RawExternalApiException e = handle(handler(30), "oops");
+
+        assertThat(e.getRawErrorResponse(AiErrorResponse.class).message()).isEqualTo("Failed to parse error response: oops");
+    }
+
+    @Test
+    @DisplayName("상태 코드별 분당 한도를 넘는 에러 로그는 생략하고, 생략한 건수를 다음 로그에 남긴다")
+    void error_logs_are_rate_limited_per_status() {
+        AiApiResponseErrorHandler handler = handler(2);
+
+        for (int i = 0; i < 5; i++) {
+            handle(handler, "<html>down</html>");
+        }
+
+        // 분당 2건 → 두 번째 이후는 모두 생략
+        assertThat(errorLogs()).filteredOn(message -> message.startsWith("AI server returned an error")).hasSize(2);
+        assertThat(errorLogs()).noneMatch(message -> message.contains("suppressed"));
+
+        // 다른 상태 코드는 별도 한도라 바로 기록되고, 앞서 생략된 3건을 알린다
+        handle(handler, "<html>gateway</html>", HttpStatus.BAD_GATEWAY);
+        assertThat(errorLogs()).last().isEqualTo("3 AI error logs were suppressed by the log rate limit");
+    }
+
+    private static AiApiResponseErrorHandler handler(int logsPerMinute) {
+        return new AiApiResponseErrorHandler(new JsonCodecs(new ObjectMapper()), MAX_BODY_BYTES, LOG_CHARS, logsPerMinute);
+    }
+
+    private static RawExternalApiException handle(AiApiResponseErrorHandler handler, String body) {
+        return handle(handler, body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static RawExternalApiException handle(AiApiResponseErrorHandler handler, String body, HttpStatus status) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        return catchThrowableOfType(() -> handler.handleError(response), RawExternalApiException.class);
+    }
+
+    private List<String> errorLogs() {
+        return appender.list.stream()
+                .filter(event -> event.getLevel() == Level.ERROR)
+                .map(ILoggingEvent::getFormattedMessage)
+                .toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.support.ConnectionHolderTracker;
+import com.example.final_projects.support.TrackingDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceDiagnosticsTest {
+
+    @Test
+    @DisplayName("반납 전까지 커넥션을 빌린 코드 위치가 보이고 close하면 목록에서 빠진다")
+    void tracks_connection_holders_until_close() throws Exception {
+        ConnectionHolderTracker tracker = new ConnectionHolderTracker(true);
+        TrackingDataSource dataSource = new TrackingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:diagnostics;DB_CLOSE_DELAY=-1", "sa", ""), "primary", tracker);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(tracker.holders()).singleElement().satisfies(holder -> {
+                assertThat(holder.pool()).isEqualTo("primary");
+                assertThat(holder.thread()).isEqualTo(Thread.currentThread().getName());
+                assertThat(holder.codePath()).startsWith("config.DataSourceDiagnosticsTest.tracks_connection_holders_until_close:");
+            });
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        assertThat(tracker.holders()).isEmpty();
+
+        // JdbcTemplate처럼 Spring이 빌리고 반납하는 경로도 남지 않는다
+        new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class);
+        assertThat(tracker.size()).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.final_projects.config;
+
+import com.example.final_projects.security.CustomUserPrincipal;
+import com.example.final_projects.support.ReplicaLagGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final long WRITER_ID = 1L;
+    private static final long OTHER_ID = 2L;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    @BeforeEach
+    void setUp() {
+        // 로컬 H2 인스턴스 두 개를 primary/replica로 사용하고, 어느 쪽에서 읽었는지 marker 값으로 구분한다
+        DataSource primary = h2("routing_primary");
+        DataSource replica = h2("routing_replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        primaryJdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        primaryJdbc.update("DELETE FROM marker");
+        primaryJdbc.update("INSERT INTO marker VALUES ('primary')");
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        replicaJdbc.update("DELETE FROM marker");
+        replicaJdbc.update("INSERT INTO marker VALUES ('replica')");
+
+        DataSource routing = ReadWriteRoutingDataSourceConfig.routingDataSource(
+                primary, replica, new ReplicaLagGuard(60_000, 5_000), new SimpleMeterRegistry());
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 읽기-쓰기 트랜잭션은 primary에서 실행된다")
+    void read_only_transactions_go_to_replica() {
+        login(OTHER_ID);
+
+        String readOnly = readTx.execute(status -> marker());
+        String readWrite = writeTx.execute(status -> marker());
+
+        assertThat(readOnly).isEqualTo("replica");
+        assertThat(readWrite).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("쓰기를 커밋한 사용자의 직후 읽기는 primary로 가고 다른 사용자의 읽기는 replica로 간다")
+    void reads_stick_to_primary_right_after_the_users_write() {
+        login(WRITER_ID);
+        String beforeWrite = readTx.execute(status -> marker());
+        assertThat(beforeWrite).isEqualTo("replica");
+
+        writeTx.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO marker VALUES ('written')"));
+
+        List<String> afterWrite = readTx.execute(status ->
+                jdbcTemplate.queryForList("SELECT name FROM marker ORDER BY name", String.class));
+        assertThat(afterWrite).isEqualTo(List.of("primary", "written"));
+
+        login(OTHER_ID);
+        String otherUser = readTx.execute(status -> marker());
+        assertThat(otherUser).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("롤백된 쓰기는 sticky 구간을 열지 않는다")
+    void rolled_back_write_does_not_stick() {
+        login(WRITER_ID);
+
+        writeTx.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO marker VALUES ('written')");
+            status.setRollbackOnly();
+        });
+
+        String afterRollback = readTx.execute(status -> marker());
+        assertThat(afterRollback).isEqualTo("replica");
+        assertThat(primaryJdbc.queryForObject("SELECT COUNT(*) FROM marker", Integer.class)).isEqualTo(1);
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void login(long userId) {
+        CustomUserPrincipal principal = new CustomUserPrincipal(userId, "user" + userId + "@example.com", "", List.of("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
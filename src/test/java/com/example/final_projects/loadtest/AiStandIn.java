@@ -0,0 +1,106 @@
+package com.example.final_projects.loadtest;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import org.springframework.http.MediaType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * 부하 테스트용 AI 서버 대역.
+ * - 지연: 로그정규분포 (loadtest.ai.median-ms, loadtest.ai.sigma). 실제 LLM 응답처럼 꼬리가 길다
+ * - 오류: loadtest.ai.error-rate 비율로 503 UPSTREAM_UNAVAILABLE, loadtest.ai.timeout-rate 비율로 PROCESSING_TIMEOUT(재시도 대상)
+ * 오류 응답도 같은 지연을 거친 뒤 나간다.
+ */
+final class AiStandIn {
+
+    static final double MEDIAN_MS = Double.parseDouble(System.getProperty("loadtest.ai.median-ms", "800"));
+    static final double SIGMA = Double.parseDouble(System.getProperty("loadtest.ai.sigma", "0.4"));
+    static final double ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.ai.error-rate", "0.02"));
+    static final double TIMEOUT_RATE = Double.parseDouble(System.getProperty("loadtest.ai.timeout-rate", "0.01"));
+
+    private static final String TEMPLATE_RESPONSE = """
+            {
+              "data": {
+                "id": null, "userId": null, "categoryId": "004001", "title": "카페 이벤트",
+                "content": "안녕하세요. #{카페이름}입니다.\\n\\n[광고] 카페 오픈 이벤트 안내\\n\\n■ 이벤트 기간: #{이벤트기간}\\n■ 이벤트 내용: #{이벤트내용}\\n\\n자세한 내용은 아래 링크에서 확인해 주세요.\\n#{이벤트URL}\\n\\n문의: #{전화번호}\\n무료 수신거부: #{수신거부번호}",
+                "imageUrl": null, "type": "MESSAGE", "isPublic": false,
+                "buttons": [
+                  {"name": "확인하기", "linkMo": "https://mycafe.com/event", "linkPc": "https://mycafe.com/event",
+                   "linkAnd": null, "linkIos": null, "linkType": "WL", "ordering": 1}
+                ],
+                "variables": [
+                  {"id": 1, "variableKey": "이벤트기간", "placeholder": "#{이벤트기간}", "inputType": "TEXT"},
+                  {"id": 2, "variableKey": "이벤트URL", "placeholder": "#{이벤트URL}", "inputType": "TEXT"},
+                  {"id": 3, "variableKey": "전화번호", "placeholder": "#{전화번호}", "inputType": "TEXT"},
+                  {"id": 4, "variableKey": "수신거부번호", "placeholder": "#{수신거부번호}", "inputType": "TEXT"},
+                  {"id": 5, "variableKey": "카페이름", "placeholder": "#{카페이름}", "inputType": "TEXT"},
+                  {"id": 6, "variableKey": "이벤트내용", "placeholder": "#{이벤트내용}", "inputType": "TEXT"}
+                ],
+                "industries": [{"id": 4, "name": "공연/행사"}],
+                "purposes": [{"id": 8, "name": "예약"}]
+              }, "message": null, "error": null
+            }
+            """;
+
+    private AiStandIn() {
+    }
+
+    static WireMockExtension extension() {
+        WireMockConfiguration options = wireMockConfig()
+                .dynamicPort()
+                .containerThreads(200)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(50)
+                .extensions(new RandomFailureTransformer());
+        return WireMockExtension.newInstance().options(options).build();
+    }
+
+    static void stub(WireMockExtension server) {
+        server.stubFor(WireMock.post("/ai/templates")
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(TEMPLATE_RESPONSE)
+                        .withLogNormalRandomDelay(MEDIAN_MS, SIGMA)));
+    }
+
+    static String describe() {
+        return "median=%.0fms sigma=%.2f error=%.3f timeout=%.3f".formatted(MEDIAN_MS, SIGMA, ERROR_RATE, TIMEOUT_RATE);
+    }
+
+    private static final class RandomFailureTransformer implements ResponseDefinitionTransformerV2 {
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            ResponseDefinition original = serveEvent.getResponseDefinition();
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < ERROR_RATE) {
+                return failure(original, 503, "UPSTREAM_UNAVAILABLE");
+            }
+            if (roll < ERROR_RATE + TIMEOUT_RATE) {
+                return failure(original, 504, "PROCESSING_TIMEOUT");
+            }
+            return original;
+        }
+
+        private static ResponseDefinition failure(ResponseDefinition original, int status, String code) {
+            return ResponseDefinitionBuilder.like(original).but()
+                    .withStatus(status)
+                    .withBody("{\"data\": null, \"message\": null, \"error\": {\"code\": \"" + code + "\", \"message\": \"load test\"}}")
+                    .build();
+        }
+
+        @Override
+        public String getName() {
+            return "random-failure";
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.final_projects.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 측정값 수집과 결과/기준선(baseline) 파일 처리.
+ * - 요청별 지연: HdrHistogram (마이크로초, 유효숫자 3자리)
+ * - Hikari: hikaricp.connections.acquire 타이머의 구간 변화량 + 대기 스레드 수를 100ms마다 표본 추출
+ * - GC: GarbageCollectorMXBean 횟수/누적 시간의 구간 변화량
+ * 결과는 target/loadtest/에 JSON으로 남기고, 기준선 파일이 있으면 비교해 출력한다.
+ */
+final class LoadTestReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final long PENDING_SAMPLE_INTERVAL_MS = 100;
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final HikariPoolMXBean hikariPool;
+    private final AtomicBoolean sampling = new AtomicBoolean();
+    private final Histogram pendingSamples = new Histogram(10_000, 2);
+    private int maxPending;
+
+    private volatile long startedAtNanos;
+    private volatile long finishedAtNanos;
+    private AcquireSnapshot acquireAtStart;
+    private GcSnapshot gcAtStart;
+    private Result result;
+
+    LoadTestReport(MeterRegistry meterRegistry, HikariPoolMXBean hikariPool) {
+        this.meterRegistry = meterRegistry;
+        this.hikariPool = hikariPool;
+    }
+
+    void record(String operation, int status, long elapsedNanos) {
+        if (startedAtNanos == 0 || finishedAtNanos != 0) {
+            return;
+        }
+        operations.computeIfAbsent(operation, key -> new Operation()).record(status, elapsedNanos);
+    }
+
+    // 워밍업이 끝난 시점부터 측정한다
+    void start() {
+        acquireAtStart = AcquireSnapshot.of(meterRegistry);
+        gcAtStart = GcSnapshot.now();
+        startedAtNanos = System.nanoTime();
+        sampling.set(true);
+        Thread.ofPlatform().daemon().name("loadtest-hikari-sampler").start(this::samplePending);
+    }
+
+    Result finish(String scenario, Map<String, Object> settings) {
+        finishedAtNanos = System.nanoTime();
+        sampling.set(false);
+        double seconds = (finishedAtNanos - startedAtNanos) / 1_000_000_000.0;
+
+        Map<String, OperationResult> byOperation = new TreeMap<>();
+        Operation total = new Operation();
+        operations.forEach((name, operation) -> {
+            byOperation.put(name, operation.result(seconds));
+            total.add(operation);
+        });
+
+        AcquireSnapshot acquireAtEnd = AcquireSnapshot.of(meterRegistry);
+        long acquisitions = acquireAtEnd.count() - acquireAtStart.count();
+        double acquireMeanMs = acquisitions == 0 ? 0 : (acquireAtEnd.totalMs() - acquireAtStart.totalMs()) / acquisitions;
+        HikariResult hikari;
+        synchronized (pendingSamples) {
+            hikari = new HikariResult(acquisitions, round(acquireMeanMs), round(acquireAtEnd.maxMs()),
+                    maxPending, round(pendingSamples.getMean()), hikariPool.getTotalConnections());
+        }
+
+        GcSnapshot gcAtEnd = GcSnapshot.now();
+        long pauseMs = gcAtEnd.timeMs() - gcAtStart.timeMs();
+        GcResult gc = new GcResult(gcAtEnd.count() - gcAtStart.count(), pauseMs, round(pauseMs / (seconds * 1000)));
+
+        result = new Result(scenario, LocalDateTime.now().toString(), settings, round(seconds),
+                byOperation, total.result(seconds), hikari, gc);
+        return result;
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = directory.resolve(result.scenario() + "-" + timestamp + ".json");
+        JSON.writeValue(file.toFile(), result);
+        return file;
+    }
+
+    Path saveBaseline(Path baselineDirectory) throws IOException {
+        Files.createDirectories(baselineDirectory);
+        Path file = baselineDirectory.resolve(result.scenario() + ".json");
+        JSON.writeValue(file.toFile(), result);
+        return file;
+    }
+
+    /**
+     * 기준선과 비교해 표를 출력하고, maxRegression(예: 0.2 = 20%)을 넘게 나빠진 항목을 돌려준다.
+     * 비교 대상은 요청 종류별 p99 지연과 처리량이다.
+     */
+    List<String> compareWithBaseline(Path baselineDirectory, double maxRegression) throws IOException {
+        Path file = baselineDirectory.resolve(result.scenario() + ".json");
+        if (!Files.exists(file)) {
+            System.out.printf("[loadtest] no baseline at %s (save one with -Dloadtest.save-baseline=true)%n", file);
+            return List.of();
+        }
+        Result baseline = JSON.readValue(file.toFile(), Result.class);
+        System.out.printf("[loadtest] baseline %s (%s)%n", file, baseline.recordedAt());
+        System.out.printf("%-10s %14s %14s %14s %14s%n", "operation", "rps(base)", "rps(now)", "p99ms(base)", "p99ms(now)");
+
+        List<String> regressions = new ArrayList<>();
+        Map<String, OperationResult> current = new LinkedHashMap<>(result.operations());
+        current.put("total", result.total());
+        current.forEach((name, now) -> {
+            OperationResult base = "total".equals(name) ? baseline.total() : baseline.operations().get(name);
+            if (base == null) {
+                return;
+            }
+            System.out.printf("%-10s %14.1f %14.1f %14.1f %14.1f%n",
+                    name, base.throughputPerSecond(), now.throughputPerSecond(), base.p99Ms(), now.p99Ms());
+            if (maxRegression <= 0) {
+                return;
+            }
+            if (now.p99Ms() > base.p99Ms() * (1 + maxRegression)) {
+                regressions.add("%s p99 %.1fms -> %.1fms".formatted(name, base.p99Ms(), now.p99Ms()));
+            }
+            if (now.throughputPerSecond() < base.throughputPerSecond() * (1 - maxRegression)) {
+                regressions.add("%s throughput %.1f/s -> %.1f/s".formatted(name, base.throughputPerSecond(), now.throughputPerSecond()));
+            }
+        });
+        return regressions;
+    }
+
+    void print() {
+        System.out.printf("[loadtest] %s %.1fs settings=%s%n", result.scenario(), result.durationSeconds(), result.settings());
+        System.out.printf("%-10s %9s %7s %10s %9s %9s %9s %9s  %s%n",
+                "operation", "count", "errors", "rps", "p50ms", "p99ms", "p999ms", "maxms", "statuses");
+        result.operations().forEach(LoadTestReport::printRow);
+        printRow("total", result.total());
+        HikariResult hikari = result.hikari();
+        System.out.printf("[loadtest] hikari pool=%d acquisitions=%,d acquireMean=%.2fms acquireMax=%.1fms pendingMean=%.2f pendingMax=%d%n",
+                hikari.poolSize(), hikari.acquisitions(), hikari.acquireMeanMs(), hikari.acquireMaxMs(),
+                hikari.meanPending(), hikari.maxPending());
+        GcResult gc = result.gc();
+        System.out.printf("[loadtest] gc collections=%,d pause=%,dms (%.2f%% of wall time)%n",
+                gc.collections(), gc.pauseMs(), gc.pauseRatio() * 100);
+    }
+
+    private static void printRow(String name, OperationResult row) {
+        System.out.printf("%-10s %,9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                name, row.count(), row.errors(), row.throughputPerSecond(),
+                row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs(), row.statuses());
+    }
+
+    private void samplePending() {
+        while (sampling.get()) {
+            int pending = hikariPool.getThreadsAwaitingConnection();
+            synchronized (pendingSamples) {
+                pendingSamples.recordValue(pending);
+                maxPending = Math.max(maxPending, pending);
+            }
+            try {
+                Thread.sleep(PENDING_SAMPLE_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class Operation {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long elapsedNanos) {
+            latencies.recordValue(Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        void add(Operation other) {
+            latencies.add(other.latencies);
+            other.statuses.forEach((status, count) -> statuses.computeIfAbsent(status, key -> new LongAdder()).add(count.sum()));
+        }
+
+        // 2xx/3xx와 의도된 거절(429: 생성 요청 제한)은 오류로 세지 않는다. 0은 연결 실패/타임아웃
+        OperationResult result(double seconds) {
+            Map<String, Long> counts = new TreeMap<>();
+            long errors = 0;
+            for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+                long count = entry.getValue().sum();
+                counts.put(String.valueOf(entry.getKey()), count);
+                int status = entry.getKey();
+                if (status == 0 || (status >= 400 && status != 429)) {
+                    errors += count;
+                }
+            }
+            long count = latencies.getTotalCount();
+            return new OperationResult(
+                    count,
+                    errors,
+                    counts,
+                    round(count / seconds),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue())
+            );
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+    }
+
+    private record AcquireSnapshot(long count, double totalMs, double maxMs) {
+        static AcquireSnapshot of(MeterRegistry meterRegistry) {
+            Timer timer = meterRegistry.find("hikaricp.connections.acquire").timer();
+            if (timer == null) {
+                return new AcquireSnapshot(0, 0, 0);
+            }
+            return new AcquireSnapshot(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private record GcSnapshot(long count, long timeMs) {
+        static GcSnapshot now() {
+            long count = 0;
+            long timeMs = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                timeMs += Math.max(0, gc.getCollectionTime());
+            }
+            return new GcSnapshot(count, timeMs);
+        }
+    }
+
+    record Result(
+            String scenario,
+            String recordedAt,
+            Map<String, Object> settings,
+            double durationSeconds,
+            Map<String, OperationResult> operations,
+            OperationResult total,
+            HikariResult hikari,
+            GcResult gc
+    ) {
+    }
+
+    record OperationResult(
+            long count,
+            long errors,
+            Map<String, Long> statuses,
+            double throughputPerSecond,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {
+    }
+
+    record HikariResult(long acquisitions, double acquireMeanMs, double acquireMaxMs, int maxPending, double meanPending, int poolSize) {
+    }
+
+    record GcResult(long collections, long pauseMs, double pauseRatio) {
+    }
+}
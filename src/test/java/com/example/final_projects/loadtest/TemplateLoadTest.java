@@ -0,0 +1,386 @@
+package com.example.final_projects.loadtest;
+
+import com.example.final_projects.entity.User;
+import com.example.final_projects.repository.UserRepository;
+import com.example.final_projects.support.MailService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인/토큰 갱신/템플릿 생성/목록/상세 요청을 섞어 보내는 종단간 부하 테스트. 기본 빌드에서는 돌지 않는다.
+ * 앱은 임의 포트의 내장 Tomcat + H2(MySQL 모드)로 뜨고, AI 서버는 AiStandIn(WireMock)이 대신한다.
+ * 가상 사용자마다 가상 스레드 하나가 닫힌 루프(응답을 받으면 think-time 후 다음 요청)로 돈다.
+ * <pre>
+ * ./mvnw test -Dtest=TemplateLoadTest -Dloadtest=true
+ * ./mvnw test -Dtest=TemplateLoadTest -Dloadtest=true -Dloadtest.users=200 -Dloadtest.duration-seconds=120 \
+ *     -Dloadtest.mix=login:2,refresh:8,create:5,list:40,detail:45 -Dloadtest.ai.median-ms=1500 -Dloadtest.ai.error-rate=0.05
+ * # 기준선 저장 / 비교 (요청 종류별 p99 또는 처리량이 20% 넘게 나빠지면 실패)
+ * ./mvnw test -Dtest=TemplateLoadTest -Dloadtest=true -Dloadtest.save-baseline=true
+ * ./mvnw test -Dtest=TemplateLoadTest -Dloadtest=true -Dloadtest.max-regression=0.2
+ * </pre>
+ * 앱 설정은 시스템 프로퍼티로 덮어쓴다 (예: -Dspring.datasource.hikari.maximum-pool-size=20,
+ * -Dtemplate.admission.user-rate-per-minute=60). 로컬 MySQL로 돌리려면 spring.datasource.url/username/password와
+ * spring.jpa.database-platform, spring.jpa.hibernate.ddl-auto=validate, spring.flyway.enabled=true를 함께 넘긴다.
+ * 결과는 target/loadtest/{scenario}-{시각}.json, 기준선은 src/test/loadtest/baselines/{scenario}.json에 남는다.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.org.springframework.security.web.csrf=INFO",
+                "logging.level.com.example.final_projects.config.SwaggerCsrfBridgeFilter=INFO"
+        }
+)
+@ActiveProfiles("test")
+class TemplateLoadTest {
+
+    private static final String SCENARIO = System.getProperty("loadtest.scenario", "default");
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 15);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int THINK_TIME_MS = Integer.getInteger("loadtest.think-time-ms", 0);
+    private static final int TEMPLATES_PER_USER = Integer.getInteger("loadtest.templates-per-user", 3);
+    private static final String MIX = System.getProperty("loadtest.mix", "login:2,refresh:8,create:5,list:40,detail:45");
+    private static final double MAX_REGRESSION = Double.parseDouble(System.getProperty("loadtest.max-regression", "0"));
+    private static final boolean SAVE_BASELINE = Boolean.getBoolean("loadtest.save-baseline");
+    private static final Path RESULT_DIR = Path.of(System.getProperty("loadtest.result-dir", "target/loadtest"));
+    private static final Path BASELINE_DIR = Path.of(System.getProperty("loadtest.baseline-dir", "src/test/loadtest/baselines"));
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final String[] REQUEST_CONTENTS = {
+            "카페 오픈 이벤트 안내", "병원 진료 예약 확인", "학원 개강 안내", "공연 티켓 예매 완료", "배송 출발 안내"
+    };
+    private static final String[] LIST_STATUSES = {"APPROVE_REQUESTED", "APPROVE_REQUESTED", "APPROVE_REQUESTED", "APPROVED", "REJECTED"};
+
+    @RegisterExtension
+    static WireMockExtension aiServer = AiStandIn.extension();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("rest.ai.base-url", aiServer::baseUrl);
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public MailService mailService() {
+            return Mockito.mock(MailService.class);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private DataSource dataSource;
+
+    private HttpClient httpClient;
+    private LoadTestReport report;
+    private volatile boolean running;
+
+    @Test
+    @DisplayName("로그인/갱신/생성/목록/상세 혼합 부하")
+    @Sql("/data/test-data.sql")
+    void mixedTraffic() throws Exception {
+        AiStandIn.stub(aiServer);
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        report = new LoadTestReport(meterRegistry, hikari.getHikariPoolMXBean());
+        NavigableMap<Integer, String> mix = parseMix(MIX);
+
+        LoadTestReport.Result result;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+
+            List<VirtualUser> users = prepareUsers(executor);
+            System.out.printf("[loadtest] prepared %d users, %d templates; ai %s%n",
+                    users.size(), users.stream().mapToInt(user -> user.templateIds.size()).sum(), AiStandIn.describe());
+
+            // executor.close()가 가상 사용자 루프를 기다리므로 어떤 경우에도 먼저 멈춘다
+            running = true;
+            try {
+                for (VirtualUser user : users) {
+                    executor.submit(() -> user.run(mix));
+                }
+                TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+                report.start();
+                TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+                result = report.finish(SCENARIO, settings(hikari));
+            } finally {
+                running = false;
+            }
+        }
+
+        report.print();
+        System.out.printf("[loadtest] result written to %s%n", report.write(RESULT_DIR));
+        List<String> regressions = report.compareWithBaseline(BASELINE_DIR, MAX_REGRESSION);
+        if (SAVE_BASELINE) {
+            System.out.printf("[loadtest] baseline saved to %s%n", report.saveBaseline(BASELINE_DIR));
+        }
+
+        assertThat(result.total().count()).isPositive();
+        assertThat(regressions).as("regressions against baseline").isEmpty();
+    }
+
+    private static Map<String, Object> settings(HikariDataSource hikari) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", USERS);
+        settings.put("thinkTimeMs", THINK_TIME_MS);
+        settings.put("mix", MIX);
+        settings.put("ai", AiStandIn.describe());
+        settings.put("poolSize", hikari.getMaximumPoolSize());
+        settings.put("jdbcUrl", hikari.getJdbcUrl());
+        settings.put("processors", Runtime.getRuntime().availableProcessors());
+        settings.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        settings.put("java", Runtime.version().toString());
+        return settings;
+    }
+
+    // 사용자는 DB에 바로 넣고(가입은 이메일 OTP가 필요), 로그인 + 템플릿 준비는 API로 병렬 진행한다
+    private List<VirtualUser> prepareUsers(ExecutorService executor) throws Exception {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "loadtest-" + i + "@example.com";
+            if (!userRepository.existsByEmail(email)) {
+                userRepository.save(new User(null, email, passwordHash, "loadtest-" + i, User.Status.ACTIVE,
+                        false, null, null, 0, new HashSet<>()));
+            }
+            users.add(new VirtualUser(email));
+        }
+
+        List<Future<?>> prepared = new ArrayList<>();
+        for (VirtualUser user : users) {
+            prepared.add(executor.submit(() -> {
+                user.prepare();
+                return null;
+            }));
+        }
+        for (Future<?> future : prepared) {
+            future.get();
+        }
+        return users;
+    }
+
+    private static NavigableMap<Integer, String> parseMix(String mix) {
+        NavigableMap<Integer, String> cumulative = new TreeMap<>();
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                total += weight;
+                cumulative.put(total, pair[0].trim());
+            }
+        }
+        return cumulative;
+    }
+
+    private final class VirtualUser {
+
+        private final String email;
+        private final List<Long> templateIds = new ArrayList<>();
+        private String accessToken;
+        private String refreshToken;
+        private String csrfToken;
+
+        VirtualUser(String email) {
+            this.email = email;
+        }
+
+        void prepare() {
+            login();
+            fetchCsrfToken();
+            // 생성 요청 제한(burst) 안에서 몇 번 더 시도해 AI 오류로 빠진 만큼 채운다
+            for (int attempt = 0; attempt < TEMPLATES_PER_USER + 2 && templateIds.size() < TEMPLATES_PER_USER; attempt++) {
+                create();
+            }
+            for (Long templateId : templateIds) {
+                send("approve", post("/api/templates/" + templateId + "/approve-request", "").header("Authorization", "Bearer " + accessToken));
+            }
+        }
+
+        void run(NavigableMap<Integer, String> mix) {
+            while (running) {
+                int roll = ThreadLocalRandom.current().nextInt(mix.lastKey()) + 1;
+                switch (mix.ceilingEntry(roll).getValue()) {
+                    case "login" -> login();
+                    case "refresh" -> refresh();
+                    case "create" -> create();
+                    case "list" -> list();
+                    case "detail" -> detail();
+                    default -> throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + mix.ceilingEntry(roll).getValue());
+                }
+                if (THINK_TIME_MS > 0) {
+                    try {
+                        Thread.sleep(ThreadLocalRandom.current().nextInt(THINK_TIME_MS * 2 + 1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        void login() {
+            String body = "{\"email\": \"" + email + "\", \"password\": \"" + PASSWORD + "\"}";
+            JsonNode data = json(send("login", post("/api/auth/login", body)), "data");
+            if (data != null) {
+                accessToken = data.path("accessToken").asText();
+                refreshToken = data.path("refreshToken").asText();
+            }
+        }
+
+        // 쿠키 대신 바디 백업(refreshToken)으로 회전시키고 새 RT를 보관한다
+        void refresh() {
+            JsonNode body = json(send("refresh", post("/api/auth/token/refresh", "{\"refreshToken\": \"" + refreshToken + "\"}")), null);
+            if (body != null && body.hasNonNull("refreshToken")) {
+                accessToken = body.path("accessToken").asText();
+                refreshToken = body.path("refreshToken").asText();
+            }
+        }
+
+        void create() {
+            String content = REQUEST_CONTENTS[ThreadLocalRandom.current().nextInt(REQUEST_CONTENTS.length)];
+            HttpResponse<String> response = send("create", post("/api/templates", "{\"requestContent\": \"" + content + "\"}")
+                    .header("Authorization", "Bearer " + accessToken));
+            if (response != null && response.statusCode() == 200) {
+                JsonNode data = json(response, "data");
+                if (data != null && data.hasNonNull("id")) {
+                    templateIds.add(data.path("id").asLong());
+                }
+            }
+        }
+
+        void list() {
+            String status = LIST_STATUSES[ThreadLocalRandom.current().nextInt(LIST_STATUSES.length)];
+            send("list", get("/api/templates?status=" + status + "&page=1&size=10"));
+        }
+
+        void detail() {
+            if (templateIds.isEmpty()) {
+                list();
+                return;
+            }
+            Long templateId = templateIds.get(ThreadLocalRandom.current().nextInt(templateIds.size()));
+            send("detail", get("/api/templates/" + templateId));
+        }
+
+        // CSRF가 꺼져 있으면 토큰 엔드포인트가 실패하므로 없이 진행한다
+        private void fetchCsrfToken() {
+            HttpResponse<String> response = send("csrf", HttpRequest.newBuilder(uri("/api/auth/csrf")).timeout(REQUEST_TIMEOUT).GET());
+            if (response == null || response.statusCode() != 200) {
+                return;
+            }
+            for (String cookie : response.headers().allValues(HttpHeaders.SET_COOKIE)) {
+                if (cookie.startsWith("XSRF-TOKEN=")) {
+                    csrfToken = cookie.substring("XSRF-TOKEN=".length(), cookie.indexOf(';') < 0 ? cookie.length() : cookie.indexOf(';'));
+                }
+            }
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(uri(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + accessToken)
+                    .GET();
+        }
+
+        private HttpRequest.Builder post(String path, String body) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (csrfToken != null) {
+                builder.header(HttpHeaders.COOKIE, "XSRF-TOKEN=" + csrfToken).header("X-CSRF-Token", csrfToken);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(String operation, HttpRequest.Builder request) {
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                report.record(operation, response.statusCode(), System.nanoTime() - startedAt);
+                return response;
+            } catch (IOException e) {
+                report.record(operation, 0, System.nanoTime() - startedAt);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        private JsonNode json(HttpResponse<String> response, String field) {
+            if (response == null || response.statusCode() != 200) {
+                return null;
+            }
+            try {
+                JsonNode root = objectMapper.readTree(response.body());
+                return field == null ? root : root.get(field);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.final_projects.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementRecorderTest {
+
+    private static final String SELECT_BY_NAME = "SELECT COUNT(*) FROM account WHERE name = ?";
+
+    @Test
+    @DisplayName("요청 안에서 반복된 문장은 N+1 의심으로, 느린 문장은 바인드 값을 가린 채 경로와 함께 기록된다")
+    void records_statement_stats_n_plus_one_and_redacted_slow_statements() {
+        SqlStatementRecorder recorder = new SqlStatementRecorder(0, 3, 100);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SqlRecordingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1", "sa", ""), recorder));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS account (name VARCHAR(50))");
+
+        recorder.beginRequest("GET /api/accounts/1");
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.queryForObject(SELECT_BY_NAME, Integer.class, "secret-" + i);
+        }
+        recorder.endRequest("GET /api/accounts/{id}");
+
+        assertThat(recorder.topStatements(10))
+                .filteredOn(view -> view.sql().equals(SELECT_BY_NAME))
+                .singleElement()
+                .satisfies(view -> {
+                    assertThat(view.count()).isEqualTo(3);
+                    assertThat(view.maxMs()).isGreaterThanOrEqualTo(view.meanMs());
+                });
+        assertThat(recorder.topPaths(10)).singleElement().satisfies(path -> {
+            assertThat(path.path()).isEqualTo("GET /api/accounts/{id}");
+            assertThat(path.maxStatements()).isEqualTo(3);
+        });
+        assertThat(recorder.recentNPlusOne()).singleElement().satisfies(suspect -> {
+            assertThat(suspect.request()).isEqualTo("GET /api/accounts/1");
+            assertThat(suspect.sql()).isEqualTo(SELECT_BY_NAME);
+            assertThat(suspect.count()).isEqualTo(3);
+        });
+        assertThat(recorder.recentSlow())
+                .filteredOn(slow -> slow.sql().equals(SELECT_BY_NAME))
+                .hasSize(3)
+                .allSatisfy(slow -> {
+                    assertThat(slow.request()).isEqualTo("GET /api/accounts/1");
+                    assertThat(slow.parameters()).isEqualTo("[1:String(8)]").doesNotContain("secret");
+                });
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.support.AiRequestCancellation;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+
+import java.util.function.Function;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 지연 분포를 주입한 두 AI 서버(primary / alternate)로 헤징 동작을 검증한다.
+ */
+class AiHedgingExecutorTest {
+
+    private static final String PATH = "/ai/templates";
+    private static final Function<RestClient, String> CALL = client -> client.get().uri(PATH).retrieve().body(String.class);
+
+    @RegisterExtension
+    static WireMockExtension primaryServer = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @RegisterExtension
+    static WireMockExtension alternateServer = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("primary가 지연 기준을 넘기면 alternate로 헤지하고, 먼저 온 응답을 쓰며 늦은 요청은 취소한다")
+    void when_primary_is_slow_then_hedge_wins_and_primary_is_cancelled() throws Exception {
+        primaryServer.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withBody("primary").withLogNormalRandomDelay(3000, 0.1)));
+        alternateServer.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withBody("alternate").withUniformRandomDelay(10, 50)));
+        AiHedgingExecutor executor = hedgingExecutor(100, 1.0, 5);
+
+        long startedAt = System.nanoTime();
+        String result = executor.execute(CALL);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(result).isEqualTo("alternate");
+        assertThat(elapsedMs).isLessThan(1500);
+        assertThat(counter("hedge_won")).isEqualTo(1.0);
+
+        // 취소된 primary 요청은 서버 응답(약 3초)을 기다리지 않고 바로 작업 스레드를 반환해야 한다
+        long deadline = System.currentTimeMillis() + 1000;
+        while (taskExecutor.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(taskExecutor.getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("primary가 지연 기준 안에 응답하면 헤지 요청을 보내지 않는다")
+    void when_primary_is_fast_then_no_hedge() {
+        primaryServer.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withBody("primary").withUniformRandomDelay(5, 30)));
+        AiHedgingExecutor executor = hedgingExecutor(1000, 1.0, 5);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(executor.execute(CALL)).isEqualTo("primary");
+        }
+
+        alternateServer.verify(0, getRequestedFor(urlEqualTo(PATH)));
+        assertThat(counter("not_hedged")).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("헤지 예산을 모두 쓰면 더 이상 헤지하지 않고 primary 응답을 기다린다")
+    void when_hedge_budget_exhausted_then_wait_for_primary() {
+        primaryServer.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withBody("primary").withFixedDelay(300)));
+        alternateServer.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withBody("alternate").withFixedDelay(2000)));
+        AiHedgingExecutor executor = hedgingExecutor(50, 0.0, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(executor.execute(CALL)).isEqualTo("primary");
+        }
+
+        alternateServer.verify(1, getRequestedFor(urlEqualTo(PATH)));
+        assertThat(counter("primary_won")).isEqualTo(1.0);
+        assertThat(counter("budget_exhausted")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("표본이 쌓이면 헤지 지연은 최근 응답 시간의 백분위로 정해진다")
+    void hedge_delay_follows_observed_latency_percentile() {
+        primaryServer.stubFor(get(urlEqualTo(PATH))
+                .willReturn(aResponse().withBody("primary").withUniformRandomDelay(100, 150)));
+        AiHedgingExecutor executor = hedgingExecutor(5000, 1.0, 5);
+        assertThat(executor.currentDelayMs()).isEqualTo(5000);
+
+        for (int i = 0; i < 25; i++) {
+            executor.execute(CALL);
+        }
+
+        assertThat(executor.currentDelayMs()).isBetween(100L, 1000L);
+        alternateServer.verify(0, getRequestedFor(urlEqualTo(PATH)));
+    }
+
+    private AiHedgingExecutor hedgingExecutor(long initialDelayMs, double maxRatio, int budgetMaxTokens) {
+        taskExecutor.setCorePoolSize(4);
+        taskExecutor.setMaxPoolSize(8);
+        taskExecutor.setQueueCapacity(0);
+        taskExecutor.initialize();
+
+        return new AiHedgingExecutor(
+                restClient(primaryServer.baseUrl()),
+                restClient(alternateServer.baseUrl()),
+                taskExecutor,
+                meterRegistry,
+                true,
+                0.95,
+                initialDelayMs,
+                0,
+                10_000,
+                maxRatio,
+                budgetMaxTokens
+        );
+    }
+
+    private RestClient restClient(String baseUrl) {
+        var httpClient = HttpClients.custom()
+                .addExecInterceptorAfter(ChainElement.CONNECT.name(), "ai-cancellation", AiRequestCancellation.execChainHandler())
+                .build();
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    private double counter(String result) {
+        var counter = meterRegistry.find("ai.hedge").tag("result", result).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.final_projects.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationJobSchedulerTest {
+
+    private static final List<String> ADMIN = List.of("USER", "ADMIN");
+    private static final List<String> USER = List.of("USER");
+
+    @Test
+    @DisplayName("슬롯이 찼을 때 나중에 들어온 상위 등급 작업이 먼저 대기 중인 하위 등급 작업보다 먼저 실행된다")
+    void higher_tier_job_overtakes_queued_lower_tier_jobs() throws Exception {
+        GenerationJobScheduler scheduler = new GenerationJobScheduler(
+                new SimpleMeterRegistry(), "ADMIN:8,USER:1", "USER", 1, 60_000, 10_000, 16);
+
+        List<String> executionOrder = new CopyOnWriteArrayList<>();
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            // 유일한 슬롯을 점유
+            pool.submit(() -> scheduler.execute(USER, () -> {
+                blockerStarted.countDown();
+                await(releaseBlocker);
+                return null;
+            }));
+            assertThat(blockerStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+            pool.submit(() -> scheduler.execute(USER, () -> executionOrder.add("user-1")));
+            Thread.sleep(50);
+            pool.submit(() -> scheduler.execute(USER, () -> executionOrder.add("user-2")));
+            Thread.sleep(50);
+            pool.submit(() -> scheduler.execute(ADMIN, () -> {
+                executionOrder.add("admin");
+                assertThat(GenerationJobScheduler.currentQueueWaitMs()).isNotNull();
+                return true;
+            }));
+            Thread.sleep(50);
+
+            releaseBlocker.countDown();
+        } finally {
+            pool.shutdown();
+            assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(executionOrder).containsExactly("admin", "user-1", "user-2");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
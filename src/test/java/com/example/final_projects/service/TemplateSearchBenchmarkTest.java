@@ -0,0 +1,172 @@
+package com.example.final_projects.service;
+
+import com.example.final_projects.dto.template.TemplateSearchCondition;
+import com.example.final_projects.entity.Template;
+import com.example.final_projects.entity.TemplateStatus;
+import com.example.final_projects.entity.TemplateType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 합성 코퍼스(기본 1,000,000건)에 대한 키워드 검색 지연 측정. 기본 빌드에서는 돌지 않는다.
+ * <pre>
+ * # 프로세스 내 역색인 (힙 4GB 이상 권장)
+ * ./mvnw test -Dtest=TemplateSearchBenchmarkTest -Dbenchmark=true -DargLine=-Xmx4g
+ * # MySQL FULLTEXT(ngram). Flyway 마이그레이션이 적용된 빈 스키마를 가리켜야 하며 template 테이블에 데이터를 넣는다
+ * ./mvnw test -Dtest=TemplateSearchBenchmarkTest -Dbenchmark=true \
+ *     -Dbenchmark.mysql.url=jdbc:mysql://localhost:3307/benchdb -Dbenchmark.mysql.user=root -Dbenchmark.mysql.password=rootpw
+ * </pre>
+ * 옵션: -Dbenchmark.corpus-size, -Dbenchmark.users, -Dbenchmark.queries
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TemplateSearchBenchmarkTest {
+
+    private static final int CORPUS_SIZE = Integer.getInteger("benchmark.corpus-size", 1_000_000);
+    private static final int USERS = Integer.getInteger("benchmark.users", 1_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 2_000);
+    private static final int WARMUP_QUERIES = 200;
+    private static final long SEED = 42L;
+
+    private static final String[] WORDS = {
+            "카페", "오픈", "이벤트", "할인", "쿠폰", "예약", "확인", "안내", "배송", "출발", "도착", "주문", "결제", "완료",
+            "취소", "환불", "회원", "가입", "축하", "포인트", "적립", "소멸", "예정", "방문", "감사", "병원", "진료", "일정",
+            "변경", "공연", "티켓", "좌석", "입장", "시간", "매장", "휴무", "신제품", "출시", "무료", "체험", "상담", "신청",
+            "접수", "결과", "발표", "수업", "개강", "모집", "마감", "임박", "리뷰", "작성", "선물", "증정", "생일", "혜택"
+    };
+    private static final TemplateStatus[] STATUSES = {
+            TemplateStatus.CREATED, TemplateStatus.APPROVE_REQUESTED, TemplateStatus.APPROVED, TemplateStatus.REJECTED
+    };
+
+    @Test
+    @DisplayName("in-memory 역색인 검색 지연")
+    void inMemory() {
+        InMemoryTemplateSearchEngine engine = new InMemoryTemplateSearchEngine();
+        Random random = new Random(SEED);
+        long indexStartedAt = System.nanoTime();
+        for (long id = 1; id <= CORPUS_SIZE; id++) {
+            engine.index(syntheticTemplate(id, random));
+        }
+        System.out.printf("[in-memory] indexed %,d templates in %,d ms%n",
+                engine.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - indexStartedAt));
+
+        run("in-memory", engine);
+    }
+
+    @Test
+    @DisplayName("MySQL FULLTEXT(ngram) 검색 지연")
+    @EnabledIfSystemProperty(named = "benchmark.mysql.url", matches = ".+")
+    void mysqlFullText() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.mysql.url"),
+                System.getProperty("benchmark.mysql.user", "root"),
+                System.getProperty("benchmark.mysql.password", "")
+        );
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM template", Long.class);
+        if (existing == null || existing == 0) {
+            seed(jdbcTemplate);
+        }
+
+        run("mysql-fulltext", new FullTextTemplateSearchEngine(new NamedParameterJdbcTemplate(jdbcTemplate)));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(SEED);
+        int batchSize = 5_000;
+        long startedAt = System.nanoTime();
+        for (long from = 1; from <= CORPUS_SIZE; from += batchSize) {
+            List<Template> batch = new ArrayList<>(batchSize);
+            for (long id = from; id < from + batchSize && id <= CORPUS_SIZE; id++) {
+                batch.add(syntheticTemplate(id, random));
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO template (id, user_id, category_id, title, content, status, type, is_public) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    batch,
+                    batch.size(),
+                    (ps, template) -> {
+                        ps.setLong(1, template.getId());
+                        ps.setLong(2, template.getUserId());
+                        ps.setString(3, template.getCategoryId());
+                        ps.setString(4, template.getTitle());
+                        ps.setString(5, template.getContent());
+                        ps.setString(6, template.getStatus().name());
+                        ps.setString(7, template.getType().name());
+                        ps.setBoolean(8, template.getIsPublic());
+                    }
+            );
+        }
+        System.out.printf("[mysql-fulltext] seeded %,d templates in %,d ms%n",
+                CORPUS_SIZE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void run(String engineName, TemplateSearchEngine engine) {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            engine.search(randomCondition(random), 0, 10);
+        }
+
+        long[] latencies = new long[QUERIES];
+        long totalHits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            TemplateSearchCondition condition = randomCondition(random);
+            long startedAt = System.nanoTime();
+            totalHits += engine.search(condition, 0, 10).total();
+            latencies[i] = System.nanoTime() - startedAt;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s] corpus=%,d users=%,d queries=%,d avgHits=%.1f p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms%n",
+                engineName, CORPUS_SIZE, USERS, QUERIES, (double) totalHits / QUERIES,
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.95)),
+                millis(percentile(latencies, 0.99)), millis(latencies[latencies.length - 1]));
+    }
+
+    // 한두 단어 검색어, 절반은 상태 필터 포함
+    private TemplateSearchCondition randomCondition(Random random) {
+        String keyword = random.nextBoolean()
+                ? randomWord(random)
+                : randomWord(random) + " " + randomWord(random);
+        TemplateStatus status = random.nextBoolean() ? STATUSES[random.nextInt(STATUSES.length)] : null;
+        return new TemplateSearchCondition(1L + random.nextInt(USERS), keyword, status, null, null, null);
+    }
+
+    private Template syntheticTemplate(long id, Random random) {
+        StringBuilder content = new StringBuilder("안녕하세요 #{고객명}님. ");
+        int words = 8 + random.nextInt(12);
+        for (int i = 0; i < words; i++) {
+            content.append(randomWord(random)).append(i % 5 == 4 ? ". " : " ");
+        }
+        return Template.builder()
+                .id(id)
+                .userId(1L + random.nextInt(USERS))
+                .categoryId(String.format("%03d%03d", 1 + random.nextInt(9), 1 + random.nextInt(5)))
+                .title(randomWord(random) + " " + randomWord(random) + " 안내")
+                .content(content.toString())
+                .status(STATUSES[random.nextInt(STATUSES.length)])
+                .type(TemplateType.MESSAGE)
+                .isPublic(false)
+                .build();
+    }
+
+    private static String randomWord(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.final_projects.service;
 import com.example.final_projects.entity.UserTemplateRequest;
 import com.example.final_projects.entity.UserTemplateRequestFailureLog;
 import com.example.final_projects.entity.UserTemplateRequestStatus;
+import com.example.final_projects.exception.TemplateException;
 import com.example.final_projects.repository.UserTemplateRequestFailureLogRepository;
 import com.example.final_projects.repository.UserTemplateRequestRepository;
 import com.example.final_projects.security.WithMockCustomUser;
@@ -26,12 +27,15 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,6 +53,9 @@ class TemplateServiceErrorHandlingTest {
     @Autowired
     private UserTemplateRequestFailureLogRepository failureLogRepository;
 
+    @Autowired
+    private UserTemplateRequestService userTemplateRequestService;
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -65,6 +72,8 @@ class TemplateServiceErrorHandlingTest {
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("rest.ai.base-url", wireMock::baseUrl);
+        registry.add("rest.ai.retry.base-delay-ms", () -> "10");
+        registry.add("rest.ai.retry.max-delay-ms", () -> "30");
     }
 
     @AfterEach
@@ -115,6 +124,7 @@ class TemplateServiceErrorHandlingTest {
         assertThat(savedLog.getClientIp()).isEqualTo(testIp);
         assertThat(savedLog.getUserAgent()).isEqualTo(testUa);
         assertThat(savedLog.getHttpStatusCode()).isEqualTo(400);
+        assertThat(savedLog.getRequestWaitTimeMs()).isZero();
     }
 
     @Test
@@ -155,6 +165,113 @@ class TemplateServiceErrorHandlingTest {
         assertThat(savedLog.getHttpStatusCode()).isEqualTo(500);
     }
 
+    @Test
+    @WithMockCustomUser(id = 109L, roles = "USER")
+    @DisplayName("이어서 생성이 실패하면, 같은 사용자의 더 최근 초안이 아니라 이어서 생성한 그 요청만 FAILED로 바꾼다")
+    void when_continue_fails_then_mark_only_the_continued_request_as_failed() throws Exception {
+        // given: 이어서 생성할 초안보다 나중에 만든 초안이 하나 더 있다
+        UserTemplateRequest continued = userTemplateRequestRepository.save(draftRequest(109L));
+        UserTemplateRequest newerDraft = userTemplateRequestRepository.save(draftRequest(109L));
+        wireMock.stubFor(WireMock.post("/ai/templates/continue")
+                .willReturn(WireMock.badRequest()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"error\": {\"code\": \"POLICY_VIOLATION\", \"message\": \"blocked\"}}")));
+
+        // when
+        mockMvc.perform(post("/api/templates/requests/" + continued.getId() + "/continue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"variables\": {\"월\": \"3\"}}")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        // then
+        assertThat(userTemplateRequestRepository.findById(continued.getId()).orElseThrow().getStatus())
+                .isEqualTo(UserTemplateRequestStatus.FAILED);
+        assertThat(userTemplateRequestRepository.findById(newerDraft.getId()).orElseThrow().getStatus())
+                .isEqualTo(UserTemplateRequestStatus.PENDING);
+        assertThat(failureLogRepository.findAll())
+                .extracting(UserTemplateRequestFailureLog::getUserTemplateRequestId)
+                .containsExactly(continued.getId());
+    }
+
+    @Test
+    @WithMockCustomUser(id = 110L, roles = "USER")
+    @DisplayName("이어서 생성이 일시적 오류(503)로 끝나면 초안을 PENDING으로 남겨 다시 이어서 생성할 수 있다")
+    void when_continue_fails_transiently_then_keep_the_draft_resumable() throws Exception {
+        // given
+        UserTemplateRequest draft = userTemplateRequestRepository.save(draftRequest(110L));
+        wireMock.stubFor(WireMock.post("/ai/templates/continue")
+                .willReturn(WireMock.aResponse()
+                        .withStatus(503)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"error\": {\"code\": \"UPSTREAM_UNAVAILABLE\", \"message\": \"try later\"}}")));
+
+        // when
+        mockMvc.perform(post("/api/templates/requests/" + draft.getId() + "/continue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"variables\": {\"월\": \"3\"}}")
+                        .with(csrf()))
+                .andExpect(status().isInternalServerError());
+
+        // then: 실패 로그는 남지만 초안은 그대로 이어서 생성할 수 있다
+        assertThat(userTemplateRequestRepository.findById(draft.getId()).orElseThrow().getStatus())
+                .isEqualTo(UserTemplateRequestStatus.PENDING);
+        assertThat(failureLogRepository.findAll()).isNotEmpty()
+                .allSatisfy(log -> assertThat(log.getUserTemplateRequestId()).isEqualTo(draft.getId()));
+        assertThat(userTemplateRequestService.getOwnedDraftRequest(draft.getId(), 110L).getId()).isEqualTo(draft.getId());
+    }
+
+    @Test
+    @WithMockCustomUser(id = 111L, roles = "USER")
+    @DisplayName("이미 선점된 초안을 이어서 생성하면 AI를 호출하지 않고 409(DRAFT_IN_PROGRESS)로 거절한다")
+    void when_draft_is_already_claimed_then_reject_with_409() throws Exception {
+        // given: 다른 요청이 먼저 선점했다
+        UserTemplateRequest draft = userTemplateRequestRepository.save(draftRequest(111L));
+        userTemplateRequestService.claimDraft(draft.getId());
+        assertThatThrownBy(() -> userTemplateRequestService.claimDraft(draft.getId()))
+                .isInstanceOf(TemplateException.class);
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/templates/requests/" + draft.getId() + "/continue")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"variables\": {\"월\": \"3\"}}")
+                .with(csrf()));
+
+        // then
+        resultActions.andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error.code").value("DRAFT_IN_PROGRESS"));
+        wireMock.verify(0, WireMock.postRequestedFor(WireMock.urlEqualTo("/ai/templates/continue")));
+    }
+
+    @Test
+    @WithMockCustomUser(id = 107L, roles = "USER")
+    @DisplayName("AI 서버가 503을 계속 반환하면 최대 횟수까지 재시도하고, 시도마다 실제 시도 번호로 실패 로그를 남긴다")
+    void when_gateway_error_persists_then_retry_and_log_each_attempt() throws Exception {
+        // given: AI 서버가 항상 503을 반환
+        wireMock.stubFor(WireMock.post("/ai/templates")
+                .willReturn(WireMock.aResponse()
+                        .withStatus(503)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"error\": {\"code\": \"UPSTREAM_UNAVAILABLE\", \"message\": \"try later\"}}")));
+
+        // when
+        ResultActions resultActions = mockMvc.perform(post("/api/templates")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"requestContent\": \"trigger retry\"}")
+                .with(csrf()));
+
+        // then (1): 기본 설정(max-attempts=3)만큼 호출되고 최종 실패가 전달된다
+        resultActions.andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error.code").value("UNEXPECTED_AI_RESPONSE"));
+        wireMock.verify(3, WireMock.postRequestedFor(WireMock.urlEqualTo("/ai/templates")));
+
+        // then (2): 시도 번호 1, 2, 3으로 실패 로그가 남는다
+        List<UserTemplateRequestFailureLog> logs = failureLogRepository.findAll();
+        assertThat(logs).extracting(UserTemplateRequestFailureLog::getAttemptNumber)
+                .containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(logs).allSatisfy(log -> assertThat(log.getHttpStatusCode()).isEqualTo(503));
+    }
+
     @Test
     @WithMockCustomUser(id = 106L, roles = "USER")
     @DisplayName("API 응답 파싱 에러 발생 시, 프론트엔드에는 표준 메시지를, DB에는 원본 응답 로그를 기록한다")
@@ -192,4 +309,48 @@ class TemplateServiceErrorHandlingTest {
         assertThat(savedLog.getErrorDetail()).isEqualTo("[Original Code: PARSING_FAILED] Failed to parse error response: " + rawErrorBody);
         assertThat(savedLog.getHttpStatusCode()).isEqualTo(500);
     }
+
+    @Test
+    @WithMockCustomUser(id = 108L, roles = "USER")
+    @DisplayName("사용자별 허용량(burst)을 넘긴 생성 요청은 AI를 호출하지 않고 429와 Retry-After로 거절한다")
+    void when_user_exceeds_burst_then_reject_with_429_and_retry_after() throws Exception {
+        // given
+        wireMock.stubFor(WireMock.post("/ai/templates")
+                .willReturn(WireMock.badRequest()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"error\": {\"code\": \"POLICY_VIOLATION\", \"message\": \"blocked\"}}")));
+
+        // when: 기본 burst(5)만큼은 AI까지 전달된다
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/templates")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"requestContent\": \"burst " + i + "\"}")
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+        }
+        ResultActions resultActions = mockMvc.perform(post("/api/templates")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"requestContent\": \"one too many\"}")
+                .with(csrf()));
+
+        // then
+        resultActions.andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error.code").value("TOO_MANY_GENERATION_REQUESTS"));
+        wireMock.verify(5, WireMock.postRequestedFor(WireMock.urlEqualTo("/ai/templates")));
+        assertThat(userTemplateRequestRepository.findAll()).hasSize(5);
+    }
+
+    private static UserTemplateRequest draftRequest(Long userId) {
+        return UserTemplateRequest.builder()
+                .userId(userId)
+                .requestContent("학원 안내")
+                .status(UserTemplateRequestStatus.PENDING)
+                .partialResponse("""
+                        {"categoryId": "004001", "title": "학원 안내", "content": "#{월}월 안내", "type": "MESSAGE",
+                         "variables": [{"variableKey": "월", "placeholder": "#{월}", "inputType": "TEXT"}]}
+                        """)
+                .draftExpiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
 }
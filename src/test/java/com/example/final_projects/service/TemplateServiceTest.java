@@ -1,13 +1,28 @@
 package com.example.final_projects.service;
 
+import com.example.final_projects.dto.template.TemplateBulkApproveResponse;
+import com.example.final_projects.dto.template.TemplateContinueRequest;
 import com.example.final_projects.dto.template.TemplateCreateRequest;
+import com.example.final_projects.dto.template.TemplateExportFormat;
+import com.example.final_projects.dto.template.TemplateResponse;
+import com.example.final_projects.dto.template.TemplateSearchCondition;
+import com.example.final_projects.dto.PageResponse;
+import com.example.final_projects.dto.template.PublicTemplateResponse;
+import com.example.final_projects.dto.template.SimilarTemplateResponse;
+import com.example.final_projects.dto.template.TemplateStatusSnapshot;
 import com.example.final_projects.entity.*;
+import com.example.final_projects.exception.TemplateException;
+import com.example.final_projects.exception.code.BaseErrorCode;
+import com.example.final_projects.exception.code.TemplateErrorCode;
+import com.example.final_projects.repository.TemplateEventOutboxRepository;
 import com.example.final_projects.repository.TemplateHistoryRepository;
 import com.example.final_projects.repository.TemplateRepository;
+import com.example.final_projects.repository.TemplateStatusJdbcRepository;
 import com.example.final_projects.repository.UserTemplateRequestRepository;
 import com.example.final_projects.support.MailService;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -16,17 +31,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 @SpringBootTest
@@ -42,6 +78,24 @@ class TemplateServiceTest {
     private TemplateRepository templateRepository;
     @Autowired
     private TemplateHistoryRepository templateHistoryRepository;
+    @Autowired
+    private TemplateEventOutboxRepository templateEventOutboxRepository;
+    @Autowired
+    private TemplateSearchEngine templateSearchEngine;
+    @Autowired
+    private PublicTemplateGallery publicTemplateGallery;
+    @Autowired
+    private TemplateSimilarityIndex templateSimilarityIndex;
+    @Autowired
+    private TemplateResponseCache templateResponseCache;
+    @Autowired
+    private TemplateExportService templateExportService;
+    @Autowired
+    private TemplateImportService templateImportService;
+    @Autowired
+    private TemplateStatusJdbcRepository templateStatusJdbcRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @TestConfiguration
     static class TestConfig {
@@ -144,6 +198,15 @@ class TemplateServiceTest {
         TemplateHistory savedHistory = histories.getFirst();
         assertThat(savedHistory.getTemplate().getId()).isEqualTo(savedTemplate.getId());
         assertThat(savedHistory.getStatus()).isEqualTo(TemplateStatus.CREATED);
+
+        // 9. 같은 트랜잭션에서 상태 변경 이벤트가 outbox에 기록되었는지 검증
+        assertThat(templateEventOutboxRepository.findAll())
+                .filteredOn(outbox -> outbox.getTemplateId().equals(savedTemplate.getId()))
+                .singleElement()
+                .satisfies(outbox -> {
+                    assertThat(outbox.getStatus()).isEqualTo(TemplateStatus.CREATED);
+                    assertThat(outbox.getEventType()).isEqualTo(TemplateEventOutboxService.TEMPLATE_STATUS_CHANGED);
+                });
     }
 
     @Test
@@ -192,5 +255,500 @@ class TemplateServiceTest {
 
         // 3. Template 테이블에는 데이터가 저장되지 않았는지 확인
         assertThat(templateRepository.count()).isZero();
+
+        // 4. 부분 생성 결과가 이어서 생성할 수 있도록 요청에 저장되었는지 확인
+        UserTemplateRequest draftRequest = userTemplateRequestRepository.findById(incompleteResult.requestId()).orElseThrow();
+        assertThat(draftRequest.getStatus()).isEqualTo(UserTemplateRequestStatus.PENDING);
+        assertThat(draftRequest.getPartialResponse()).contains("학원 안내 (부분 완성)");
+        assertThat(draftRequest.getDraftExpiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("202 이후 이어서 생성: 누락된 변수 값만 AI에 보내고, 200이면 Template을 저장하고 요청을 COMPLETED로 바꾼다")
+    @Sql("/data/test-data.sql")
+    void continueTemplate_after_202_sends_only_missing_inputs_and_completes() {
+        // given: 202로 끝난 초안
+        Long userId = 103L;
+        wireMock.stubFor(WireMock.post("/ai/templates")
+                .willReturn(WireMock.aResponse()
+                        .withStatus(202)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                        {
+                          "data": {
+                            "categoryId": "004001", "title": "학원 안내 (부분 완성)",
+                            "content": "#{월}월 수강료는 #{수강료 금액}원입니다.", "type": "MESSAGE",
+                            "variables": [
+                              {"variableKey": "수강료 금액", "placeholder": "#{수강료 금액}", "inputType": "TEXT"},
+                              {"variableKey": "월", "placeholder": "#{월}", "inputType": "TEXT"},
+                              {"variableKey": "학원명", "placeholder": "#{학원명}", "inputType": "TEXT"}
+                            ],
+                            "_mapped_variables": {"학원명": "제이 학원"}
+                          }, "message": null, "error": null
+                        }
+                        """)));
+        TemplateCreationResult.Incomplete draft = (TemplateCreationResult.Incomplete)
+                templateService.createTemplate(userId, new TemplateCreateRequest("학원 안내"));
+
+        wireMock.stubFor(WireMock.post("/ai/templates/continue")
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("""
+                        {
+                          "data": {
+                            "categoryId": "004001", "title": "학원 안내",
+                            "content": "3월 수강료는 300000원입니다.", "type": "MESSAGE", "isPublic": false,
+                            "buttons": [], "variables": [],
+                            "industries": [{"id": 1, "name": "학원"}],
+                            "purposes": [{"id": 2, "name": "공지/안내"}]
+                          }, "message": null, "error": null
+                        }
+                        """)));
+
+        // when: 누락된 변수 + 관계없는 값을 함께 보냄
+        TemplateCreationResult result = templateService.continueTemplate(
+                userId,
+                draft.requestId(),
+                new TemplateContinueRequest(Map.of("수강료 금액", "300000", "월", "3", "학원명", "다른 학원"))
+        );
+
+        // then: AI에는 누락되었던 변수만 전달된다
+        wireMock.verify(WireMock.postRequestedFor(WireMock.urlEqualTo("/ai/templates/continue"))
+                .withRequestBody(WireMock.matchingJsonPath("$.inputs.['수강료 금액']", WireMock.equalTo("300000")))
+                .withRequestBody(WireMock.matchingJsonPath("$.inputs.['월']", WireMock.equalTo("3")))
+                .withRequestBody(WireMock.notMatching(".*다른 학원.*")));
+
+        assertInstanceOf(TemplateCreationResult.Complete.class, result);
+        UserTemplateRequest finalRequest = userTemplateRequestRepository.findById(draft.requestId()).orElseThrow();
+        assertThat(finalRequest.getStatus()).isEqualTo(UserTemplateRequestStatus.COMPLETED);
+        assertThat(finalRequest.getPartialResponse()).isNull();
+        assertThat(templateRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("일괄 승인 요청: 조건을 만족하는 템플릿만 전이되고, 나머지는 템플릿별 실패 사유를 돌려준다")
+    void bulkApproveTemplates_returns_per_id_outcomes() {
+        // given
+        Long userId = 301L;
+        Template approvable = templateRepository.save(newTemplate(userId, TemplateStatus.CREATED));
+        Template alreadyRequested = templateRepository.save(newTemplate(userId, TemplateStatus.APPROVE_REQUESTED));
+        Template othersTemplate = templateRepository.save(newTemplate(999L, TemplateStatus.CREATED));
+        Long missingId = othersTemplate.getId() + 1000;
+
+        // when
+        TemplateBulkApproveResponse response = templateService.bulkApproveTemplates(
+                List.of(approvable.getId(), alreadyRequested.getId(), othersTemplate.getId(), missingId, approvable.getId()),
+                userId
+        );
+
+        // then: 중복 id는 한 번만 처리되고 결과는 요청 순서를 따른다
+        assertThat(response.requestedCount()).isEqualTo(4);
+        assertThat(response.approveRequestedCount()).isEqualTo(1);
+        assertThat(response.results())
+                .extracting(TemplateBulkApproveResponse.Result::templateId, TemplateBulkApproveResponse.Result::errorCode)
+                .containsExactly(
+                        tuple(approvable.getId(), null),
+                        tuple(alreadyRequested.getId(), "ALREADY_APPROVE_REQUESTED"),
+                        tuple(othersTemplate.getId(), "FORBIDDEN_TEMPLATE"),
+                        tuple(missingId, "TEMPLATE_NOT_FOUND")
+                );
+
+        Map<Long, TemplateStatusSnapshot> snapshots = templateRepository
+                .findStatusSnapshots(List.of(approvable.getId(), othersTemplate.getId())).stream()
+                .collect(Collectors.toMap(TemplateStatusSnapshot::id, Function.identity()));
+        assertThat(snapshots.get(approvable.getId()).status()).isEqualTo(TemplateStatus.APPROVE_REQUESTED);
+        assertThat(snapshots.get(approvable.getId()).version()).isEqualTo(approvable.getVersion() + 1);
+        assertThat(snapshots.get(othersTemplate.getId()).status()).isEqualTo(TemplateStatus.CREATED);
+
+        assertThat(templateHistoryRepository.findByTemplateId(approvable.getId()))
+                .extracting(TemplateHistory::getStatus)
+                .containsExactly(TemplateStatus.APPROVE_REQUESTED);
+    }
+
+    @Test
+    @DisplayName("일괄 전이: 조회 이후 다른 요청이 바꾼 행은 상태가 같아도 version이 달라 이번 요청의 전이로 집계되지 않는다")
+    void batchTransitionStatus_skips_rows_changed_since_snapshot() {
+        // given
+        Long userId = 302L;
+        Template changed = templateRepository.save(newTemplate(userId, TemplateStatus.CREATED));
+        Template untouched = templateRepository.save(newTemplate(userId, TemplateStatus.CREATED));
+        List<TemplateStatusSnapshot> snapshots = templateRepository.findStatusSnapshots(List.of(changed.getId(), untouched.getId()));
+
+        // 다른 요청이 승인 요청 후 취소해 상태는 CREATED로 돌아왔지만 version은 두 번 올랐다
+        templateStatusJdbcRepository.batchTransitionStatus(
+                snapshots.stream().filter(snapshot -> snapshot.id().equals(changed.getId())).toList(),
+                userId, TemplateStatus.CREATED, TemplateStatus.APPROVE_REQUESTED);
+        templateStatusJdbcRepository.batchTransitionStatus(
+                templateRepository.findStatusSnapshots(List.of(changed.getId())),
+                userId, TemplateStatus.APPROVE_REQUESTED, TemplateStatus.CREATED);
+
+        // when
+        List<Long> transitioned = templateStatusJdbcRepository.batchTransitionStatus(
+                snapshots, userId, TemplateStatus.CREATED, TemplateStatus.APPROVE_REQUESTED);
+
+        // then
+        assertThat(transitioned).containsExactly(untouched.getId());
+        Map<Long, TemplateStatusSnapshot> after = templateRepository
+                .findStatusSnapshots(List.of(changed.getId(), untouched.getId())).stream()
+                .collect(Collectors.toMap(TemplateStatusSnapshot::id, Function.identity()));
+        assertThat(after.get(changed.getId()).status()).isEqualTo(TemplateStatus.CREATED);
+        assertThat(after.get(untouched.getId()).status()).isEqualTo(TemplateStatus.APPROVE_REQUESTED);
+    }
+
+    @Test
+    @DisplayName("상세/상태 이력 조회: 없는 템플릿은 TEMPLATE_NOT_FOUND, 남의 템플릿은 FORBIDDEN_TEMPLATE로 같게 거절한다")
+    void detail_and_histories_reject_with_same_error_codes() {
+        // given
+        Long ownerId = 303L;
+        Long templateId = templateRepository.save(newTemplate(ownerId, TemplateStatus.CREATED)).getId();
+        Long missingId = templateId + 1000;
+
+        // then
+        assertThat(errorCode(() -> templateService.getOwnedTemplateSnapshot(missingId, ownerId))).isEqualTo(TemplateErrorCode.TEMPLATE_NOT_FOUND);
+        assertThat(errorCode(() -> templateService.getTemplateById(missingId, ownerId))).isEqualTo(TemplateErrorCode.TEMPLATE_NOT_FOUND);
+        assertThat(errorCode(() -> templateService.getTemplateHistories(missingId, ownerId, 1, 10))).isEqualTo(TemplateErrorCode.TEMPLATE_NOT_FOUND);
+
+        assertThat(errorCode(() -> templateService.getOwnedTemplateSnapshot(templateId, 999L))).isEqualTo(TemplateErrorCode.FORBIDDEN_TEMPLATE);
+        assertThat(errorCode(() -> templateService.getTemplateById(templateId, 999L))).isEqualTo(TemplateErrorCode.FORBIDDEN_TEMPLATE);
+        assertThat(errorCode(() -> templateService.getTemplateHistories(templateId, 999L, 1, 10))).isEqualTo(TemplateErrorCode.FORBIDDEN_TEMPLATE);
+    }
+
+    @Test
+    @DisplayName("키워드 검색: 모든 단어가 제목/본문에 연속해서 포함된 본인 템플릿만, 상태 필터와 함께 관련도 순으로 조회된다")
+    void searchTemplates_matches_all_words_with_filters() {
+        // given
+        Long userId = 401L;
+        Template titleMatch = indexed(newTemplate(userId, TemplateStatus.CREATED, "카페 오픈 이벤트", "방문해 주세요"));
+        Template contentMatch = indexed(newTemplate(userId, TemplateStatus.CREATED, "공지", "카페 오픈 기념 이벤트를 진행합니다"));
+        indexed(newTemplate(userId, TemplateStatus.CREATED, "카페 휴무", "오늘은 쉽니다"));
+        indexed(newTemplate(userId, TemplateStatus.CREATED, "이벤 벤트 카페", "ngram은 모두 있지만 단어가 연속되지 않음"));
+        indexed(newTemplate(999L, TemplateStatus.CREATED, "카페 오픈 이벤트", "다른 사용자"));
+
+        // when
+        PageResponse<TemplateResponse> all = templateService.searchTemplates(
+                new TemplateSearchCondition(userId, "카페 이벤트", null, null, null, null), 1, 10);
+        templateService.approveTemplate(contentMatch.getId(), userId);
+        PageResponse<TemplateResponse> approveRequested = templateService.searchTemplates(
+                new TemplateSearchCondition(userId, "카페 이벤트", TemplateStatus.APPROVE_REQUESTED, null, null, null), 1, 10);
+
+        // then: 제목에 검색어가 있는 템플릿이 먼저 나온다
+        assertThat(all.getTotal()).isEqualTo(2);
+        assertThat(all.getItems()).extracting(TemplateResponse::getId)
+                .containsExactly(titleMatch.getId(), contentMatch.getId());
+        assertThat(approveRequested.getItems()).extracting(TemplateResponse::getId)
+                .containsExactly(contentMatch.getId());
+    }
+
+    @Test
+    @DisplayName("공개 갤러리: 공개 + APPROVED 템플릿만 증분 갱신으로 스냅샷에 들어가고, 내용이 바뀌면 ETag가 바뀐다")
+    void publicGallery_refreshes_incrementally() {
+        // given
+        String etagBefore = publicTemplateGallery.snapshot().etag();
+        Template published = newTemplate(501L, TemplateStatus.APPROVED, "공개 승인", "갤러리에 노출");
+        published.setIsPublic(true);
+        published = templateRepository.save(published);
+        Template privateApproved = templateRepository.save(newTemplate(501L, TemplateStatus.APPROVED, "비공개 승인", "노출 안 됨"));
+        Template publicPending = newTemplate(501L, TemplateStatus.CREATED, "공개 미승인", "노출 안 됨");
+        publicPending.setIsPublic(true);
+        publicPending = templateRepository.save(publicPending);
+
+        // when
+        publicTemplateGallery.refreshChanged();
+        PublicTemplateGallery.Snapshot snapshot = publicTemplateGallery.snapshot();
+
+        // then
+        assertThat(snapshot.find("004001", null, null, 1, 100).getItems())
+                .extracting(PublicTemplateResponse::id)
+                .contains(published.getId())
+                .doesNotContain(privateApproved.getId(), publicPending.getId());
+        assertThat(snapshot.find("999999", null, null, 1, 100).getItems()).isEmpty();
+        assertThat(snapshot.etag()).isNotEqualTo(etagBefore);
+    }
+
+    @Test
+    @DisplayName("유사 템플릿: 요청 문장과 겹치는 공개 승인 템플릿이 점수 순으로 추천되고, 겹치지 않는 템플릿은 빠진다")
+    void findSimilar_returns_overlapping_public_templates() {
+        // given
+        Template similar = newTemplate(601L, TemplateStatus.APPROVED, "카페 오픈 이벤트 안내", "#{카페이름} 카페 오픈 이벤트 안내 드립니다");
+        similar.setIsPublic(true);
+        similar = templateRepository.save(similar);
+        Template unrelated = newTemplate(601L, TemplateStatus.APPROVED, "병원 진료 일정 변경", "진료 일정이 변경되었습니다");
+        unrelated.setIsPublic(true);
+        unrelated = templateRepository.save(unrelated);
+        publicTemplateGallery.refreshChanged();
+
+        // when
+        List<SimilarTemplateResponse> result = templateSimilarityIndex.findSimilar("카페 오픈 이벤트 안내 메시지", null, null, 5);
+
+        // then
+        assertThat(result).extracting(response -> response.template().id())
+                .contains(similar.getId())
+                .doesNotContain(unrelated.getId());
+        assertThat(result.getFirst().score()).isGreaterThan(0.5);
+    }
+
+    @Test
+    @DisplayName("ETag: 템플릿이 바뀌면 상세/목록 ETag가 모두 바뀌고, 바뀌지 않으면 같은 값이 나온다")
+    void templateETags_change_only_when_template_changes() {
+        // given
+        Long userId = 701L;
+        Template template = templateRepository.save(newTemplate(userId, TemplateStatus.CREATED));
+        String detailBefore = templateService.getOwnedTemplateSnapshot(template.getId(), userId).etag();
+        String listBefore = templateService.getTemplatesETag(userId, TemplateStatus.APPROVE_REQUESTED, 1, 10);
+
+        // when
+        templateService.approveTemplate(template.getId(), userId);
+        templateRepository.flush();
+
+        // then
+        assertThat(templateService.getOwnedTemplateSnapshot(template.getId(), userId).etag())
+                .isNotEqualTo(detailBefore)
+                .isEqualTo(templateService.getOwnedTemplateSnapshot(template.getId(), userId).etag());
+        assertThat(templateService.getTemplatesETag(userId, TemplateStatus.APPROVE_REQUESTED, 1, 10))
+                .isNotEqualTo(listBefore);
+    }
+
+    @Test
+    @DisplayName("ETag: 승인/반려처럼 앱 밖에서 바뀌어 version이 그대로인 행도 상세/목록 ETag가 바뀐다")
+    void templateETags_change_on_external_updates() {
+        // given
+        Long userId = 702L;
+        Template template = templateRepository.save(newTemplate(userId, TemplateStatus.APPROVE_REQUESTED));
+        templateRepository.flush();
+        Long templateId = template.getId();
+        String detailBefore = templateService.getOwnedTemplateSnapshot(templateId, userId).etag();
+        String listBefore = templateService.getTemplatesETag(userId, TemplateStatus.REJECTED, 1, 10);
+
+        // when: 외부 시스템이 직접 반려 처리
+        jdbcTemplate.update("UPDATE template SET status = 'REJECTED', reject_reason = '광고 문구' WHERE id = ?", templateId);
+        String detailRejected = templateService.getOwnedTemplateSnapshot(templateId, userId).etag();
+        String listRejected = templateService.getTemplatesETag(userId, TemplateStatus.REJECTED, 1, 10);
+        // 상태는 그대로 두고 반려 사유만 다시 수정
+        jdbcTemplate.update("UPDATE template SET reject_reason = '광고 문구 포함' WHERE id = ?", templateId);
+
+        // then
+        assertThat(templateService.getOwnedTemplateSnapshot(templateId, userId).version()).isEqualTo(template.getVersion());
+        assertThat(detailRejected).isNotEqualTo(detailBefore);
+        assertThat(listRejected).isNotEqualTo(listBefore);
+        assertThat(templateService.getOwnedTemplateSnapshot(templateId, userId).etag()).isNotEqualTo(detailRejected);
+        assertThat(templateService.getTemplatesETag(userId, TemplateStatus.REJECTED, 1, 10)).isNotEqualTo(listRejected);
+    }
+
+    @Test
+    @DisplayName("응답 캐시: validator가 같으면 직렬화된 본문을 재사용하고, 승인 요청이나 외부 반려로 바뀌면 다시 만든다")
+    void templateResponseCache_reuses_bytes_until_validator_changes() {
+        // given
+        Long userId = 801L;
+        Template template = templateRepository.save(newTemplate(userId, TemplateStatus.CREATED));
+        templateRepository.flush();
+        AtomicInteger loads = new AtomicInteger();
+        Long templateId = template.getId();
+        Supplier<TemplateResponse> loader = () -> {
+            loads.incrementAndGet();
+            return templateService.getTemplateById(templateId, userId);
+        };
+
+        // when
+        String validator = templateService.getOwnedTemplateSnapshot(templateId, userId).validator();
+        byte[] first = templateResponseCache.get(templateId, validator, loader);
+        byte[] second = templateResponseCache.get(templateId, validator, loader);
+        templateService.approveTemplate(templateId, userId);
+        templateRepository.flush();
+        String approvedValidator = templateService.getOwnedTemplateSnapshot(templateId, userId).validator();
+        byte[] afterApprove = templateResponseCache.get(templateId, approvedValidator, loader);
+        // 외부 시스템의 반려는 version을 올리지 않고 invalidate도 부르지 않는다
+        jdbcTemplate.update("UPDATE template SET status = 'REJECTED' WHERE id = ?", templateId);
+        String rejectedValidator = templateService.getOwnedTemplateSnapshot(templateId, userId).validator();
+        templateResponseCache.get(templateId, rejectedValidator, loader);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(afterApprove, StandardCharsets.UTF_8)).contains("APPROVE_REQUESTED");
+        assertThat(rejectedValidator).isNotEqualTo(approvedValidator);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("내보내기: 본문이 실행되지 못한 채 비동기 요청이 끝나도 동시 실행 자리를 반납한다")
+    void exportPermit_is_released_when_request_completes_without_running_body() throws Exception {
+        // given: 자리 두 개를 모두 잡은 요청
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        StreamingResponseBody abandoned;
+        try {
+            abandoned = templateExportService.export(902L, null, TemplateExportFormat.NDJSON, false);
+            templateExportService.export(902L, null, TemplateExportFormat.NDJSON, false);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertThat(errorCode(() -> templateExportService.export(902L, null, TemplateExportFormat.NDJSON, false)))
+                .isEqualTo(TemplateErrorCode.TOO_MANY_EXPORT_REQUESTS);
+
+        // when: 실행기가 본문을 돌리기 전에 요청이 끝난다
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.setTaskExecutor(new TaskExecutorAdapter(task -> { }));
+        asyncManager.startCallableProcessing(() -> null);
+        request.getAsyncContext().complete();
+
+        // then: 자리가 돌아오고, 늦게 실행된 본문은 아무것도 쓰지 않는다
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templateExportService.export(902L, null, TemplateExportFormat.NDJSON, false).writeTo(out);
+        templateExportService.export(902L, null, TemplateExportFormat.NDJSON, false).writeTo(out);
+        ByteArrayOutputStream late = new ByteArrayOutputStream();
+        abandoned.writeTo(late);
+        assertThat(late.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("내보내기: 삭제되지 않은 본인 템플릿만 버튼/변수와 함께 템플릿당 한 줄(NDJSON) / 한 행(CSV)으로 나간다")
+    // 내보내기는 export 풀의 다른 커넥션으로 읽으므로 테스트 트랜잭션 없이 커밋하고 끝나면 지운다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportTemplates_streams_one_record_per_template_with_children() throws Exception {
+        try {
+            exportTemplates();
+        } finally {
+            templateRepository.deleteAll(templateRepository.findAll().stream()
+                    .filter(t -> t.getUserId() == 901L || t.getUserId() == 999L)
+                    .toList());
+        }
+    }
+
+    private void exportTemplates() throws Exception {
+        // given
+        Long userId = 901L;
+        Template withChildren = newTemplate(userId, TemplateStatus.APPROVED, "=내보내기, \"따옴표\"", "줄\n바꿈");
+        withChildren.addButtons(List.of(
+                TemplateButton.builder().name("두번째").ordering(2).linkPc("https://b.example").build(),
+                TemplateButton.builder().name("첫번째").ordering(1).linkPc("https://a.example")
+                        .linkMo("https://m.a.example").linkType("WL").build()));
+        withChildren.addVariables(List.of(
+                TemplateVariable.builder().variableKey("이름").placeholder("#{이름}").inputType("TEXT").build(),
+                TemplateVariable.builder().variableKey("날짜").placeholder("#{날짜}").inputType("DATE").build()));
+        withChildren = templateRepository.save(withChildren);
+        Template plain = templateRepository.save(newTemplate(userId, TemplateStatus.CREATED));
+        templateRepository.save(newTemplate(userId, TemplateStatus.DELETED));
+        templateRepository.save(newTemplate(999L, TemplateStatus.CREATED));
+        templateRepository.flush();
+
+        // when
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        templateExportService.export(userId, null, TemplateExportFormat.NDJSON, false).writeTo(ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        templateExportService.export(userId, TemplateStatus.APPROVED, TemplateExportFormat.CSV, false).writeTo(csv);
+
+        // then
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .startsWith("{\"id\":" + withChildren.getId() + ",")
+                .containsSubsequence("\"name\":\"첫번째\"", "\"linkMo\":\"https://m.a.example\"",
+                        "\"linkType\":\"WL\"", "\"name\":\"두번째\"")
+                .contains("\"variableKey\":\"이름\"", "\"variableKey\":\"날짜\"");
+        assertThat(lines.get(1)).startsWith("{\"id\":" + plain.getId() + ",").contains("\"buttons\":[]");
+
+        List<String> rows = List.of(csv.toString(StandardCharsets.UTF_8).split("\r\n"));
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).startsWith("\uFEFFid,status,");
+        assertThat(rows.get(1))
+                .startsWith(withChildren.getId() + ",APPROVED,MESSAGE,004001,\"'=내보내기, \"\"따옴표\"\"\",\"줄\n바꿈\"")
+                .contains("\"\"linkMo\"\":\"\"https://m.a.example\"\"", "\"\"linkType\"\":\"\"WL\"\"");
+    }
+
+    @Test
+    @DisplayName("가져오기: 검증을 통과한 CSV 레코드만 자식 행과 함께 CREATED로 저장되고, 거부된 레코드는 줄 번호와 함께 보고된다")
+    @Sql("/data/test-data.sql")
+    @Sql(statements = "INSERT INTO category (id, name) VALUES ('004001', '이벤트')")
+    void importTemplates_saves_valid_rows_and_reports_rejected_ones() throws Exception {
+        // given
+        Long userId = 1001L;
+        String csv = """
+                title,content,type,categoryId,industries,purposes,buttons,variables
+                "가져온 템플릿","안녕하세요 #{이름}님,
+                다음 주 공연 안내입니다",MESSAGE,004001,공연/행사,8,"[{""name"":""예매"",""linkPc"":""https://a.example""}]","[{""variableKey"":""이름"",""placeholder"":""#{이름}""}]"
+                잘못된 유형,내용,SMS,004001,,,,
+                없는 카테고리,내용,MESSAGE,999999,없는업종,,,
+                """;
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templateImportService.importTemplates(userId,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TemplateExportFormat.CSV, out);
+
+        // then
+        List<String> events = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(events).anySatisfy(event -> assertThat(event).contains("\"type\":\"error\"", "\"line\":4", "\"field\":\"type\""));
+        assertThat(events).anySatisfy(event -> assertThat(event).contains("\"line\":5", "\"field\":\"categoryId\""));
+        assertThat(events).anySatisfy(event -> assertThat(event).contains("\"line\":5", "\"field\":\"industries\""));
+        assertThat(events.getLast()).contains("\"type\":\"summary\"", "\"processed\":3", "\"imported\":1", "\"failed\":2");
+
+        List<Template> importedTemplates = templateRepository.findAll().stream()
+                .filter(template -> userId.equals(template.getUserId()))
+                .toList();
+        assertThat(importedTemplates).hasSize(1);
+        Template imported = importedTemplates.getFirst();
+        assertThat(imported.getStatus()).isEqualTo(TemplateStatus.CREATED);
+        assertThat(imported.getContent()).isEqualTo("안녕하세요 #{이름}님,\n다음 주 공연 안내입니다");
+        assertThat(imported.getButtons()).extracting(TemplateButton::getName, TemplateButton::getOrdering).containsExactly(tuple("예매", 1));
+        assertThat(imported.getVariables()).extracting(TemplateVariable::getVariableKey).containsExactly("이름");
+        assertThat(imported.getIndustries()).extracting(Industry::getName).containsExactly("공연/행사");
+        assertThat(imported.getPurposes()).extracting(Purpose::getId).containsExactly(8L);
+        assertThat(templateHistoryRepository.findByTemplateId(imported.getId()))
+                .extracting(TemplateHistory::getStatus)
+                .containsExactly(TemplateStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("가져오기: NDJSON에서 상한을 넘는 줄은 그 줄만 거부하고 다음 줄부터 계속 가져온다")
+    @Sql(statements = "INSERT INTO category (id, name) VALUES ('004001', '이벤트')")
+    void importTemplates_rejects_only_the_oversized_ndjson_line() throws Exception {
+        // given
+        Long userId = 1002L;
+        String ndjson = "{\"title\":\"" + "가".repeat(1_000_000) + "\"}\r\n"
+                + "{\"title\":\"다음 줄\",\"content\":\"내용\",\"type\":\"MESSAGE\",\"categoryId\":\"004001\"}\n";
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templateImportService.importTemplates(userId,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), TemplateExportFormat.NDJSON, out);
+
+        // then
+        List<String> events = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(events).anySatisfy(event -> assertThat(event).contains("\"type\":\"error\"", "\"line\":1", "1000000자를 넘습니다"));
+        assertThat(events.getLast()).contains("\"type\":\"summary\"", "\"processed\":2", "\"imported\":1", "\"failed\":1");
+        assertThat(templateRepository.findAll()).filteredOn(template -> userId.equals(template.getUserId()))
+                .extracting(Template::getTitle).containsExactly("다음 줄");
+    }
+
+    private Template indexed(Template template) {
+        Template saved = templateRepository.save(template);
+        templateSearchEngine.index(saved);
+        return saved;
+    }
+
+    private Template newTemplate(Long userId, TemplateStatus status, String title, String content) {
+        Template template = newTemplate(userId, status);
+        template.setTitle(title);
+        template.setContent(content);
+        return template;
+    }
+
+    private Template newTemplate(Long userId, TemplateStatus status) {
+        return Template.builder()
+                .userId(userId)
+                .categoryId("004001")
+                .title("일괄 승인 테스트")
+                .content("내용")
+                .status(status)
+                .type(TemplateType.MESSAGE)
+                .isPublic(false)
+                .build();
+    }
+
+    private static BaseErrorCode errorCode(ThrowingCallable call) {
+        return catchThrowableOfType(call, TemplateException.class).getErrorCode();
     }
 }